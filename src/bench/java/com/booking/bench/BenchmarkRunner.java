@@ -0,0 +1,70 @@
+package com.booking.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs every benchmark in com.booking.bench with fixed, reproducible settings and the GC
+ * profiler, so each result carries gc.alloc.rate and gc.alloc.rate.norm (bytes per operation)
+ * next to its throughput.
+ *
+ * Run with:  mvn -Pbench test-compile exec:exec
+ * Options:   any JMH command-line option overrides the defaults below, e.g.
+ *            mvn -Pbench test-compile exec:exec -Dbench.args="-f 3 -wi 5 JsonPath"
+ * Results:   printed, and written as JSON to target/jmh/results.json for comparison between runs.
+ */
+public final class BenchmarkRunner {
+
+    private static final Path RESULT_FILE = Path.of("target", "jmh", "results.json");
+
+    private BenchmarkRunner() {
+        // Entry point only — not instantiable
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        Files.createDirectories(RESULT_FILE.getParent());
+
+        // Options set on the builder win over the parent, so defaults only fill what the command line left out
+        OptionsBuilder builder = new OptionsBuilder();
+        if (commandLine.getIncludes().isEmpty()) {
+            builder.include(BenchmarkRunner.class.getPackageName() + "\\.");
+        }
+        if (!commandLine.getForkCount().hasValue()) {
+            builder.forks(1);
+        }
+        if (!commandLine.getWarmupIterations().hasValue()) {
+            builder.warmupIterations(3);
+        }
+        if (!commandLine.getWarmupTime().hasValue()) {
+            builder.warmupTime(TimeValue.seconds(2));
+        }
+        if (!commandLine.getMeasurementIterations().hasValue()) {
+            builder.measurementIterations(5);
+        }
+        if (!commandLine.getMeasurementTime().hasValue()) {
+            builder.measurementTime(TimeValue.seconds(2));
+        }
+        if (!commandLine.getJvmArgsAppend().hasValue()) {
+            // A fixed heap keeps allocation and GC numbers comparable between machines and runs
+            builder.jvmArgsAppend("-Xms1g", "-Xmx1g");
+        }
+        if (!commandLine.getResult().hasValue()) {
+            builder.result(RESULT_FILE.toString());
+        }
+        Options options = builder
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        new Runner(options).run();
+    }
+}
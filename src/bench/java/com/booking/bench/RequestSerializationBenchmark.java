@@ -0,0 +1,53 @@
+package com.booking.bench;
+
+import com.booking.dto.Booking;
+import com.booking.factory.TestDataFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.internal.mapping.Jackson2Mapper;
+import io.restassured.internal.mapping.ObjectMapperSerializationContextImpl;
+import io.restassured.path.json.mapper.factory.DefaultJackson2ObjectMapperFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialisation of the Lombok Booking DTO into a request body.
+ *
+ * restAssuredBody goes through the same Jackson2Mapper Rest-Assured uses for .body(pojo) with
+ * a JSON content type — which asks its factory for a new ObjectMapper on every call.
+ * sharedObjectMapper is the floor: the same DTO written by one reused ObjectMapper.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RequestSerializationBenchmark {
+
+    private final Jackson2Mapper restAssuredMapper = new Jackson2Mapper(new DefaultJackson2ObjectMapperFactory());
+    private final ObjectMapper sharedMapper = new ObjectMapper();
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        booking = TestDataFactory.validBooking();
+    }
+
+    @Benchmark
+    public String restAssuredBody() {
+        ObjectMapperSerializationContextImpl context = new ObjectMapperSerializationContextImpl();
+        context.setObject(booking);
+        context.setContentType("application/json");
+        context.setCharset("UTF-8");
+        return restAssuredMapper.serialize(context);
+    }
+
+    @Benchmark
+    public byte[] sharedObjectMapper() throws Exception {
+        return sharedMapper.writeValueAsBytes(booking);
+    }
+}
@@ -0,0 +1,80 @@
+package com.booking.bench;
+
+import com.booking.context.ResponseView;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading fields from a booking response with Rest-Assured's JsonPath.
+ *
+ * Every call to response.jsonPath() parses the body again, and the step that verifies a
+ * created booking reads six fields that way. sixFieldsReparsed reproduces that pattern;
+ * sixFieldsParsedOnce reads the same fields from a single JsonPath, and sixFieldsResponseView
+ * from the parse-once ResponseView the steps now use.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ResponseParsingBenchmark {
+
+    static final String BOOKING_RESPONSE = "{\"bookingid\":12,\"roomid\":101,\"firstname\":\"John\",\"lastname\":\"Doe\","
+            + "\"depositpaid\":true,\"bookingdates\":{\"checkin\":\"2026-12-01\",\"checkout\":\"2026-12-05\"}}";
+
+    private Response response;
+
+    @Setup
+    public void setUp() {
+        response = new ResponseBuilder().setStatusCode(201).setContentType("application/json")
+                .setBody(BOOKING_RESPONSE).build();
+        // Buffer the body once, as ConnectionReleaseFilter does for real responses
+        response.getBody().asByteArray();
+    }
+
+    @Benchmark
+    public int singleField() {
+        return new JsonPath(BOOKING_RESPONSE).getInt("bookingid");
+    }
+
+    @Benchmark
+    public void sixFieldsReparsed(Blackhole blackhole) {
+        blackhole.consume(new JsonPath(BOOKING_RESPONSE).getInt("roomid"));
+        blackhole.consume(new JsonPath(BOOKING_RESPONSE).getString("firstname"));
+        blackhole.consume(new JsonPath(BOOKING_RESPONSE).getString("lastname"));
+        blackhole.consume(new JsonPath(BOOKING_RESPONSE).getString("depositpaid"));
+        blackhole.consume(new JsonPath(BOOKING_RESPONSE).getString("bookingdates.checkin"));
+        blackhole.consume(new JsonPath(BOOKING_RESPONSE).getString("bookingdates.checkout"));
+    }
+
+    @Benchmark
+    public void sixFieldsParsedOnce(Blackhole blackhole) {
+        JsonPath json = new JsonPath(BOOKING_RESPONSE);
+        blackhole.consume(json.getInt("roomid"));
+        blackhole.consume(json.getString("firstname"));
+        blackhole.consume(json.getString("lastname"));
+        blackhole.consume(json.getString("depositpaid"));
+        blackhole.consume(json.getString("bookingdates.checkin"));
+        blackhole.consume(json.getString("bookingdates.checkout"));
+    }
+
+    @Benchmark
+    public void sixFieldsResponseView(Blackhole blackhole) {
+        ResponseView view = new ResponseView(response);
+        blackhole.consume(view.getInt("roomid"));
+        blackhole.consume(view.getString("firstname"));
+        blackhole.consume(view.getString("lastname"));
+        blackhole.consume(view.getString("depositpaid"));
+        blackhole.consume(view.getString("bookingdates.checkin"));
+        blackhole.consume(view.getString("bookingdates.checkout"));
+    }
+}
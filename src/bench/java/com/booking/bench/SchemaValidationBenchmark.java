@@ -0,0 +1,65 @@
+package com.booking.bench;
+
+import com.booking.validation.SchemaRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.module.jsv.JsonSchemaValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contract validation of a booking response against schemas/booking-response-schema.json.
+ *
+ * matcherPerCall builds Rest-Assured's matcher from the classpath and validates, as the schema
+ * step originally did. reusedMatcher validates with a matcher built once, isolating the cost
+ * of loading and compiling the schema. registry validates through SchemaRegistry, including
+ * parsing the body; registryPreParsed validates a body that has already been parsed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SchemaValidationBenchmark {
+
+    private static final String SCHEMA = "schemas/booking-response-schema.json";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private JsonSchemaValidator matcher;
+    private JsonNode parsedResponse;
+
+    @Setup
+    public void setUp() throws Exception {
+        matcher = JsonSchemaValidator.matchesJsonSchemaInClasspath(SCHEMA);
+        parsedResponse = mapper.readTree(ResponseParsingBenchmark.BOOKING_RESPONSE);
+        SchemaRegistry.getInstance();
+    }
+
+    @Benchmark
+    public boolean matcherPerCall() {
+        return JsonSchemaValidator.matchesJsonSchemaInClasspath(SCHEMA)
+                .matches(ResponseParsingBenchmark.BOOKING_RESPONSE);
+    }
+
+    @Benchmark
+    public boolean reusedMatcher() {
+        return matcher.matches(ResponseParsingBenchmark.BOOKING_RESPONSE);
+    }
+
+    @Benchmark
+    public boolean registry() throws Exception {
+        return SchemaRegistry.getInstance()
+                .validate("booking-response-schema.json", mapper.readTree(ResponseParsingBenchmark.BOOKING_RESPONSE))
+                .isSuccess();
+    }
+
+    @Benchmark
+    public boolean registryPreParsed() {
+        return SchemaRegistry.getInstance().validate("booking-response-schema.json", parsedResponse).isSuccess();
+    }
+}
@@ -0,0 +1,40 @@
+package com.booking.bench;
+
+import com.booking.dto.Booking;
+import com.booking.factory.TestDataFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payload construction in TestDataFactory: the Lombok-built baseline booking, and the
+ * ObjectMapper.convertValue round trip the map-based negative payloads pay on top of it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TestDataFactoryBenchmark {
+
+    @Benchmark
+    public Booking validBooking() {
+        return TestDataFactory.validBooking();
+    }
+
+    @Benchmark
+    public Map<String, Object> bookingWithoutField() {
+        return TestDataFactory.bookingWithoutField("firstname");
+    }
+
+    @Benchmark
+    public Map<String, Object> bookingWithoutNestedField() {
+        return TestDataFactory.bookingWithoutField("checkout");
+    }
+
+    @Benchmark
+    public Map<String, Object> bookingWithRoomIdAsEmptyString() {
+        return TestDataFactory.bookingWithRoomIdAsEmptyString();
+    }
+}
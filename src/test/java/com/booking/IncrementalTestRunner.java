@@ -0,0 +1,14 @@
+package com.booking;
+
+import org.junit.platform.suite.api.Suite;
+
+/**
+ * TestRunner for result-cached runs (mvn test -Dtest=IncrementalTestRunner -Dresult.cache.enabled=true).
+ *
+ * Inherits TestRunner's engine, features, glue, plugins and parallelism. Only failIfNoTests is
+ * off, because ResultCacheFilter may legitimately prune every scenario when nothing changed.
+ * Surefire runs TestRunner alone by default, so a plain mvn test still fails on an empty run.
+ */
+@Suite(failIfNoTests = false)
+public class IncrementalTestRunner extends TestRunner {
+}
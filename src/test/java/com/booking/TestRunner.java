@@ -3,7 +3,24 @@ package com.booking;
 import org.junit.platform.suite.api.*;
 import static io.cucumber.core.options.Constants.GLUE_PROPERTY_NAME;
 import static io.cucumber.core.options.Constants.PLUGIN_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.PARALLEL_CONFIG_CUSTOM_CLASS_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.PARALLEL_CONFIG_STRATEGY_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME;
 
+/**
+ * Scenarios always run on the engine's executor pool; the pool size is resolved by
+ * ParallelExecutionStrategy (default 1 thread = serial). Raise it with
+ * -Dcucumber.execution.parallel.config.fixed.parallelism=N or in cucumber.properties.
+ *
+ * With result.cache.enabled, scenarios that already passed with the same inputs are pruned
+ * before execution by ResultCacheFilter (registered as a JUnit Platform service), and
+ * ResultCachePlugin records this run's outcomes for the next one. An incremental run with
+ * nothing changed legitimately has no scenario left, so such runs go through
+ * IncrementalTestRunner; this suite fails when it discovers no tests.
+ *
+ * Allure results come from AsyncAllurePlugin: Allure's Cucumber plugin, writing through the
+ * background AllureResultsQueue. It must stay ahead of ResultCachePlugin, which reads them back.
+ */
 @Suite
 @IncludeEngines("cucumber")
 @SelectClasspathResource("features")
@@ -12,6 +29,11 @@ import static io.cucumber.core.options.Constants.PLUGIN_PROPERTY_NAME;
     "pretty, " +
     "html:target/cucumber-reports.html, " +
     "json:target/cucumber.json, " +
-    "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm")
+    "com.booking.report.AsyncAllurePlugin, " +
+    "com.booking.cache.ResultCachePlugin")
+@ConfigurationParameter(key = PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME, value = "true")
+@ConfigurationParameter(key = PARALLEL_CONFIG_STRATEGY_PROPERTY_NAME, value = "custom")
+@ConfigurationParameter(key = PARALLEL_CONFIG_CUSTOM_CLASS_PROPERTY_NAME,
+    value = "com.booking.config.ParallelExecutionStrategy")
 public class TestRunner {
-}
\ No newline at end of file
+}
@@ -0,0 +1,206 @@
+package com.booking.cache;
+
+import com.booking.config.ConfigManager;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Scenario result cache for incremental runs (result.cache.* settings).
+ *
+ * A scenario is identified by its feature resource and line ("features/auth.feature:8"), the
+ * same ID Allure uses as fullName. For every scenario that passed, the cache keeps its
+ * ResultCacheKey, the glue classes it bound to, when it passed, and a copy of its Allure
+ * result file and attachments, tagged "cached".
+ *
+ * ResultCacheFilter consults the cache before the run: a scenario whose last pass is younger
+ * than result.cache.max.age.hours and whose key is unchanged is not run, and its cached
+ * Allure result is copied into target/allure-results so the report still lists it.
+ * ResultCachePlugin records this run's passes, and forgets failures, when the run ends.
+ *
+ * Everything lives under result.cache.dir (index.json plus allure/), outside target/ so that
+ * mvn clean keeps it and CI can persist it between runs.
+ */
+public final class ResultCache {
+
+    static final Path ALLURE_RESULTS = Path.of("target", "allure-results");
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final TypeReference<Map<String, Entry>> INDEX_TYPE = new TypeReference<>() {};
+    private static volatile ResultCache instance;
+
+    private final Path directory;
+    private final Path allureDirectory;
+    private final Path indexFile;
+    private final Duration maxAge;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // A set, not a counter: the launcher may discover (and so filter) the suite more than once
+    private final Set<String> skipped = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param key            ResultCacheKey at the time of the pass.
+     * @param glueClasses    Classes the scenario's steps and hooks bound to.
+     * @param passedAtMillis When the scenario passed.
+     * @param allureResult   File name of the cached Allure result, or null if none was found.
+     * @param attachments    File names of the attachments that result refers to.
+     */
+    record Entry(String key, List<String> glueClasses, long passedAtMillis, String allureResult, List<String> attachments) {
+    }
+
+    private ResultCache() {
+        ConfigManager config = ConfigManager.getInstance();
+        directory = Path.of(config.getResultCacheDir());
+        allureDirectory = directory.resolve("allure");
+        indexFile = directory.resolve("index.json");
+        maxAge = Duration.ofHours(config.getResultCacheMaxAgeHours());
+        if (Files.isRegularFile(indexFile)) {
+            try {
+                entries.putAll(mapper.readValue(indexFile.toFile(), INDEX_TYPE));
+            } catch (IOException ex) {
+                // A corrupt index only costs a full run
+                System.out.println("Result cache: ignoring unreadable " + indexFile + " (" + ex.getMessage() + ")");
+            }
+        }
+    }
+
+    public static ResultCache getInstance() {
+        ResultCache local = instance;
+        if (local == null) {
+            synchronized (ResultCache.class) {
+                local = instance;
+                if (local == null) {
+                    local = new ResultCache();
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /** True if the cache is enabled and may skip scenarios in this run. */
+    static boolean isSkippingEnabled() {
+        ConfigManager config = ConfigManager.getInstance();
+        return config.isResultCacheEnabled() && !config.isResultCacheFullRun();
+    }
+
+    /**
+     * The scenario's cached pass, if it is young enough and its key still matches.
+     *
+     * @param featureResource e.g. "features/auth.feature"
+     */
+    Optional<Entry> freshPass(String scenarioId, String featureResource) {
+        Entry entry = entries.get(scenarioId);
+        if (entry == null || System.currentTimeMillis() - entry.passedAtMillis() > maxAge.toMillis()) {
+            return Optional.empty();
+        }
+        String currentKey = ResultCacheKey.forScenario(featureResource, entry.glueClasses());
+        return currentKey.equals(entry.key()) ? Optional.of(entry) : Optional.empty();
+    }
+
+    /** Copies a skipped scenario's cached Allure result and attachments into this run's results. */
+    void restore(String scenarioId, Entry entry) {
+        skipped.add(scenarioId);
+        if (entry.allureResult() == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(ALLURE_RESULTS);
+            copy(allureDirectory, ALLURE_RESULTS, entry.allureResult());
+            for (String attachment : entry.attachments()) {
+                copy(allureDirectory, ALLURE_RESULTS, attachment);
+            }
+        } catch (IOException ex) {
+            System.out.println("Result cache: could not restore Allure result " + entry.allureResult() + ": " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Records a pass of this run, with a copy of its Allure result (if any) tagged "cached".
+     *
+     * @param allureResult The scenario's result file in target/allure-results, or null.
+     */
+    void recordPass(String scenarioId, String key, Collection<String> glueClasses, Path allureResult) throws IOException {
+        String resultName = null;
+        List<String> attachments = new ArrayList<>();
+        if (allureResult != null) {
+            Files.createDirectories(allureDirectory);
+            ObjectNode result = (ObjectNode) mapper.readTree(allureResult.toFile());
+            collectAttachments(result, attachments);
+            ArrayNode labels = result.withArray("labels");
+            labels.addObject().put("name", "tag").put("value", "cached");
+            resultName = allureResult.getFileName().toString();
+            mapper.writeValue(allureDirectory.resolve(resultName).toFile(), result);
+            for (String attachment : attachments) {
+                copy(ALLURE_RESULTS, allureDirectory, attachment);
+            }
+        }
+        Entry previous = entries.put(scenarioId, new Entry(key, List.copyOf(glueClasses), System.currentTimeMillis(),
+                resultName, List.copyOf(attachments)));
+        if (previous != null && !Objects.equals(previous.allureResult(), resultName)) {
+            deleteCachedFiles(previous);
+        }
+    }
+
+    /** Drops the scenario from the cache, e.g. because it failed in this run. */
+    void forget(String scenarioId) {
+        deleteCachedFiles(entries.remove(scenarioId));
+    }
+
+    /** Writes the index; call once, when the run ends. */
+    void save() throws IOException {
+        Files.createDirectories(directory);
+        mapper.writerWithDefaultPrettyPrinter().writeValue(indexFile.toFile(), new TreeMap<>(entries));
+    }
+
+    /** Scenarios skipped in this run because of a cached pass. */
+    int skippedCount() {
+        return skipped.size();
+    }
+
+    private void deleteCachedFiles(Entry entry) {
+        if (entry == null || entry.allureResult() == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(allureDirectory.resolve(entry.allureResult()));
+            for (String attachment : entry.attachments()) {
+                Files.deleteIfExists(allureDirectory.resolve(attachment));
+            }
+        } catch (IOException ex) {
+            // Orphaned files only cost disk space
+        }
+    }
+
+    private static void collectAttachments(JsonNode node, List<String> sources) {
+        JsonNode attachments = node.path("attachments");
+        attachments.forEach(attachment -> {
+            if (attachment.hasNonNull("source")) {
+                sources.add(attachment.get("source").asText());
+            }
+        });
+        node.path("steps").forEach(step -> collectAttachments(step, sources));
+    }
+
+    private static void copy(Path from, Path to, String fileName) throws IOException {
+        Path source = from.resolve(fileName);
+        if (Files.isRegularFile(source)) {
+            Files.copy(source, to.resolve(fileName), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.booking.cache;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.ClasspathResourceSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+/**
+ * Removes scenarios with a fresh cached pass from the run (see ResultCache).
+ *
+ * Registered with the JUnit Platform launcher through
+ * META-INF/services/org.junit.platform.launcher.PostDiscoveryFilter, so it prunes the
+ * Cucumber scenarios discovered under TestRunner before the engine executes them. Each
+ * Cucumber scenario (and each Scenario Outline example row) is a test whose source is its
+ * feature resource and line. When skipping it, the filter restores its cached Allure result.
+ *
+ * Does nothing unless result.cache.enabled is set; result.cache.full.run=true runs everything.
+ */
+public class ResultCacheFilter implements PostDiscoveryFilter {
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (!descriptor.isTest() || !ResultCache.isSkippingEnabled()) {
+            return FilterResult.included("not a cacheable scenario");
+        }
+        TestSource source = descriptor.getSource().orElse(null);
+        if (!(source instanceof ClasspathResourceSource resource) || resource.getPosition().isEmpty()) {
+            return FilterResult.included("not a cacheable scenario");
+        }
+        String feature = resource.getClasspathResourceName();
+        String scenarioId = feature + ":" + resource.getPosition().get().getLine();
+        ResultCache cache = ResultCache.getInstance();
+        return cache.freshPass(scenarioId, feature)
+                .map(entry -> {
+                    cache.restore(scenarioId, entry);
+                    return FilterResult.excluded("passed with the same inputs (result cache)");
+                })
+                .orElseGet(() -> FilterResult.included("no fresh cached pass"));
+    }
+}
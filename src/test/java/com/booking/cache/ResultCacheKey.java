@@ -0,0 +1,142 @@
+package com.booking.cache;
+
+import com.booking.config.ConfigManager;
+import com.booking.validation.SchemaRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Computes the cache key of one scenario: a SHA-256 over everything its result depends on.
+ *
+ *   - the target environment (-Denv name and configured base.url) and its config/<env>.properties
+ *   - the feature file the scenario lives in
+ *   - spec/booking.yaml and every schema under schemas/
+ *   - the compiled step-definition and hook classes its steps bound to in the run that passed
+ *   - every other compiled com.booking class: clients, factories, DTOs, config, the stub
+ *
+ * Classes are hashed as bytecode. A change to a step or hook class invalidates only the
+ * scenarios that bound to it; a change anywhere else in the framework, which any scenario may
+ * call into, invalidates every scenario. Properties overridden with -D are not part of the key.
+ *
+ * Resource hashes are computed once per JVM and shared by all scenarios.
+ */
+final class ResultCacheKey {
+
+    private static final String SPEC_RESOURCE = "spec/booking.yaml";
+    private static final String FRAMEWORK_PACKAGE = "com/booking";
+    // Bound per scenario instead, so a step change does not invalidate the scenarios that do not use it
+    private static final List<String> GLUE_PACKAGES = List.of("com/booking/stepdefinitions/", "com/booking/hooks/");
+    private static final Map<String, String> resourceHashes = new ConcurrentHashMap<>();
+
+    private ResultCacheKey() {
+        // Utility class — not instantiable
+    }
+
+    /**
+     * @param featureResource Classpath resource of the feature, e.g. "features/auth.feature".
+     * @param glueClasses     Fully qualified names of the classes the scenario's steps and hooks bound to.
+     */
+    static String forScenario(String featureResource, Collection<String> glueClasses) {
+        MessageDigest digest = sha256();
+        ConfigManager config = ConfigManager.getInstance();
+        update(digest, "env=" + config.getEnvironmentName() + ";url=" + config.getConfiguredBaseUrl());
+        update(digest, resourceHash("config/" + config.getEnvironmentName() + ".properties"));
+        update(digest, frameworkHash());
+        update(digest, resourceHash(featureResource));
+        update(digest, resourceHash(SPEC_RESOURCE));
+        update(digest, schemasHash());
+        for (String glueClass : new TreeSet<>(glueClasses)) {
+            update(digest, glueClass + "=" + resourceHash(glueClass.replace('.', '/') + ".class"));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String schemasHash() {
+        String cached = resourceHashes.get("schemas/");
+        if (cached != null) {
+            return cached;
+        }
+        // Not computeIfAbsent: resourceHash() updates the same map, which a mapping function must not do
+        MessageDigest digest = sha256();
+        for (String name : SchemaRegistry.getInstance().schemaNames()) {
+            update(digest, name + "=" + resourceHash("schemas/" + name));
+        }
+        String hash = HexFormat.of().formatHex(digest.digest());
+        resourceHashes.putIfAbsent("schemas/", hash);
+        return hash;
+    }
+
+    /** Hash of every compiled com.booking class outside the glue packages, whichever class path directory holds it. */
+    private static String frameworkHash() {
+        return resourceHashes.computeIfAbsent(FRAMEWORK_PACKAGE + "/", key -> {
+            Map<String, String> classes = new TreeMap<>();
+            try {
+                for (URL root : Collections.list(ResultCacheKey.class.getClassLoader().getResources(FRAMEWORK_PACKAGE))) {
+                    if (!"file".equals(root.getProtocol())) {
+                        throw new IllegalStateException("The result cache needs " + FRAMEWORK_PACKAGE
+                                + " in a class path directory, not " + root);
+                    }
+                    Path base = Path.of(root.toURI()).getParent().getParent();
+                    try (Stream<Path> files = Files.walk(Path.of(root.toURI()))) {
+                        for (Path file : files.filter(path -> path.toString().endsWith(".class")).toList()) {
+                            String name = base.relativize(file).toString().replace('\\', '/');
+                            // The first class path entry wins, as it does when the class is loaded
+                            if (GLUE_PACKAGES.stream().noneMatch(name::startsWith) && !classes.containsKey(name)) {
+                                classes.put(name, HexFormat.of().formatHex(sha256().digest(Files.readAllBytes(file))));
+                            }
+                        }
+                    }
+                }
+            } catch (IOException | URISyntaxException ex) {
+                throw new IllegalStateException("Failed to list the framework classes for the result cache key", ex);
+            }
+            MessageDigest digest = sha256();
+            classes.forEach((name, hash) -> update(digest, name + "=" + hash));
+            return HexFormat.of().formatHex(digest.digest());
+        });
+    }
+
+    /** Hash of a classpath resource's bytes; a missing resource hashes as "missing", so it still changes the key. */
+    private static String resourceHash(String resource) {
+        return resourceHashes.computeIfAbsent(resource, name -> {
+            try (InputStream input = ResultCacheKey.class.getClassLoader().getResourceAsStream(name)) {
+                if (input == null) {
+                    return "missing";
+                }
+                return HexFormat.of().formatHex(sha256().digest(input.readAllBytes()));
+            } catch (IOException ex) {
+                throw new IllegalStateException("Failed to read " + name + " for the result cache key", ex);
+            }
+        });
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.booking.cache;
+
+import com.booking.config.ConfigManager;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestRunStarted;
+import io.cucumber.plugin.event.TestStep;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Cucumber plugin that writes this run's outcomes into ResultCache (registered in TestRunner).
+ *
+ * For every finished scenario it notes the glue classes its steps and hooks bound to. A
+ * passed scenario is recorded under its current ResultCacheKey together with the Allure result
+ * the Allure plugin wrote for it; any other outcome removes the scenario from the cache, so it
+ * runs again next time. Allure writes its results as scenarios finish, so they are all on disk
+ * by TestRunFinished, when the plugin collects them and saves the index.
+ *
+ * Records even with result.cache.full.run=true, so a full run on the main branch refreshes the
+ * cache for the next incremental run. Does nothing unless result.cache.enabled is set.
+ */
+public class ResultCachePlugin implements ConcurrentEventListener {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String CLASSPATH_PREFIX = "classpath:";
+
+    private final Map<String, Set<String>> passed = new ConcurrentHashMap<>();
+    private final Map<String, String> featureOf = new ConcurrentHashMap<>();
+    private final Set<String> failed = ConcurrentHashMap.newKeySet();
+    private volatile long runStartedMillis;
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        if (!ConfigManager.getInstance().isResultCacheEnabled()) {
+            return;
+        }
+        publisher.registerHandlerFor(TestRunStarted.class, event -> runStartedMillis = System.currentTimeMillis());
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> onTestRunFinished());
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        TestCase testCase = event.getTestCase();
+        String uri = testCase.getUri().toString();
+        String feature = uri.startsWith(CLASSPATH_PREFIX) ? uri.substring(CLASSPATH_PREFIX.length()) : uri;
+        String scenarioId = feature + ":" + testCase.getLocation().getLine();
+        if (event.getResult().getStatus() != Status.PASSED) {
+            failed.add(scenarioId);
+            passed.remove(scenarioId);
+            return;
+        }
+        Set<String> glueClasses = new TreeSet<>();
+        for (TestStep step : testCase.getTestSteps()) {
+            String glueClass = glueClassOf(step.getCodeLocation());
+            if (glueClass != null) {
+                glueClasses.add(glueClass);
+            }
+        }
+        featureOf.put(scenarioId, feature);
+        passed.put(scenarioId, glueClasses);
+    }
+
+    private void onTestRunFinished() {
+        ResultCache cache = ResultCache.getInstance();
+        failed.forEach(cache::forget);
+        Map<String, Path> allureResults = allureResultsOfThisRun();
+        int recorded = 0;
+        for (Map.Entry<String, Set<String>> entry : passed.entrySet()) {
+            String scenarioId = entry.getKey();
+            try {
+                cache.recordPass(scenarioId, ResultCacheKey.forScenario(featureOf.get(scenarioId), entry.getValue()),
+                        entry.getValue(), allureResults.get(scenarioId));
+                recorded++;
+            } catch (IOException | RuntimeException ex) {
+                System.out.println("Result cache: could not record " + scenarioId + ": " + ex.getMessage());
+            }
+        }
+        try {
+            cache.save();
+        } catch (IOException ex) {
+            System.out.println("Result cache: could not save the index: " + ex.getMessage());
+        }
+        System.out.printf("Result cache: %d scenarios skipped (cached pass), %d passes recorded, %d failures forgotten%n",
+                cache.skippedCount(), recorded, failed.size());
+    }
+
+    /** Allure result files written since the run started, by fullName (the scenario ID). */
+    private Map<String, Path> allureResultsOfThisRun() {
+        Map<String, Path> results = new HashMap<>();
+        if (!Files.isDirectory(ResultCache.ALLURE_RESULTS)) {
+            return results;
+        }
+        try (Stream<Path> files = Files.list(ResultCache.ALLURE_RESULTS)) {
+            files.filter(file -> file.getFileName().toString().endsWith("-result.json")).forEach(file -> {
+                try {
+                    JsonNode result = mapper.readTree(file.toFile());
+                    if (result.path("start").asLong() >= runStartedMillis && "passed".equals(result.path("status").asText())) {
+                        results.put(result.path("fullName").asText(), file);
+                    }
+                } catch (IOException ex) {
+                    // Not a readable result file — it simply is not cached
+                }
+            });
+        } catch (IOException ex) {
+            System.out.println("Result cache: could not list " + ResultCache.ALLURE_RESULTS + ": " + ex.getMessage());
+        }
+        return results;
+    }
+
+    /**
+     * "com.booking.stepdefinitions.BookingSteps.iCreateAValidBooking()" becomes "com.booking.stepdefinitions.BookingSteps".
+     * Also used by WatchRunner's GlueRecorder.
+     */
+    public static String glueClassOf(String codeLocation) {
+        if (codeLocation == null) {
+            return null;
+        }
+        int arguments = codeLocation.indexOf('(');
+        String method = arguments < 0 ? codeLocation : codeLocation.substring(0, arguments);
+        int lastDot = method.lastIndexOf('.');
+        return lastDot < 0 ? null : method.substring(0, lastDot);
+    }
+}
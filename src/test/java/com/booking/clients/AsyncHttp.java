@@ -0,0 +1,66 @@
+package com.booking.clients;
+
+import com.booking.config.ConfigManager;
+import io.restassured.response.Response;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Shared executor behind the *Async client methods.
+ *
+ * Each async call runs the ordinary blocking client method on one of http.async.threads
+ * daemon threads, so it goes through the same filter chain (throttle, logging, metrics,
+ * retries) and returns the same Rest-Assured Response the assertion steps already read.
+ * Callers can submit any number of calls from one thread: up to http.async.threads are in
+ * flight at once and the rest wait in an unbounded queue, never on the caller.
+ *
+ * Keep http.async.threads at or below http.pool.max.per.route; beyond that the extra threads
+ * only wait for a pooled connection.
+ */
+final class AsyncHttp {
+
+    private static volatile AsyncHttp instance;
+
+    private final ThreadPoolExecutor executor;
+
+    private AsyncHttp() {
+        int threads = ConfigManager.getInstance().getHttpAsyncThreads();
+        AtomicInteger threadIds = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 30L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "http-async-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // Idle threads exit, so a run that only fans out once does not keep them around
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    static AsyncHttp getInstance() {
+        AsyncHttp local = instance;
+        if (local == null) {
+            synchronized (AsyncHttp.class) {
+                local = instance;
+                if (local == null) {
+                    local = new AsyncHttp();
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Runs the blocking call on the shared executor, in the caller's scenario: its exchanges go
+     * to the caller's HttpExchangeLog buffer and HttpCassette scope.
+     */
+    CompletableFuture<Response> submit(Supplier<Response> call) {
+        return CompletableFuture.supplyAsync(
+                HttpExchangeLog.inCurrentScenario(HttpCassette.getInstance().inCurrentScenario(call)), executor);
+    }
+}
@@ -3,42 +3,83 @@ package com.booking.clients;
 import com.booking.config.ApiEndpoints;
 import com.booking.config.ConfigManager;
 import com.booking.dto.TokenRequest;
+import com.booking.dto.TokenResponse;
 import io.qameta.allure.Step;
 import io.restassured.RestAssured;
-import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * HTTP client for the Authentication API (/auth/login).
  * Encapsulates the Rest-Assured RequestSpecification so step definitions contain zero HTTP boilerplate.
  * All methods return the full Rest-Assured Response object,
  * allowing step definitions to assert both success and failure scenarios without losing the response chain.
+ *
+ * Steps that merely need to be authenticated should call getCachedToken(), which shares one
+ * token per credential pair across the whole run (see TokenCache). createToken() always hits
+ * the server and is reserved for scenarios that test the login endpoint itself.
+ *
+ * The cached-token login creates no server state, so RetryPolicy retries it like an idempotent
+ * call; createToken() is never retried, since the login scenarios assert on its exact answer.
  */
 public class AuthClient {
 
     private final RequestSpecification baseRequestSpec;
 
     public AuthClient() {
-        this.baseRequestSpec = RestAssured.given()
-                .baseUri(ConfigManager.getInstance().getBaseUrl())
-                .contentType(ContentType.JSON)
-                .log().all();
+        this.baseRequestSpec = RequestSpecFactory.baseSpec();
     }
 
     /**
      * Sends a POST request to generate an authentication token.
      * The @Step annotation surfaces this HTTP call as a named step in the Allure report.
      *
-     * @param credentials The TokenRequest payload containing username and password.
+     * @param credentials The request body: a TokenRequest, or a raw Map/JsonNode for
+     *                    malformed-payload tests (typed as Object for the same reason as in BookingClient).
      * @return The full Rest-Assured Response, enabling assertion of both
      *         200 (token present) and 401 (error message) scenarios.
      */
     @Step("POST /auth/login — authenticate and request token")
-    public Response createToken(TokenRequest credentials) {
+    public Response createToken(Object credentials) {
         return RestAssured.given(baseRequestSpec)
                 .body(credentials)
                 .when()
                 .post(ApiEndpoints.AUTH_PATH);
     }
+
+    /** createToken() on the shared async executor (see AsyncHttp). */
+    public CompletableFuture<Response> createTokenAsync(Object credentials) {
+        return AsyncHttp.getInstance().submit(() -> createToken(credentials));
+    }
+
+    /**
+     * Returns a token for the credentials from the process-wide TokenCache,
+     * logging in only when no fresh token is cached.
+     *
+     * @param credentials The TokenRequest payload containing username and password.
+     * @return The raw token value (without the "token=" cookie prefix).
+     * @throws IllegalStateException if the login request does not return 200 with a token.
+     */
+    public String getCachedToken(TokenRequest credentials) {
+        ConfigManager config = ConfigManager.getInstance();
+        return TokenCache.getToken(credentials,
+                Duration.ofSeconds(config.getAuthTokenTtlSeconds()),
+                Duration.ofSeconds(config.getAuthTokenRefreshMarginSeconds()),
+                this::loginForToken);
+    }
+
+    private String loginForToken(TokenRequest credentials) {
+        RetryPolicy retryPolicy = RetryPolicy.getInstance();
+        Response response = retryPolicy.execute("POST " + ApiEndpoints.AUTH_PATH, RetryPolicy.Rule.IDEMPOTENT,
+                () -> createToken(credentials));
+        String token = response.getStatusCode() == 200 ? response.as(TokenResponse.class).getToken() : null;
+        if (token == null || token.isBlank()) {
+            throw new IllegalStateException("Auth token generation failed: HTTP "
+                    + response.getStatusCode() + " — " + response.getBody().asString());
+        }
+        return token;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.booking.clients;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Evicts a token from TokenCache when the server rejects it.
+ *
+ * Only the exact token value carried in the request's Cookie header is invalidated, so the
+ * negative auth scenarios (empty cookie, "token=invalid_garbage") never touch cached tokens.
+ * 403 is handled alongside 401 because the live API answers 403 to an unknown token value.
+ */
+class AuthTokenInvalidationFilter implements Filter {
+
+    private static final String TOKEN_PREFIX = "token=";
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        int status = response.getStatusCode();
+        if (status == 401 || status == 403) {
+            String cookie = requestSpec.getHeaders().getValue("Cookie");
+            if (cookie != null && cookie.startsWith(TOKEN_PREFIX)) {
+                TokenCache.invalidate(cookie.substring(TOKEN_PREFIX.length()));
+            }
+        }
+        return response;
+    }
+}
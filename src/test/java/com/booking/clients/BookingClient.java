@@ -1,13 +1,14 @@
 package com.booking.clients;
 
 import com.booking.config.ApiEndpoints;
-import com.booking.config.ConfigManager;
 import io.qameta.allure.Step;
 import io.restassured.RestAssured;
-import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
 /**
  * HTTP client for the Booking API (/booking and /booking/{id}).
  * Encapsulates the Rest-Assured RequestSpecification so step definitions contain zero HTTP boilerplate.
@@ -23,16 +24,27 @@ import io.restassured.specification.RequestSpecification;
  * Note: BookingClient and AuthClient are intentionally instantiated with new() in step definitions
  * rather than injected via PicoContainer. Both clients are stateless (they hold only a
  * RequestSpecification) so separate instances carry no risk of state pollution between scenarios.
+ * Connections are not per-instance: every client sends through the shared HttpTransport pool.
+ *
+ * A 401/403 answer to a request carrying a cached token evicts that token from TokenCache,
+ * so the next scenario logs in again instead of reusing a token the server has dropped.
+ *
+ * GET, PUT and DELETE are retried on transient failures according to RetryPolicy. A POST is
+ * only retried through createBookingReallocatingOnConflict(), which sends a new payload each time.
+ *
+ * Each method has an *Async counterpart that returns at once with a CompletableFuture of the
+ * same Response (see AsyncHttp), so one thread can fan out many requests — bulk setup, or
+ * concurrent requests against one booking — and assert on the results with the usual steps.
+ * Their HTTP exchanges are logged in the calling scenario's on-failure log buffer.
  */
 public class BookingClient {
 
     private final RequestSpecification baseRequestSpec;
+    private final RetryPolicy retryPolicy = RetryPolicy.getInstance();
 
     public BookingClient() {
-        this.baseRequestSpec = RestAssured.given()
-                .baseUri(ConfigManager.getInstance().getBaseUrl())
-                .contentType(ContentType.JSON)
-                .log().all();
+        this.baseRequestSpec = RequestSpecFactory.baseSpec()
+                .filter(new AuthTokenInvalidationFilter());
     }
 
     /**
@@ -50,6 +62,20 @@ public class BookingClient {
                 .post(ApiEndpoints.BOOKING_PATH);
     }
 
+    /**
+     * POST /booking — creates a new booking, retrying a 409 room/date conflict with a fresh payload.
+     * Only for callers that need *a* booking, never for tests that assert on the 409 itself.
+     *
+     * @param payloads Builds the payload for each attempt, e.g. TestDataFactory::validBooking,
+     *                 so a retry asks for a newly allocated room/date slot.
+     * @return The Response of the last attempt.
+     */
+    @Step("POST /booking — create booking (re-allocating on 409)")
+    public Response createBookingReallocatingOnConflict(Supplier<?> payloads) {
+        return retryPolicy.execute("POST " + ApiEndpoints.BOOKING_PATH, retryPolicy.conflictRule(),
+                () -> createBooking(payloads.get()));
+    }
+
     /**
      * GET /booking/{id} — retrieves a booking by ID.
      *
@@ -60,12 +86,8 @@ public class BookingClient {
      */
     @Step("GET /booking/{id} — retrieve booking")
     public Response getBooking(Object id, String cookieHeader) {
-        RequestSpecification req = RestAssured.given(baseRequestSpec)
-                .pathParam("id", id);
-        if (cookieHeader != null) {
-            req.header("Cookie", cookieHeader);
-        }
-        return req.when().get(ApiEndpoints.BOOKING_BY_ID_PATH);
+        return retryPolicy.execute("GET " + ApiEndpoints.BOOKING_BY_ID_PATH, retryPolicy.ruleFor("GET"),
+                () -> byId(id, cookieHeader).when().get(ApiEndpoints.BOOKING_BY_ID_PATH));
     }
 
     /**
@@ -78,12 +100,8 @@ public class BookingClient {
      */
     @Step("PUT /booking/{id} — full update booking")
     public Response updateBooking(Object id, Object payload, String cookieHeader) {
-        RequestSpecification req = RestAssured.given(baseRequestSpec)
-                .pathParam("id", id);
-        if (cookieHeader != null) {
-            req.header("Cookie", cookieHeader);
-        }
-        return req.body(payload).when().put(ApiEndpoints.BOOKING_BY_ID_PATH);
+        return retryPolicy.execute("PUT " + ApiEndpoints.BOOKING_BY_ID_PATH, retryPolicy.ruleFor("PUT"),
+                () -> byId(id, cookieHeader).body(payload).when().put(ApiEndpoints.BOOKING_BY_ID_PATH));
     }
 
     /**
@@ -98,12 +116,7 @@ public class BookingClient {
      */
     @Step("PATCH /booking/{id} — partial update booking (expected: 405 on live API)")
     public Response partialUpdateBooking(Object id, Object payload, String cookieHeader) {
-        RequestSpecification req = RestAssured.given(baseRequestSpec)
-                .pathParam("id", id);
-        if (cookieHeader != null) {
-            req.header("Cookie", cookieHeader);
-        }
-        return req.body(payload).when().patch(ApiEndpoints.BOOKING_BY_ID_PATH);
+        return byId(id, cookieHeader).body(payload).when().patch(ApiEndpoints.BOOKING_BY_ID_PATH);
     }
 
     /**
@@ -118,11 +131,50 @@ public class BookingClient {
      */
     @Step("DELETE /booking/{id} — delete booking")
     public Response deleteBooking(Object id, String cookieHeader) {
+        return retryPolicy.execute("DELETE " + ApiEndpoints.BOOKING_BY_ID_PATH, retryPolicy.ruleFor("DELETE"),
+                () -> byId(id, cookieHeader).when().delete(ApiEndpoints.BOOKING_BY_ID_PATH));
+    }
+
+    /** createBooking() on the shared async executor. */
+    public CompletableFuture<Response> createBookingAsync(Object payload) {
+        return AsyncHttp.getInstance().submit(() -> createBooking(payload));
+    }
+
+    /** createBookingReallocatingOnConflict() on the shared async executor. */
+    public CompletableFuture<Response> createBookingReallocatingOnConflictAsync(Supplier<?> payloads) {
+        return AsyncHttp.getInstance().submit(() -> createBookingReallocatingOnConflict(payloads));
+    }
+
+    /** getBooking() on the shared async executor. */
+    public CompletableFuture<Response> getBookingAsync(Object id, String cookieHeader) {
+        return AsyncHttp.getInstance().submit(() -> getBooking(id, cookieHeader));
+    }
+
+    /** updateBooking() on the shared async executor. */
+    public CompletableFuture<Response> updateBookingAsync(Object id, Object payload, String cookieHeader) {
+        return AsyncHttp.getInstance().submit(() -> updateBooking(id, payload, cookieHeader));
+    }
+
+    /** partialUpdateBooking() on the shared async executor. */
+    public CompletableFuture<Response> partialUpdateBookingAsync(Object id, Object payload, String cookieHeader) {
+        return AsyncHttp.getInstance().submit(() -> partialUpdateBooking(id, payload, cookieHeader));
+    }
+
+    /** deleteBooking() on the shared async executor. */
+    public CompletableFuture<Response> deleteBookingAsync(Object id, String cookieHeader) {
+        return AsyncHttp.getInstance().submit(() -> deleteBooking(id, cookieHeader));
+    }
+
+    /**
+     * A fresh request for /booking/{id}, built per attempt so a retry never resends a used specification.
+     * A null cookieHeader omits the header.
+     */
+    private RequestSpecification byId(Object id, String cookieHeader) {
         RequestSpecification req = RestAssured.given(baseRequestSpec)
                 .pathParam("id", id);
         if (cookieHeader != null) {
             req.header("Cookie", cookieHeader);
         }
-        return req.when().delete(ApiEndpoints.BOOKING_BY_ID_PATH);
+        return req;
     }
 }
\ No newline at end of file
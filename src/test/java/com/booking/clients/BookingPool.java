@@ -0,0 +1,167 @@
+package com.booking.clients;
+
+import com.booking.config.ConfigManager;
+import com.booking.dto.BookingResponse;
+import com.booking.factory.TestDataFactory;
+import io.restassured.response.Response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Run-scoped pool of throwaway bookings for "a booking exists in the system" (booking.pool.enabled).
+ *
+ * booking.pool.threads background workers keep booking.pool.size bookings created ahead of
+ * demand. acquire() hands one out exclusively — the scenario owns it from then on, and its
+ * normal teardown deletes it — and frees a slot so a worker creates the replacement while the
+ * scenario runs. A failed create (e.g. a 409 room/date collision) is retried by the worker
+ * with exponential backoff, off the scenario's critical path; a scenario only fails if no
+ * booking arrives within booking.pool.acquire.timeout.seconds.
+ *
+ * close() (Hooks @AfterAll) stops the workers and hands every booking still in the pool to
+ * BookingTeardownQueue, so nothing created ahead of demand outlives the run. It also releases
+ * the singleton, so the next Cucumber run in the same JVM (soak mode) starts a new pool.
+ */
+public final class BookingPool {
+
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+    private static volatile BookingPool instance;
+
+    private final BlockingQueue<Integer> ready = new LinkedBlockingQueue<>();
+    private final Semaphore freeSlots;
+    private final ExecutorService workers;
+    private final BookingClient bookingClient = new BookingClient();
+    private final Object lifecycleLock = new Object();
+    private volatile boolean closed;
+    private volatile String lastFailure = "none";
+
+    private BookingPool() {
+        ConfigManager config = ConfigManager.getInstance();
+        freeSlots = new Semaphore(config.getBookingPoolSize());
+
+        AtomicInteger threadIds = new AtomicInteger();
+        int threads = config.getBookingPoolThreads();
+        workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "booking-pool-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < threads; i++) {
+            workers.execute(this::fill);
+        }
+    }
+
+    /** Returns the pool, starting its workers on first use. */
+    public static BookingPool getInstance() {
+        BookingPool local = instance;
+        if (local == null) {
+            synchronized (BookingPool.class) {
+                local = instance;
+                if (local == null) {
+                    local = new BookingPool();
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /** True if the pool was started during this run, i.e. there is something to close. */
+    public static boolean isStarted() {
+        return instance != null;
+    }
+
+    /**
+     * Takes a booking for the exclusive use of the caller, waiting for one if the pool is empty.
+     *
+     * @return The booking ID. The caller is responsible for deleting it.
+     * @throws IllegalStateException if no booking could be created in time, with the last failure.
+     */
+    public int acquire() {
+        Integer id;
+        try {
+            id = ready.poll(ConfigManager.getInstance().getBookingPoolAcquireTimeoutSeconds(), TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pooled booking", ex);
+        }
+        if (id == null) {
+            throw new IllegalStateException("No pooled booking became available — last create failure: " + lastFailure);
+        }
+        freeSlots.release();
+        return id;
+    }
+
+    /**
+     * Stops creating bookings and queues every unused one for deletion on BookingTeardownQueue.
+     *
+     * @return The number of unused bookings handed over for deletion.
+     */
+    public int close() {
+        List<Integer> unused = new ArrayList<>();
+        synchronized (lifecycleLock) {
+            closed = true;
+            ready.drainTo(unused);
+        }
+        workers.shutdownNow();
+        unused.forEach(BookingTeardownQueue.getInstance()::enqueue);
+        synchronized (BookingPool.class) {
+            if (instance == this) {
+                instance = null;
+            }
+        }
+        return unused.size();
+    }
+
+    /** Worker loop: waits for a free slot, then creates one booking into it, retrying until it succeeds. */
+    private void fill() {
+        try {
+            while (!closed) {
+                freeSlots.acquire();
+                int id = createWithRetry();
+                synchronized (lifecycleLock) {
+                    if (!closed) {
+                        ready.add(id);
+                        continue;
+                    }
+                }
+                // Created while the run was ending: close() has already drained the pool
+                BookingTeardownQueue.getInstance().enqueue(id);
+            }
+        } catch (InterruptedException ex) {
+            // close() — let the worker end
+        }
+    }
+
+    private int createWithRetry() throws InterruptedException {
+        long backoffMillis = 100;
+        while (true) {
+            try {
+                Response response = bookingClient.createBooking(TestDataFactory.validBooking());
+                if (response.getStatusCode() == 201) {
+                    Integer id = response.as(BookingResponse.class).getBookingid();
+                    if (id != null) {
+                        return id;
+                    }
+                }
+                lastFailure = "HTTP " + response.getStatusCode() + " — " + response.getBody().asString();
+            } catch (Exception ex) {
+                // Rest-Assured rethrows checked IOExceptions undeclared, so catch broadly
+                lastFailure = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+            }
+            if (closed) {
+                throw new InterruptedException("Booking pool closed");
+            }
+            // 409 means the random room/dates collided; a fresh booking usually succeeds at once
+            TimeUnit.MILLISECONDS.sleep(backoffMillis);
+            backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.booking.clients;
+
+import com.booking.config.ConfigManager;
+import com.booking.dto.TokenRequest;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Run-scoped queue that deletes bookings in the background (teardown.mode=async).
+ *
+ * Hooks.teardownBookingData only enqueues the scenario's booking ID, so neither the DELETE
+ * nor a login for it sits on the scenario's critical path. A bounded pool of
+ * teardown.async.threads daemon workers drains the queue concurrently while later scenarios
+ * run, always deleting with the cached admin token — a scenario's own token may be one a
+ * negative test made up.
+ *
+ * flush() (Hooks @AfterAll) stops accepting work, waits up to teardown.flush.timeout.seconds
+ * for the queue to drain and returns the run summary. A JVM shutdown hook performs the same
+ * flush if the engine never reaches @AfterAll, and is removed once flush() has run. flush()
+ * also releases the singleton, so the next Cucumber run in the same JVM (soak mode) gets a
+ * fresh queue. Deletion failures never fail a scenario; they are collected and reported in
+ * the summary.
+ */
+public final class BookingTeardownQueue {
+
+    private static volatile BookingTeardownQueue instance;
+
+    private final ThreadPoolExecutor workers;
+    private final BookingClient bookingClient = new BookingClient();
+    private final AuthClient authClient = new AuthClient();
+    private final TokenRequest adminCredentials;
+    private final LongAdder deleted = new LongAdder();
+    private final LongAdder alreadyGone = new LongAdder();
+    private final Queue<String> failures = new ConcurrentLinkedQueue<>();
+    private final Thread shutdownFlush;
+    private Summary summary;
+
+    private BookingTeardownQueue() {
+        ConfigManager config = ConfigManager.getInstance();
+        adminCredentials = TokenRequest.builder()
+                .username(config.getAdminUsername())
+                .password(config.getAdminPassword())
+                .build();
+
+        AtomicInteger threadIds = new AtomicInteger();
+        int threads = config.getTeardownAsyncThreads();
+        workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "booking-teardown-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        shutdownFlush = new Thread(() -> {
+            Summary result = flush();
+            if (!result.isClean()) {
+                System.out.println("Booking teardown at JVM shutdown: " + result);
+            }
+        }, "booking-teardown-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownFlush);
+    }
+
+    public static BookingTeardownQueue getInstance() {
+        BookingTeardownQueue local = instance;
+        if (local == null) {
+            synchronized (BookingTeardownQueue.class) {
+                local = instance;
+                if (local == null) {
+                    local = new BookingTeardownQueue();
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /** True if a queue was created during this run, i.e. there is something to flush. */
+    public static boolean isStarted() {
+        return instance != null;
+    }
+
+    /**
+     * Queues the booking for deletion and returns immediately.
+     * After flush() the booking is deleted synchronously on the caller's thread instead.
+     */
+    public void enqueue(Object bookingId) {
+        try {
+            workers.execute(() -> delete(bookingId));
+        } catch (RejectedExecutionException ex) {
+            delete(bookingId);
+        }
+    }
+
+    /**
+     * Stops accepting new work and waits for the queued deletions to finish. Safe to call more
+     * than once: later calls return the first call's summary.
+     */
+    public synchronized Summary flush() {
+        if (summary != null) {
+            return summary;
+        }
+        workers.shutdown();
+        int abandoned = 0;
+        try {
+            if (!workers.awaitTermination(ConfigManager.getInstance().getTeardownFlushTimeoutSeconds(), TimeUnit.SECONDS)) {
+                abandoned = workers.shutdownNow().size();
+            }
+        } catch (InterruptedException ex) {
+            abandoned = workers.shutdownNow().size();
+            Thread.currentThread().interrupt();
+        }
+        summary = new Summary(deleted.sum(), alreadyGone.sum(), abandoned, List.copyOf(failures));
+        synchronized (BookingTeardownQueue.class) {
+            if (instance == this) {
+                instance = null;
+            }
+        }
+        if (Thread.currentThread() != shutdownFlush) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownFlush);
+            } catch (IllegalStateException ex) {
+                // The JVM is already shutting down; the hook will find the summary and return
+            }
+        }
+        return summary;
+    }
+
+    private void delete(Object bookingId) {
+        try {
+            int status = bookingClient.deleteBooking(bookingId, "token=" + authClient.getCachedToken(adminCredentials))
+                    .getStatusCode();
+            if (status == 200 || status == 201) {
+                deleted.increment();
+            } else if (status == 404) {
+                // The scenario deleted it itself (e.g. the delete feature)
+                alreadyGone.increment();
+            } else {
+                failures.add(bookingId + ": HTTP " + status);
+            }
+        } catch (Exception ex) {
+            // Rest-Assured rethrows checked IOExceptions undeclared, so catch broadly
+            failures.add(bookingId + ": " + ex.getClass().getSimpleName() + ": " + ex.getMessage());
+        }
+    }
+
+    /**
+     * @param deleted     Bookings deleted by the queue.
+     * @param alreadyGone Bookings that no longer existed (404) when the queue got to them.
+     * @param abandoned   Deletions still queued when the flush timeout ran out.
+     * @param failures    One "id: reason" line per deletion that failed.
+     */
+    public record Summary(long deleted, long alreadyGone, int abandoned, List<String> failures) {
+
+        public boolean isClean() {
+            return abandoned == 0 && failures.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder(String.format("deleted=%d, alreadyGone=%d, failed=%d, abandoned=%d",
+                    deleted, alreadyGone, failures.size(), abandoned));
+            failures.forEach(failure -> text.append("\n  failed ").append(failure));
+            return text.toString();
+        }
+    }
+}
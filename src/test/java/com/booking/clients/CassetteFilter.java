@@ -0,0 +1,31 @@
+package com.booking.clients;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Records the exchange to HttpCassette, or answers it from there without sending it
+ * (http.cassette.mode).
+ *
+ * Runs after every other filter, so a replayed response still passes back through
+ * ConnectionReleaseFilter, HttpLoggingFilter and the rest exactly like one from the server, and
+ * a recorded response is the one the server sent. RequestSpecFactory leaves ThrottleFilter and
+ * HttpMetricsFilter out of a replaying chain.
+ */
+class CassetteFilter implements OrderedFilter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        return HttpCassette.getInstance().exchange(requestSpec, responseSpec, ctx);
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,204 @@
+package com.booking.clients;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Replaces the values that differ from run to run — booking IDs, room IDs, dates and tokens —
+ * with numbered placeholders such as {{bookingid:1}}, in the order one scenario first meets
+ * them.
+ *
+ * A scenario does the same things in the same order every run, so its third new date is
+ * {{date:3}} whether the run allocated 2026-03-01 or 2026-09-14, and a recorded request and
+ * its replay normalize to the same fingerprint. Recording stores response bodies normalized
+ * the same way; replay puts this run's values back, and invents one for a placeholder the
+ * scenario has not met yet, such as the ID of a booking it is creating.
+ *
+ * JSON fields are normalized by name (FIELD_KINDS). An ID in a path or a token in a Cookie
+ * header is normalized only if the run has seen the server issue it, so the literal IDs and
+ * made-up tokens of negative tests stay part of the fingerprint.
+ */
+final class CassetteNormalizer {
+
+    static final String BOOKING_ID = "bookingid";
+    static final String TOKEN = "token";
+
+    private static final Map<String, String> FIELD_KINDS = Map.of(
+            "bookingid", BOOKING_ID,
+            "roomid", "roomid",
+            "checkin", "date",
+            "checkout", "date",
+            "token", TOKEN);
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{(\\w+):\\d+}}");
+    private static final ObjectMapper mapper = new ObjectMapper();
+    // Object fields sorted, so the fingerprint does not depend on property order
+    private static final ObjectMapper sorted = new ObjectMapper().enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+    private final Predicate<String> issued;
+    private final Function<String, JsonNode> inventor;
+    private final Map<String, String> placeholders = new HashMap<>();
+    private final Map<String, JsonNode> values = new HashMap<>();
+    private final Map<String, Integer> counts = new HashMap<>();
+
+    /**
+     * @param issued   Whether the server issued a value during this run, given as "kind:value".
+     * @param inventor A fresh value of a kind, for a placeholder replay has no value for yet.
+     */
+    CassetteNormalizer(Predicate<String> issued, Function<String, JsonNode> inventor) {
+        this.issued = issued;
+        this.inventor = inventor;
+    }
+
+    /** The body with its dynamic fields replaced, with sorted properties; text that is not JSON as it is. */
+    String canonical(String body) {
+        JsonNode json = parse(body);
+        if (json == null) {
+            return body;
+        }
+        try {
+            return sorted.writeValueAsString(sorted.treeToValue(normalize(json), Object.class));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to write normalized JSON", ex);
+        }
+    }
+
+    /** The body with its dynamic fields replaced; text that is not JSON as it is. */
+    String normalize(String body) {
+        JsonNode json = parse(body);
+        return json == null ? body : normalize(json).toString();
+    }
+
+    /** A path parameter or cookie value: its placeholder if the server issued it, otherwise the value itself. */
+    String issuedOrLiteral(String kind, String value) {
+        return issued.test(kind + ":" + value) ? placeholder(kind, JsonNodeFactory.instance.textNode(value)) : value;
+    }
+
+    /** A recorded body with this run's values in place of its placeholders. */
+    String restore(String body) {
+        if (!body.contains("{{")) {
+            return body;
+        }
+        JsonNode json = parse(body);
+        return json == null ? body : restore(json).toString();
+    }
+
+    private JsonNode normalize(JsonNode node) {
+        if (node.isObject()) {
+            ObjectNode copy = JsonNodeFactory.instance.objectNode();
+            node.fields().forEachRemaining(field -> {
+                String kind = FIELD_KINDS.get(field.getKey());
+                JsonNode value = field.getValue();
+                copy.set(field.getKey(), kind != null && value.isValueNode() && !value.isNull()
+                        ? JsonNodeFactory.instance.textNode(placeholder(kind, value))
+                        : normalize(value));
+            });
+            return copy;
+        }
+        if (node.isArray()) {
+            ArrayNode copy = JsonNodeFactory.instance.arrayNode();
+            node.forEach(element -> copy.add(normalize(element)));
+            return copy;
+        }
+        return node;
+    }
+
+    private JsonNode restore(JsonNode node) {
+        if (node.isObject()) {
+            ObjectNode copy = JsonNodeFactory.instance.objectNode();
+            node.fields().forEachRemaining(field -> copy.set(field.getKey(), restore(field.getValue())));
+            return copy;
+        }
+        if (node.isArray()) {
+            ArrayNode copy = JsonNodeFactory.instance.arrayNode();
+            node.forEach(element -> copy.add(restore(element)));
+            return copy;
+        }
+        if (node.isTextual()) {
+            Matcher matcher = PLACEHOLDER.matcher(node.asText());
+            if (matcher.matches()) {
+                return value(matcher.group(0), matcher.group(1));
+            }
+        }
+        return node;
+    }
+
+    private synchronized String placeholder(String kind, JsonNode value) {
+        return placeholders.computeIfAbsent(kind + ":" + value.asText(), key -> {
+            String placeholder = "{{" + kind + ":" + counts.merge(kind, 1, Integer::sum) + "}}";
+            values.put(placeholder, typed(kind, value));
+            return placeholder;
+        });
+    }
+
+    private synchronized JsonNode value(String placeholder, String kind) {
+        JsonNode value = values.get(placeholder);
+        if (value == null) {
+            value = inventor.apply(kind);
+            values.put(placeholder, value);
+            placeholders.put(kind + ":" + value.asText(), placeholder);
+            counts.merge(kind, 1, Integer::sum);
+        }
+        return value;
+    }
+
+    /** IDs first met as path text are numbers wherever a response body carries them. */
+    private static JsonNode typed(String kind, JsonNode value) {
+        if (value.isTextual() && !kind.equals(TOKEN) && !kind.equals("date") && value.asText().matches("\\d{1,18}")) {
+            return JsonNodeFactory.instance.numberNode(Long.parseLong(value.asText()));
+        }
+        return value;
+    }
+
+    private static JsonNode parse(String body) {
+        if (body == null || body.isBlank()) {
+            return null;
+        }
+        char first = body.strip().charAt(0);
+        if (first != '{' && first != '[') {
+            return null;
+        }
+        try {
+            return mapper.readTree(body);
+        } catch (JsonProcessingException ex) {
+            return null;
+        }
+    }
+
+    /** The "kind:value" pairs of the issuing fields (bookingid, token) in a response body. */
+    static List<String> issuedValues(String body) {
+        List<String> found = new ArrayList<>();
+        JsonNode json = parse(body);
+        if (json != null) {
+            collectIssued(json, found);
+        }
+        return found;
+    }
+
+    private static void collectIssued(JsonNode node, List<String> found) {
+        if (node.isObject()) {
+            node.fields().forEachRemaining(field -> {
+                if ((field.getKey().equals(BOOKING_ID) || field.getKey().equals(TOKEN)) && field.getValue().isValueNode()) {
+                    found.add(field.getKey() + ":" + field.getValue().asText());
+                } else {
+                    collectIssued(field.getValue(), found);
+                }
+            });
+        } else if (node.isArray()) {
+            node.forEach(element -> collectIssued(element, found));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.booking.clients;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Buffers every response body as soon as it arrives.
+ *
+ * Rest-Assured reads the body stream lazily, and a pooled connection only returns to
+ * HttpTransport's pool once its stream is fully consumed. Many steps assert on the status
+ * code alone (teardown deletes, auth negatives), so without this filter those connections
+ * would stay leased until the pool is exhausted.
+ */
+class ConnectionReleaseFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        response.getBody().asByteArray();
+        return response;
+    }
+}
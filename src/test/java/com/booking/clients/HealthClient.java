@@ -0,0 +1,42 @@
+package com.booking.clients;
+
+import com.booking.config.ApiEndpoints;
+import com.booking.config.ConfigManager;
+import io.qameta.allure.Step;
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * HTTP client for the health endpoint (/booking/actuator/health).
+ * Used only by HealthGate — step definitions never probe the environment directly.
+ *
+ * Connect and read timeouts come from ConfigManager (health.probe.timeout.ms) so a dead
+ * host is detected in seconds rather than after the operating-system connect timeout.
+ */
+public class HealthClient {
+
+    private final RequestSpecification baseRequestSpec;
+
+    public HealthClient() {
+        int timeoutMillis = ConfigManager.getInstance().getHealthProbeTimeoutMillis();
+        this.baseRequestSpec = RequestSpecFactory.baseSpec()
+                .config(RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig()
+                        .setParam("http.connection.timeout", timeoutMillis)
+                        .setParam("http.socket.timeout", timeoutMillis)));
+    }
+
+    /**
+     * GET /booking/actuator/health — checks that the API is up.
+     *
+     * @return The full Rest-Assured Response. Transport errors propagate as exceptions.
+     */
+    @Step("GET /booking/actuator/health — health check")
+    public Response checkHealth() {
+        return RestAssured.given(baseRequestSpec)
+                .when()
+                .get(ApiEndpoints.HEALTH_PATH);
+    }
+}
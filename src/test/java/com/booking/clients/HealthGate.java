@@ -0,0 +1,119 @@
+package com.booking.clients;
+
+import com.booking.config.ConfigManager;
+import io.restassured.response.Response;
+import org.opentest4j.TestAbortedException;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Run-level health gate with a circuit breaker, replacing the per-scenario health GET.
+ *
+ * - The API is probed once at startup (Hooks @BeforeAll) and afterwards only when
+ *   health.recheck.interval.seconds has elapsed, or when the clients have seen
+ *   health.transport.failure.threshold consecutive transport failures.
+ * - A failed probe opens the circuit. The scenario whose probe opened it fails with the
+ *   probe result; every later scenario is aborted immediately (reported as skipped) instead
+ *   of waiting out its own connect timeout.
+ * - An open circuit is re-probed on the same interval, so a short outage can recover mid-run.
+ *
+ * Probes are single-flight: concurrent scenarios wait for the one probe in progress.
+ */
+public final class HealthGate {
+
+    private static final HealthGate INSTANCE = new HealthGate();
+
+    private enum State { UNKNOWN, UP, DOWN }
+
+    private final AtomicInteger consecutiveTransportFailures = new AtomicInteger();
+    private volatile State state = State.UNKNOWN;
+    private volatile long nextProbeAtNanos;
+    private volatile String lastProbeResult = "not probed yet";
+    private volatile Instant openedAt;
+    private HealthClient healthClient;
+
+    private HealthGate() {
+    }
+
+    public static HealthGate getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Passes when the API is healthy, re-probing first if a probe is due.
+     *
+     * @throws AssertionError        if this call's probe found the API down (opens the circuit).
+     * @throws TestAbortedException  if the circuit was already open — the scenario is skipped.
+     */
+    public void requireHealthy() {
+        if (probeDue()) {
+            synchronized (this) {
+                // Re-check under the lock: another scenario may have just finished the probe
+                if (probeDue()) {
+                    boolean wasOpen = state == State.DOWN;
+                    if (!probe() && !wasOpen) {
+                        throw new AssertionError("API health check failed — is the environment reachable? "
+                                + lastProbeResult);
+                    }
+                }
+            }
+        }
+        if (state == State.DOWN) {
+            throw new TestAbortedException("Skipped: health circuit open since " + openedAt
+                    + " (" + lastProbeResult + ")");
+        }
+    }
+
+    /**
+     * Probes the API once, regardless of the interval.
+     *
+     * @return true if the API answered 200.
+     */
+    private synchronized boolean probe() {
+        if (healthClient == null) {
+            healthClient = new HealthClient();
+        }
+        boolean healthy;
+        try {
+            Response response = healthClient.checkHealth();
+            healthy = response.getStatusCode() == 200;
+            lastProbeResult = "Got status " + response.getStatusCode();
+        } catch (Exception ex) {
+            healthy = false;
+            lastProbeResult = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+        }
+
+        if (healthy) {
+            state = State.UP;
+            openedAt = null;
+        } else if (state != State.DOWN) {
+            state = State.DOWN;
+            openedAt = Instant.now();
+        }
+        consecutiveTransportFailures.set(0);
+        nextProbeAtNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(
+                ConfigManager.getInstance().getHealthRecheckIntervalSeconds());
+        return healthy;
+    }
+
+    /** Called by TransportFailureFilter when a request fails below HTTP (connect/read error). */
+    void recordTransportFailure() {
+        consecutiveTransportFailures.incrementAndGet();
+    }
+
+    /** Called by TransportFailureFilter when any HTTP response is received. */
+    void recordResponse() {
+        if (consecutiveTransportFailures.get() != 0) {
+            consecutiveTransportFailures.set(0);
+        }
+    }
+
+    private boolean probeDue() {
+        return state == State.UNKNOWN
+                || System.nanoTime() - nextProbeAtNanos >= 0
+                || consecutiveTransportFailures.get()
+                        >= ConfigManager.getInstance().getHealthTransportFailureThreshold();
+    }
+}
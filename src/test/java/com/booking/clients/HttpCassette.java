@@ -0,0 +1,399 @@
+package com.booking.clients;
+
+import com.booking.config.ConfigManager;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Records every HTTP exchange of AuthClient, BookingClient and HealthClient to cassettes on
+ * disk, and replays them without a network (http.cassette.mode).
+ *
+ *   record — requests go to the server as usual; each exchange is kept under its scenario and
+ *            request fingerprint, and the cassettes are written after the last scenario
+ *   replay — CassetteFilter answers every request from the cassettes; nothing is sent, so a
+ *            run takes seconds and gets the same answers every time
+ *
+ * The fingerprint is a hash of the method, path template, path and query parameters, Cookie
+ * and Authorization headers and body, after CassetteNormalizer has replaced the values that
+ * change between runs (booking IDs, room IDs, dates, tokens) with placeholders. A scenario
+ * replays its own exchanges, each fingerprint in recorded order. A request it did not make
+ * when recording — the login for a cached token another scenario fetched first, a retry that
+ * was not needed — gets the first exchange any scenario recorded with that fingerprint.
+ * Requests outside a scenario (health probe, booking pool, async teardown) are shared by
+ * fingerprint alone. A request no cassette knows fails with the advice to record again.
+ *
+ * Cassettes are gzip-compressed JSON lines, one file per feature plus _shared.jsonl.gz, in
+ * http.cassette.dir. Only the Content-Type header of a response is kept, and no credentials:
+ * requests are stored as their fingerprint. Recording part of the suite (e.g. one tag) only
+ * replaces the scenarios that ran. Scenarios are keyed by feature file and line, so editing
+ * a feature means recording it again. With http.cassette.replay.latency=true a replayed
+ * response waits as long as the recorded one took.
+ *
+ * Usage: Hooks marks each scenario with startScenario()/endScenario() and calls save() after
+ * the last one; RequestSpecFactory installs CassetteFilter when the mode is not off.
+ */
+public final class HttpCassette {
+
+    public enum Mode {
+        OFF, RECORD, REPLAY;
+
+        static Mode parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new RuntimeException("Unknown http.cassette.mode '" + value
+                        + "' — expected off, record or replay", ex);
+            }
+        }
+    }
+
+    private static final String SHARED = "_shared";
+    private static final String EXTENSION = ".jsonl.gz";
+    private static final int FINGERPRINT_CHARS = 16;
+    private static final ObjectMapper mapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    private static volatile HttpCassette instance;
+
+    private final Mode mode;
+    private final Path directory;
+    private final boolean replayLatency;
+    private final ThreadLocal<Scope> scope = new ThreadLocal<>();
+    // "kind:value" of every booking ID and token the server issued (or replay invented) this run
+    private final Set<String> issued = ConcurrentHashMap.newKeySet();
+    private final AtomicLong inventedIds = new AtomicLong(1_000_000);
+    // record: exchanges per scenario ("" outside scenarios), in the order they completed
+    private final Map<String, List<Entry>> recorded = new ConcurrentHashMap<>();
+    // replay: the cassettes, per scenario and by fingerprint across all of them
+    private final Map<String, List<Entry>> byScenario = new HashMap<>();
+    private final Map<String, Entry> byFingerprint = new HashMap<>();
+
+    /**
+     * One recorded exchange.
+     *
+     * @param scenario    "auth.feature:12", or null outside any scenario.
+     * @param sequence    Position among the scenario's exchanges.
+     * @param request     Method and path template, e.g. "GET /booking/{id}" — for reading the cassette.
+     * @param fingerprint Hash of the normalized request.
+     * @param body        Response body, normalized.
+     * @param micros      How long the server took to answer.
+     */
+    record Entry(String scenario, int sequence, String request, String fingerprint, int status,
+                 String contentType, String body, long micros) {
+    }
+
+    /** One scenario's view of the cassette, on the scenario's thread and the async calls it makes. */
+    private static final class Scope {
+
+        private final String scenario;
+        private final CassetteNormalizer normalizer;
+        private final AtomicInteger sequence = new AtomicInteger();
+        private final Map<String, Deque<Entry>> remaining = new HashMap<>();
+
+        Scope(String scenario, CassetteNormalizer normalizer, List<Entry> recorded) {
+            this.scenario = scenario;
+            this.normalizer = normalizer;
+            for (Entry entry : recorded) {
+                remaining.computeIfAbsent(entry.fingerprint(), key -> new ArrayDeque<>()).add(entry);
+            }
+        }
+
+        synchronized Entry next(String fingerprint) {
+            Deque<Entry> entries = remaining.get(fingerprint);
+            return entries == null ? null : entries.poll();
+        }
+    }
+
+    private HttpCassette() {
+        ConfigManager config = ConfigManager.getInstance();
+        mode = Mode.parse(config.getHttpCassetteMode());
+        directory = Path.of(config.getHttpCassetteDir());
+        replayLatency = config.isHttpCassetteReplayLatency();
+        if (mode == Mode.REPLAY) {
+            load();
+        }
+    }
+
+    public static HttpCassette getInstance() {
+        HttpCassette local = instance;
+        if (local == null) {
+            synchronized (HttpCassette.class) {
+                local = instance;
+                if (local == null) {
+                    local = new HttpCassette();
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    /** Attributes this thread's requests to the scenario until endScenario(). */
+    public void startScenario(URI featureUri, int line) {
+        if (mode == Mode.OFF) {
+            return;
+        }
+        String feature = Path.of(featureUri.getSchemeSpecificPart()).getFileName().toString();
+        String scenario = feature + ":" + line;
+        scope.set(new Scope(scenario, newNormalizer(), byScenario.getOrDefault(scenario, List.of())));
+    }
+
+    public void endScenario() {
+        scope.remove();
+    }
+
+    /** The call, made in this thread's scenario on whichever thread runs it (see AsyncHttp). */
+    Supplier<Response> inCurrentScenario(Supplier<Response> call) {
+        Scope current = scope.get();
+        if (mode == Mode.OFF || current == null) {
+            return call;
+        }
+        return () -> {
+            Scope previous = scope.get();
+            scope.set(current);
+            try {
+                return call.get();
+            } finally {
+                scope.set(previous);
+            }
+        };
+    }
+
+    /** CassetteFilter's work: records the exchange, or answers it from the cassette. */
+    Response exchange(FilterableRequestSpecification request, FilterableResponseSpecification responseSpec,
+                      FilterContext ctx) {
+        Scope current = scope.get();
+        if (current == null) {
+            // Shared requests are independent of each other, so each gets its own placeholders
+            current = new Scope(null, newNormalizer(), List.of());
+        }
+        String summary = request.getMethod() + " " + request.getUserDefinedPath();
+        String fingerprint = fingerprint(request, current.normalizer);
+        if (mode == Mode.RECORD) {
+            long start = System.nanoTime();
+            Response response = ctx.next(request, responseSpec);
+            long micros = (System.nanoTime() - start) / 1000;
+            String body = response.getBody().asString();
+            issued.addAll(CassetteNormalizer.issuedValues(body));
+            recorded.computeIfAbsent(current.scenario == null ? "" : current.scenario,
+                    key -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(new Entry(current.scenario, current.sequence.incrementAndGet(), summary, fingerprint,
+                            response.getStatusCode(), response.getContentType(), current.normalizer.normalize(body), micros));
+            return response;
+        }
+        Entry entry = current.next(fingerprint);
+        if (entry == null) {
+            entry = byFingerprint.get(fingerprint);
+        }
+        if (entry == null) {
+            throw new IllegalStateException("No recorded response for " + summary
+                    + (current.scenario == null ? "" : " in " + current.scenario) + " (fingerprint " + fingerprint
+                    + ") — record the cassettes again with -Dhttp.cassette.mode=record");
+        }
+        if (replayLatency) {
+            LockSupport.parkNanos(entry.micros() * 1000);
+        }
+        ResponseBuilder response = new ResponseBuilder()
+                .setStatusCode(entry.status())
+                .setStatusLine("HTTP/1.1 " + entry.status())
+                .setBody(current.normalizer.restore(entry.body()));
+        if (entry.contentType() != null && !entry.contentType().isEmpty()) {
+            response.setContentType(entry.contentType());
+        }
+        return response.build();
+    }
+
+    /**
+     * Writes the exchanges recorded in this run. Scenarios that did not run keep their earlier
+     * recordings.
+     *
+     * @return The number of exchanges written.
+     */
+    public int save() throws IOException {
+        Files.createDirectories(directory);
+        Map<String, List<Entry>> byFile = new TreeMap<>();
+        recorded.forEach((scenario, entries) -> byFile
+                .computeIfAbsent(fileFor(scenario), key -> new ArrayList<>())
+                .addAll(entries));
+        int written = 0;
+        for (Map.Entry<String, List<Entry>> file : byFile.entrySet()) {
+            Path path = directory.resolve(file.getKey() + EXTENSION);
+            List<Entry> entries = file.getKey().equals(SHARED)
+                    ? mergeShared(read(path), file.getValue())
+                    : mergeScenarios(read(path), file.getValue());
+            write(path, entries);
+            written += file.getValue().size();
+        }
+        return written;
+    }
+
+    /** Scenarios recorded now replace their earlier recordings; the others stay. */
+    private static List<Entry> mergeScenarios(List<Entry> existing, List<Entry> recordedNow) {
+        Set<String> rerecorded = ConcurrentHashMap.newKeySet();
+        recordedNow.forEach(entry -> rerecorded.add(entry.scenario()));
+        List<Entry> merged = new ArrayList<>(existing.stream().filter(entry -> !rerecorded.contains(entry.scenario())).toList());
+        merged.addAll(recordedNow);
+        merged.sort(Comparator.comparingInt((Entry entry) -> line(entry.scenario())).thenComparingInt(Entry::sequence));
+        return merged;
+    }
+
+    /** One exchange per fingerprint: requests outside scenarios are answered by fingerprint alone. */
+    private static List<Entry> mergeShared(List<Entry> existing, List<Entry> recordedNow) {
+        Map<String, Entry> merged = new LinkedHashMap<>();
+        recordedNow.forEach(entry -> merged.putIfAbsent(entry.fingerprint(), entry));
+        existing.forEach(entry -> merged.putIfAbsent(entry.fingerprint(), entry));
+        List<Entry> sorted = new ArrayList<>();
+        int sequence = 0;
+        for (Entry entry : merged.values().stream().sorted(Comparator.comparing(Entry::request)
+                .thenComparing(Entry::fingerprint)).toList()) {
+            sorted.add(new Entry(null, ++sequence, entry.request(), entry.fingerprint(), entry.status(),
+                    entry.contentType(), entry.body(), entry.micros()));
+        }
+        return sorted;
+    }
+
+    private void load() {
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalStateException("No cassettes in " + directory.toAbsolutePath()
+                    + " — record them first with -Dhttp.cassette.mode=record");
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> path.getFileName().toString().endsWith(EXTENSION)).sorted().toList()) {
+                for (Entry entry : read(file)) {
+                    if (entry.scenario() != null) {
+                        byScenario.computeIfAbsent(entry.scenario(), key -> new ArrayList<>()).add(entry);
+                    }
+                    byFingerprint.putIfAbsent(entry.fingerprint(), entry);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read the cassettes in " + directory.toAbsolutePath(), ex);
+        }
+    }
+
+    private static List<Entry> read(Path file) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return entries;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    entries.add(mapper.readValue(line, Entry.class));
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static void write(Path file, List<Entry> entries) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(file)), StandardCharsets.UTF_8))) {
+            for (Entry entry : entries) {
+                writer.write(mapper.writeValueAsString(entry));
+                writer.newLine();
+            }
+        }
+    }
+
+    private String fingerprint(FilterableRequestSpecification request, CassetteNormalizer normalizer) {
+        StringBuilder canonical = new StringBuilder(request.getMethod()).append(' ').append(request.getUserDefinedPath());
+        new TreeMap<>(request.getNamedPathParams()).forEach((name, value) -> canonical.append(" {").append(name).append("}=")
+                .append(normalizer.issuedOrLiteral(CassetteNormalizer.BOOKING_ID, value)));
+        request.getUnnamedPathParamValues().forEach(value -> canonical.append(" {}=")
+                .append(normalizer.issuedOrLiteral(CassetteNormalizer.BOOKING_ID, String.valueOf(value))));
+        new TreeMap<>(request.getQueryParams()).forEach((name, value) -> canonical.append(" ?").append(name).append('=').append(value));
+        String cookie = request.getHeaders().getValue("Cookie");
+        if (cookie != null) {
+            canonical.append(" cookie=").append(cookie.startsWith("token=")
+                    ? "token=" + normalizer.issuedOrLiteral(CassetteNormalizer.TOKEN, cookie.substring("token=".length()))
+                    : cookie);
+        }
+        String authorization = request.getHeaders().getValue("Authorization");
+        if (authorization != null) {
+            canonical.append(" authorization=").append(authorization);
+        }
+        Object body = request.getBody();
+        if (body != null) {
+            canonical.append(' ').append(normalizer.canonical(body instanceof byte[] bytes
+                    ? new String(bytes, StandardCharsets.UTF_8) : body.toString()));
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash).substring(0, FINGERPRINT_CHARS);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private CassetteNormalizer newNormalizer() {
+        return new CassetteNormalizer(issued::contains, this::invent);
+    }
+
+    /** A value for a placeholder the replaying scenario meets first in a response, e.g. a new booking's ID. */
+    private JsonNode invent(String kind) {
+        JsonNode value = switch (kind) {
+            case CassetteNormalizer.TOKEN -> JsonNodeFactory.instance.textNode(
+                    Long.toHexString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE));
+            case "date" -> JsonNodeFactory.instance.textNode(LocalDate.now().plusDays(inventedIds.incrementAndGet() % 365).toString());
+            default -> JsonNodeFactory.instance.numberNode(inventedIds.incrementAndGet());
+        };
+        issued.add(kind + ":" + value.asText());
+        return value;
+    }
+
+    private static String fileFor(String scenario) {
+        return scenario.isEmpty() ? SHARED : scenario.substring(0, scenario.lastIndexOf(':'));
+    }
+
+    private static int line(String scenario) {
+        return Integer.parseInt(scenario.substring(scenario.lastIndexOf(':') + 1));
+    }
+}
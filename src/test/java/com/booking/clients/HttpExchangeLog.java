@@ -0,0 +1,146 @@
+package com.booking.clients;
+
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Per-scenario ring buffer of HTTP exchanges, filled by HttpLoggingFilter.
+ *
+ * In "on-failure" mode (the default) each exchange is stored as raw references — method,
+ * URI, headers, body object and the already-buffered Response — and nothing is formatted.
+ * Only when a scenario fails does Hooks call drain() to render the buffered exchanges for
+ * the Allure report and the console. A passing scenario therefore pays for a few object
+ * references instead of formatting and writing every request to stdout.
+ *
+ * Cucumber runs each scenario on a single thread, so the buffer is a ThreadLocal: parallel
+ * scenarios never share it. startScenario() gives the thread a fresh buffer for each scenario.
+ * Requests a scenario hands to other threads (the *Async client methods, RepeatedCalls) carry
+ * the scenario's buffer with them through inCurrentScenario(), so their exchanges appear in
+ * its failure log too; the buffer is locked only for those few shared appends.
+ */
+public final class HttpExchangeLog {
+
+    public enum Mode {
+        ON_FAILURE, ALWAYS, OFF;
+
+        static Mode parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+            } catch (IllegalArgumentException ex) {
+                throw new RuntimeException("Unknown http.log.mode '" + value
+                        + "' — expected on-failure, always or off", ex);
+            }
+        }
+    }
+
+    private static final ThreadLocal<Buffer> BUFFER = ThreadLocal.withInitial(Buffer::new);
+
+    private HttpExchangeLog() {
+        // Utility class — not instantiable
+    }
+
+    /** Starts an empty buffer for this thread, so nothing from the previous scenario is kept. */
+    public static void startScenario() {
+        BUFFER.set(new Buffer());
+    }
+
+    /**
+     * The call, logging into this thread's buffer on whichever thread runs it, so a scenario's
+     * failure log includes the requests it sent from a thread pool.
+     */
+    public static <T> Supplier<T> inCurrentScenario(Supplier<T> call) {
+        Buffer scenario = BUFFER.get();
+        return () -> {
+            Buffer previous = BUFFER.get();
+            BUFFER.set(scenario);
+            try {
+                return call.get();
+            } finally {
+                BUFFER.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Renders and clears the exchanges buffered on this thread, oldest first.
+     *
+     * @param maxBodyChars Bodies longer than this are truncated.
+     * @return The formatted log, or an empty string if nothing was recorded.
+     */
+    public static String drain(int maxBodyChars) {
+        StringBuilder out = new StringBuilder();
+        for (Exchange exchange : BUFFER.get().drain()) {
+            out.append(exchange.format(maxBodyChars)).append('\n');
+        }
+        return out.toString();
+    }
+
+    static void record(Exchange exchange, int capacity) {
+        BUFFER.get().add(exchange, capacity);
+    }
+
+    /** One scenario's most recent exchanges. */
+    private static final class Buffer {
+
+        private final Deque<Exchange> exchanges = new ArrayDeque<>();
+
+        synchronized void add(Exchange exchange, int capacity) {
+            while (exchanges.size() >= capacity) {
+                exchanges.pollFirst();
+            }
+            exchanges.addLast(exchange);
+        }
+
+        synchronized List<Exchange> drain() {
+            List<Exchange> drained = List.copyOf(exchanges);
+            exchanges.clear();
+            return drained;
+        }
+    }
+
+    /**
+     * One request/response pair. Either response or failure is set.
+     */
+    record Exchange(String method, String uri, Headers requestHeaders, Object requestBody,
+                    Response response, Throwable failure) {
+
+        String format(int maxBodyChars) {
+            StringBuilder out = new StringBuilder();
+            out.append("--> ").append(method).append(' ').append(uri).append('\n');
+            requestHeaders.forEach(header -> appendHeader(out, header));
+            if (requestBody != null) {
+                out.append(truncate(String.valueOf(requestBody), maxBodyChars)).append('\n');
+            }
+            if (response != null) {
+                out.append("<-- ").append(response.getStatusLine())
+                        .append(" (").append(response.getTimeIn(TimeUnit.MILLISECONDS)).append(" ms)\n");
+                response.getHeaders().forEach(header -> appendHeader(out, header));
+                String body = response.getBody().asPrettyString();
+                if (!body.isEmpty()) {
+                    out.append(truncate(body, maxBodyChars)).append('\n');
+                }
+            } else if (failure != null) {
+                out.append("<-- FAILED ").append(failure).append('\n');
+            }
+            return out.toString();
+        }
+
+        private static void appendHeader(StringBuilder out, Header header) {
+            out.append(header.getName()).append(": ").append(header.getValue()).append('\n');
+        }
+
+        private static String truncate(String text, int maxChars) {
+            return text.length() <= maxChars
+                    ? text
+                    : text.substring(0, maxChars) + "... [" + (text.length() - maxChars) + " more chars]";
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.booking.clients;
+
+import com.booking.config.ConfigManager;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Replaces the hardwired .log().all() on the client specifications.
+ * Behaviour is chosen per environment by http.log.mode (see HttpExchangeLog.Mode):
+ *   on-failure — record into the scenario's HttpExchangeLog ring buffer, format nothing
+ *   always     — format and print every exchange immediately (the previous behaviour)
+ *   off        — no logging at all
+ */
+class HttpLoggingFilter implements Filter {
+
+    private final HttpExchangeLog.Mode mode;
+    private final int bufferSize;
+    private final int maxBodyChars;
+
+    HttpLoggingFilter() {
+        ConfigManager config = ConfigManager.getInstance();
+        this.mode = HttpExchangeLog.Mode.parse(config.getHttpLogMode());
+        this.bufferSize = config.getHttpLogBufferSize();
+        this.maxBodyChars = config.getHttpLogMaxBodyChars();
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (mode == HttpExchangeLog.Mode.OFF) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        Response response = null;
+        Throwable failure = null;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+            return response;
+        } catch (Exception ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            HttpExchangeLog.Exchange exchange = new HttpExchangeLog.Exchange(
+                    requestSpec.getMethod(), requestSpec.getURI(), requestSpec.getHeaders(),
+                    requestSpec.getBody(), response, failure);
+            if (mode == HttpExchangeLog.Mode.ALWAYS) {
+                System.out.println(exchange.format(maxBodyChars));
+            } else {
+                HttpExchangeLog.record(exchange, bufferSize);
+            }
+        }
+    }
+}
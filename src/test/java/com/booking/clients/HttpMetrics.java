@@ -0,0 +1,269 @@
+package com.booking.clients;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide per-endpoint HTTP metrics, fed by HttpMetricsFilter on every client request.
+ *
+ * Requests are grouped by logical endpoint — the HTTP method plus the path template as the
+ * client wrote it (ApiEndpoints.BOOKING_BY_ID_PATH stays "/booking/{id}" whatever the ID) —
+ * so each endpoint has one latency histogram, one count per status code and byte totals.
+ * A request that fails below HTTP is counted under status "error".
+ *
+ * export() writes the metrics in the two formats Allure already exports, so the same
+ * Grafana pipeline can read them:
+ *   prometheusData.txt — Prometheus text exposition format
+ *   influxDbData.txt   — InfluxDB line protocol, timestamped at export time
+ * When RequestThrottle is enabled its wait times are exported alongside, so a dashboard can
+ * separate time lost to the suite's own rate limit from time spent waiting on the server.
+ */
+public final class HttpMetrics {
+
+    private static final HttpMetrics INSTANCE = new HttpMetrics();
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final double[] QUANTILES = {0.5, 0.9, 0.95, 0.99};
+
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+
+    private HttpMetrics() {
+    }
+
+    public static HttpMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param method        HTTP method, e.g. "GET".
+     * @param endpoint      Path template, e.g. "/booking/{id}".
+     * @param status        Status code, or "error" for a transport failure.
+     * @param durationNanos Time from sending the request to having read the whole response.
+     */
+    void record(String method, String endpoint, String status, long durationNanos,
+                long requestBytes, long responseBytes) {
+        endpoints.computeIfAbsent(method + " " + endpoint, key -> new EndpointMetrics(method, endpoint))
+                .record(status, durationNanos, requestBytes, responseBytes);
+    }
+
+    /** True if no request has been recorded yet. */
+    public boolean isEmpty() {
+        return endpoints.isEmpty();
+    }
+
+    /**
+     * Copies every endpoint's latency histogram and status counts as they are now, keyed by
+     * "METHOD /path/template". Snapshot.since() of two snapshots gives the requests made between
+     * them, e.g. in one soak window.
+     */
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> snapshot = new TreeMap<>();
+        endpoints.forEach((key, metrics) -> snapshot.put(key,
+                new Snapshot(metrics.latencyMicros.copy(), metrics.statusCounts())));
+        return snapshot;
+    }
+
+    /**
+     * One endpoint's metrics at a point in time, or over a period (see since()).
+     *
+     * @param latencyMicros Request latencies in microseconds; a copy, safe to keep.
+     * @param statusCounts  Requests per status code, "error" for transport failures.
+     */
+    public record Snapshot(Histogram latencyMicros, Map<String, Long> statusCounts) {
+
+        /** The requests recorded after the earlier snapshot of the same endpoint (null = since the start). */
+        public Snapshot since(Snapshot earlier) {
+            if (earlier == null) {
+                return this;
+            }
+            Histogram latency = latencyMicros.copy();
+            latency.subtract(earlier.latencyMicros);
+            Map<String, Long> statuses = new TreeMap<>(statusCounts);
+            earlier.statusCounts.forEach((status, count) -> statuses.merge(status, -count, Long::sum));
+            return new Snapshot(latency, statuses);
+        }
+
+        public long count() {
+            return latencyMicros.getTotalCount();
+        }
+
+        public double millisAt(double percentile) {
+            return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        /** 5xx answers and transport failures: failures of the server, not of a negative test's input. */
+        public long serverErrors() {
+            return statusCounts.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith("5") || entry.getKey().equals("error"))
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+        }
+    }
+
+    /** Writes prometheusData.txt and influxDbData.txt into the directory, replacing earlier exports. */
+    public void export(Path directory) throws IOException {
+        Map<String, EndpointMetrics> sorted = new TreeMap<>(endpoints);
+        Files.createDirectories(directory);
+        RequestThrottle.Stats throttle = RequestThrottle.getInstance().isEnabled()
+                ? RequestThrottle.getInstance().stats() : null;
+        Instant now = Instant.now();
+        Files.writeString(directory.resolve("prometheusData.txt"), toPrometheus(sorted) + throttleToPrometheus(throttle));
+        Files.writeString(directory.resolve("influxDbData.txt"), toInflux(sorted, now) + throttleToInflux(throttle, now));
+    }
+
+    private static String toPrometheus(Map<String, EndpointMetrics> endpoints) {
+        StringBuilder out = new StringBuilder();
+        out.append("# TYPE http_client_requests_total counter\n");
+        endpoints.values().forEach(metrics -> metrics.statusCounts().forEach((status, count) ->
+                out.append("http_client_requests_total{").append(metrics.labels())
+                        .append(",status=\"").append(status).append("\"} ").append(count).append('\n')));
+
+        out.append("# TYPE http_client_request_duration_ms summary\n");
+        for (EndpointMetrics metrics : endpoints.values()) {
+            for (double quantile : QUANTILES) {
+                out.append("http_client_request_duration_ms{").append(metrics.labels())
+                        .append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(format(metrics.millisAt(quantile * 100))).append('\n');
+            }
+            out.append("http_client_request_duration_ms_sum{").append(metrics.labels()).append("} ")
+                    .append(format(metrics.sumMillis())).append('\n');
+            out.append("http_client_request_duration_ms_count{").append(metrics.labels()).append("} ")
+                    .append(metrics.count()).append('\n');
+        }
+
+        out.append("# TYPE http_client_request_duration_ms_max gauge\n");
+        endpoints.values().forEach(metrics -> out.append("http_client_request_duration_ms_max{")
+                .append(metrics.labels()).append("} ").append(format(metrics.maxMillis())).append('\n'));
+        out.append("# TYPE http_client_request_bytes_total counter\n");
+        endpoints.values().forEach(metrics -> out.append("http_client_request_bytes_total{")
+                .append(metrics.labels()).append("} ").append(metrics.requestBytes.sum()).append('\n'));
+        out.append("# TYPE http_client_response_bytes_total counter\n");
+        endpoints.values().forEach(metrics -> out.append("http_client_response_bytes_total{")
+                .append(metrics.labels()).append("} ").append(metrics.responseBytes.sum()).append('\n'));
+        return out.toString();
+    }
+
+    private static String throttleToPrometheus(RequestThrottle.Stats throttle) {
+        if (throttle == null) {
+            return "";
+        }
+        return "# TYPE http_client_throttle_requests_total counter\n"
+                + "http_client_throttle_requests_total " + throttle.requests() + '\n'
+                + "# TYPE http_client_throttle_throttled_total counter\n"
+                + "http_client_throttle_throttled_total " + throttle.throttled() + '\n'
+                + "# TYPE http_client_throttle_wait_ms summary\n"
+                + "http_client_throttle_wait_ms{quantile=\"0.5\"} " + format(throttle.p50WaitMillis()) + '\n'
+                + "http_client_throttle_wait_ms{quantile=\"0.99\"} " + format(throttle.p99WaitMillis()) + '\n'
+                + "http_client_throttle_wait_ms_sum " + format(throttle.totalWaitMillis()) + '\n'
+                + "http_client_throttle_wait_ms_count " + throttle.requests() + '\n'
+                + "# TYPE http_client_throttle_wait_ms_max gauge\n"
+                + "http_client_throttle_wait_ms_max " + format(throttle.maxWaitMillis()) + '\n';
+    }
+
+    private static String throttleToInflux(RequestThrottle.Stats throttle, Instant now) {
+        if (throttle == null) {
+            return "";
+        }
+        long timestamp = TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+        return "http_client_throttle requests=" + throttle.requests()
+                + ",throttled=" + throttle.throttled()
+                + ",wait_p50=" + format(throttle.p50WaitMillis())
+                + ",wait_p99=" + format(throttle.p99WaitMillis())
+                + ",wait_max=" + format(throttle.maxWaitMillis())
+                + ",wait_total=" + format(throttle.totalWaitMillis())
+                + ' ' + timestamp + '\n';
+    }
+
+    private static String toInflux(Map<String, EndpointMetrics> endpoints, Instant now) {
+        long timestamp = TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+        StringBuilder out = new StringBuilder();
+        for (EndpointMetrics metrics : endpoints.values()) {
+            String tags = "method=" + escapeTag(metrics.method) + ",endpoint=" + escapeTag(metrics.endpoint);
+            out.append("http_client_request,").append(tags)
+                    .append(" count=").append(metrics.count())
+                    .append(",p50=").append(format(metrics.millisAt(50)))
+                    .append(",p90=").append(format(metrics.millisAt(90)))
+                    .append(",p95=").append(format(metrics.millisAt(95)))
+                    .append(",p99=").append(format(metrics.millisAt(99)))
+                    .append(",max=").append(format(metrics.maxMillis()))
+                    .append(",mean=").append(format(metrics.count() == 0 ? 0 : metrics.sumMillis() / metrics.count()))
+                    .append(",request_bytes=").append(metrics.requestBytes.sum())
+                    .append(",response_bytes=").append(metrics.responseBytes.sum())
+                    .append(' ').append(timestamp).append('\n');
+            metrics.statusCounts().forEach((status, count) -> out.append("http_client_status,").append(tags)
+                    .append(",status=").append(status).append(" count=").append(count)
+                    .append(' ').append(timestamp).append('\n'));
+        }
+        return out.toString();
+    }
+
+    private static String format(double millis) {
+        return String.format(Locale.ROOT, "%.3f", millis);
+    }
+
+    // Line protocol tag values must escape commas, spaces and equals signs
+    private static String escapeTag(String value) {
+        return value.replace(",", "\\,").replace(" ", "\\ ").replace("=", "\\=");
+    }
+
+    private static final class EndpointMetrics {
+
+        private final String method;
+        private final String endpoint;
+        private final Histogram latencyMicros = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+        private final LongAdder latencySumMicros = new LongAdder();
+        private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder requestBytes = new LongAdder();
+        private final LongAdder responseBytes = new LongAdder();
+
+        EndpointMetrics(String method, String endpoint) {
+            this.method = method;
+            this.endpoint = endpoint;
+        }
+
+        void record(String status, long durationNanos, long requestBytes, long responseBytes) {
+            long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(durationNanos), MAX_TRACKABLE_MICROS);
+            latencyMicros.recordValue(micros);
+            latencySumMicros.add(micros);
+            statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+            this.requestBytes.add(requestBytes);
+            this.responseBytes.add(responseBytes);
+        }
+
+        String labels() {
+            return "method=\"" + method + "\",endpoint=\"" + endpoint + "\"";
+        }
+
+        long count() {
+            return latencyMicros.getTotalCount();
+        }
+
+        double millisAt(double percentile) {
+            return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        double maxMillis() {
+            return latencyMicros.getMaxValue() / 1000.0;
+        }
+
+        double sumMillis() {
+            return latencySumMicros.sum() / 1000.0;
+        }
+
+        Map<String, Long> statusCounts() {
+            Map<String, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.booking.clients;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Records the latency, status code and payload sizes of every request in HttpMetrics.
+ *
+ * Sits just before ConnectionReleaseFilter, so the measured time covers sending the request
+ * and reading the whole response body, but not the logging done by the filters before it.
+ * The endpoint is the path template the client passed (e.g. "/booking/{id}"), not the
+ * resolved URL, so every booking ID lands in the same histogram.
+ */
+class HttpMetricsFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String method = requestSpec.getMethod();
+        String endpoint = requestSpec.getUserDefinedPath();
+        long requestBytes = bodySize(requestSpec.getBody());
+        long start = System.nanoTime();
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            HttpMetrics.getInstance().record(method, endpoint, String.valueOf(response.getStatusCode()),
+                    System.nanoTime() - start, requestBytes, response.getBody().asByteArray().length);
+            return response;
+        } catch (Exception ex) {
+            // Rest-Assured rethrows checked IOExceptions undeclared, so catch broadly and rethrow as-is
+            HttpMetrics.getInstance().record(method, endpoint, "error", System.nanoTime() - start, requestBytes, 0);
+            throw ex;
+        }
+    }
+
+    private static long bodySize(Object body) {
+        if (body instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        return body == null ? 0 : body.toString().getBytes(StandardCharsets.UTF_8).length;
+    }
+}
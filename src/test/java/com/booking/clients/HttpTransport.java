@@ -0,0 +1,146 @@
+package com.booking.clients;
+
+import com.booking.config.ConfigManager;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import org.apache.http.HttpConnection;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.client.protocol.RequestAddCookies;
+import org.apache.http.client.protocol.ResponseProcessCookies;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.ExecutionContext;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide pooled HTTP transport underneath AuthClient and BookingClient.
+ *
+ * By default Rest-Assured builds a new HttpClient — and therefore a new TCP/TLS connection —
+ * for every request. This class instead hands Rest-Assured one shared, thread-safe
+ * DefaultHttpClient backed by a bounded keep-alive connection pool, so consecutive requests
+ * from any scenario thread reuse warm connections.
+ *
+ * Pool sizes and timeouts come from ConfigManager (http.pool.*, http.*.timeout.ms, http.keepalive.ms).
+ * Automatic cookie handling is removed from the shared client: auth is always sent as an
+ * explicit Cookie header, and a cookie jar shared across scenarios would leak tokens into
+ * the unauthenticated negative tests.
+ *
+ * HealthClient deliberately does not use this transport — it needs its own short timeouts.
+ */
+// Rest-Assured's httpClientFactory must return the legacy AbstractHttpClient, so the deprecated 4.x API is unavoidable
+@SuppressWarnings("deprecation")
+public final class HttpTransport {
+
+    private static volatile HttpTransport instance;
+
+    private final PoolingClientConnectionManager connectionManager;
+    private final DefaultHttpClient httpClient;
+    private final RestAssuredConfig restAssuredConfig;
+    private final LongAdder requestsSent = new LongAdder();
+    private final LongAdder connectionsOpened = new LongAdder();
+
+    private HttpTransport() {
+        ConfigManager config = ConfigManager.getInstance();
+
+        connectionManager = new PoolingClientConnectionManager();
+        connectionManager.setMaxTotal(config.getHttpPoolMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(config.getHttpPoolMaxPerRoute());
+
+        httpClient = new DefaultHttpClient(connectionManager);
+        HttpParams params = httpClient.getParams();
+        HttpConnectionParams.setConnectionTimeout(params, config.getHttpConnectTimeoutMillis());
+        HttpConnectionParams.setSoTimeout(params, config.getHttpReadTimeoutMillis());
+        HttpConnectionParams.setStaleCheckingEnabled(params, true);
+        // Bound the wait for a free pooled connection by the same connect timeout
+        params.setLongParameter(ClientPNames.CONN_MANAGER_TIMEOUT, config.getHttpConnectTimeoutMillis());
+
+        long keepAliveMillis = config.getHttpKeepAliveMillis();
+        httpClient.setKeepAliveStrategy((response, context) -> {
+            long serverHint = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverHint > 0 ? Math.min(serverHint, keepAliveMillis) : keepAliveMillis;
+        });
+
+        httpClient.removeRequestInterceptorByClass(RequestAddCookies.class);
+        httpClient.removeResponseInterceptorByClass(ResponseProcessCookies.class);
+
+        // A connection that has never carried a request is freshly opened; anything else is a pool hit
+        httpClient.addRequestInterceptor((request, context) -> {
+            requestsSent.increment();
+            Object connection = context.getAttribute(ExecutionContext.HTTP_CONNECTION);
+            if (connection instanceof HttpConnection http && http.getMetrics().getRequestCount() == 0) {
+                connectionsOpened.increment();
+            }
+        });
+
+        // Rest-Assured never opens the stream of an empty body (e.g. DELETE's 200 with Content-Length: 0),
+        // so the connection would never see EOF and stay leased. A non-streaming entity is released at once.
+        httpClient.addResponseInterceptor((response, context) -> {
+            HttpEntity entity = response.getEntity();
+            if (entity != null && entity.isStreaming() && entity.getContentLength() == 0) {
+                ByteArrayEntity empty = new ByteArrayEntity(new byte[0]);
+                empty.setContentType(entity.getContentType());
+                response.setEntity(empty);
+            }
+        });
+
+        restAssuredConfig = RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig()
+                .reuseHttpClientInstance()
+                .httpClientFactory(() -> httpClient));
+    }
+
+    public static HttpTransport getInstance() {
+        HttpTransport local = instance;
+        if (local == null) {
+            synchronized (HttpTransport.class) {
+                local = instance;
+                if (local == null) {
+                    local = new HttpTransport();
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /** Rest-Assured configuration that routes requests through the shared pooled client. */
+    public RestAssuredConfig restAssuredConfig() {
+        return restAssuredConfig;
+    }
+
+    /** Point-in-time pool and connection-reuse statistics. */
+    public Stats stats() {
+        PoolStats pool = connectionManager.getTotalStats();
+        return new Stats(requestsSent.sum(), connectionsOpened.sum(),
+                pool.getLeased(), pool.getAvailable(), pool.getPending(), pool.getMax());
+    }
+
+    /**
+     * @param requestsSent      HTTP requests written to the wire through the pool.
+     * @param connectionsOpened New TCP connections established (each one a fresh TLS handshake).
+     * @param leased            Connections currently in use.
+     * @param available         Idle keep-alive connections waiting in the pool.
+     * @param pending           Requests currently blocked waiting for a free connection.
+     * @param max               Configured pool ceiling.
+     */
+    public record Stats(long requestsSent, long connectionsOpened,
+                        int leased, int available, int pending, int max) {
+
+        /** Fraction of requests served on an already-open connection. */
+        public double reuseRatio() {
+            return requestsSent == 0 ? 0.0 : 1.0 - (double) connectionsOpened / requestsSent;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("requests=%d, connectionsOpened=%d, reuse=%.1f%%, leased=%d, available=%d, pending=%d, max=%d",
+                    requestsSent, connectionsOpened, reuseRatio() * 100, leased, available, pending, max);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.booking.clients;
+
+import com.booking.config.ConfigManager;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * Builds the base RequestSpecification shared by AuthClient and BookingClient.
+ *
+ * Every setting is applied to the specification itself, never to Rest-Assured's static
+ * RestAssured.* fields (baseURI, config, filters). Those statics are plain mutable globals,
+ * so a framework that relies on them cannot run scenarios on several threads safely.
+ * Each client receives its own specification built from an explicit RestAssuredConfig.
+ *
+ * The specifications are cheap; the expensive part — the HTTP connection — is shared through
+ * HttpTransport's keep-alive pool, whatever number of client instances the scenarios create.
+ *
+ * Every request also passes through, in order:
+ *   ThrottleFilter          — client-side rate limit shared by all requests (RequestThrottle)
+ *   TransportFailureFilter  — feeds HealthGate
+ *   HttpLoggingFilter       — buffered or immediate request/response logging (http.log.mode)
+ *   HttpMetricsFilter       — per-endpoint latency, status and byte counts (HttpMetrics)
+ *   ConnectionReleaseFilter — returns the pooled connection as soon as the response arrives
+ *   CassetteFilter          — records or replays the exchange, only when http.cassette.mode is not off (HttpCassette)
+ * In replay mode ThrottleFilter and HttpMetricsFilter are left out: no request reaches a server,
+ * so there is nothing to rate-limit, and replayed timings would pass for the server's.
+ */
+final class RequestSpecFactory {
+
+    private RequestSpecFactory() {
+        // Utility class — not instantiable
+    }
+
+    static RequestSpecification baseSpec() {
+        HttpCassette.Mode cassetteMode = HttpCassette.getInstance().mode();
+        boolean replay = cassetteMode == HttpCassette.Mode.REPLAY;
+        RequestSpecBuilder builder = new RequestSpecBuilder()
+                .setConfig(HttpTransport.getInstance().restAssuredConfig())
+                .setBaseUri(ConfigManager.getInstance().getBaseUrl())
+                .setContentType(ContentType.JSON);
+        if (!replay) {
+            builder.addFilter(new ThrottleFilter());
+        }
+        builder.addFilter(new TransportFailureFilter())
+                .addFilter(new HttpLoggingFilter());
+        if (!replay) {
+            builder.addFilter(new HttpMetricsFilter());
+        }
+        builder.addFilter(new ConnectionReleaseFilter());
+        if (cassetteMode != HttpCassette.Mode.OFF) {
+            builder.addFilter(new CassetteFilter());
+        }
+        return builder.build();
+    }
+}
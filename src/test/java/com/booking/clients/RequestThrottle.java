@@ -0,0 +1,126 @@
+package com.booking.clients;
+
+import com.booking.config.ConfigManager;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Process-wide client-side rate limit on every AuthClient and BookingClient request
+ * (throttle.rate.per.second, throttle.burst; a rate of 0 disables it).
+ *
+ * A token bucket in its GCRA form: the whole bucket is one AtomicLong holding the time at
+ * which the next request may start. Each request reserves its start time with a single
+ * compare-and-set — at the earliest when the previous reservation ends, but never earlier
+ * than "now minus the burst allowance" — and then parks until that time. After an idle period
+ * up to throttle.burst requests go straight through; beyond that requests are spaced
+ * 1/rate apart. There is no lock and no refill thread, so the limiter cannot itself become
+ * the bottleneck.
+ *
+ * Every wait is recorded, so a slow run can be told apart: waits here mean the suite was
+ * throttled by its own limit, 429/503 answers mean the server pushed back. The totals are
+ * printed by Hooks and exported with the HTTP metrics.
+ */
+public final class RequestThrottle {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static volatile RequestThrottle instance;
+
+    private final int ratePerSecond;
+    private final int burst;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong nextStartNanos;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final Histogram waitMicros = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+
+    private RequestThrottle() {
+        ConfigManager config = ConfigManager.getInstance();
+        ratePerSecond = config.getThrottleRatePerSecond();
+        burst = Math.max(1, config.getThrottleBurst());
+        intervalNanos = ratePerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / ratePerSecond : 0;
+        burstNanos = (burst - 1) * intervalNanos;
+        nextStartNanos = new AtomicLong(System.nanoTime() - burstNanos);
+    }
+
+    public static RequestThrottle getInstance() {
+        RequestThrottle local = instance;
+        if (local == null) {
+            synchronized (RequestThrottle.class) {
+                local = instance;
+                if (local == null) {
+                    local = new RequestThrottle();
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    public boolean isEnabled() {
+        return intervalNanos > 0;
+    }
+
+    /** Blocks the calling thread until the rate limit lets its request start. */
+    void acquire() {
+        if (!isEnabled()) {
+            return;
+        }
+        long now = System.nanoTime();
+        long start;
+        long previous;
+        do {
+            previous = nextStartNanos.get();
+            start = Math.max(previous, now - burstNanos);
+        } while (!nextStartNanos.compareAndSet(previous, start + intervalNanos));
+
+        requests.increment();
+        long waitNanos = start - now;
+        if (waitNanos <= 0) {
+            waitMicros.recordValue(0);
+            return;
+        }
+        throttled.increment();
+        totalWaitNanos.add(waitNanos);
+        waitMicros.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(waitNanos), MAX_TRACKABLE_MICROS));
+        for (long remaining = waitNanos; remaining > 0; remaining = start - System.nanoTime()) {
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("Interrupted while waiting for the request throttle");
+            }
+        }
+    }
+
+    /** Point-in-time throttling statistics. */
+    public Stats stats() {
+        Histogram snapshot = waitMicros.copy();
+        return new Stats(ratePerSecond, burst, requests.sum(), throttled.sum(),
+                snapshot.getValueAtPercentile(50) / 1000.0, snapshot.getValueAtPercentile(99) / 1000.0,
+                snapshot.getMaxValue() / 1000.0, totalWaitNanos.sum() / 1e6);
+    }
+
+    /**
+     * @param requests        Requests that passed through the limiter.
+     * @param throttled       Requests that had to wait.
+     * @param totalWaitMillis Time all requests together spent waiting for the limiter.
+     */
+    public record Stats(int ratePerSecond, int burst, long requests, long throttled,
+                        double p50WaitMillis, double p99WaitMillis, double maxWaitMillis, double totalWaitMillis) {
+
+        @Override
+        public String toString() {
+            if (ratePerSecond <= 0) {
+                return "off";
+            }
+            return String.format("rate=%d/s, burst=%d, requests=%d, throttled=%d, wait p50=%.1f ms, p99=%.1f ms, max=%.1f ms, total=%.1f s",
+                    ratePerSecond, burst, requests, throttled, p50WaitMillis, p99WaitMillis, maxWaitMillis,
+                    totalWaitMillis / 1000.0);
+        }
+    }
+}
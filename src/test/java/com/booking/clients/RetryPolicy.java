@@ -0,0 +1,226 @@
+package com.booking.clients;
+
+import com.booking.config.ConfigManager;
+import io.qameta.allure.Allure;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Run-wide retry policy for AuthClient and BookingClient (retry.* settings).
+ *
+ * The client picks a Rule per operation:
+ *   IDEMPOTENT — GET/PUT/DELETE (retry.idempotent.methods) and the cached-token login: retried
+ *                after a transport failure or a 502/503/504. A 500 is never retried — the API
+ *                answers some requests with a deterministic 500 that scenarios assert on.
+ *   CONFLICT   — POST /booking with a payload factory: retried after a 409 with a freshly
+ *                allocated room/date slot (retry.post.on.conflict). Never retried on transport
+ *                failures, since the first attempt may already have created the booking.
+ *   NONE       — sent once; used for everything a scenario sends deliberately (negative tests).
+ *
+ * Attempts are spaced by exponential backoff with full jitter, capped at retry.backoff.max.ms,
+ * and each call makes at most retry.max.attempts attempts. All retries in the run also draw on
+ * one shared budget (retry.budget): once it is spent calls are sent once, so a real outage
+ * fails fast instead of multiplying the load on a struggling environment and the run time.
+ *
+ * Every retry is recorded as an Allure step on the scenario that made it, and the run totals
+ * are printed by Hooks at the end of the run.
+ */
+public final class RetryPolicy {
+
+    public enum Rule { IDEMPOTENT, CONFLICT, NONE }
+
+    private static final Set<Integer> TRANSIENT_STATUSES = Set.of(502, 503, 504);
+    private static volatile RetryPolicy instance;
+
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final Set<String> idempotentMethods;
+    private final boolean retryPostOnConflict;
+    private final AtomicInteger budget;
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder recovered = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+    private final LongAdder budgetDenied = new LongAdder();
+
+    private RetryPolicy() {
+        ConfigManager config = ConfigManager.getInstance();
+        enabled = config.isRetryEnabled();
+        maxAttempts = Math.max(1, config.getRetryMaxAttempts());
+        initialBackoffMillis = config.getRetryBackoffInitialMillis();
+        maxBackoffMillis = config.getRetryBackoffMaxMillis();
+        idempotentMethods = Arrays.stream(config.getRetryIdempotentMethods().split(","))
+                .map(method -> method.trim().toUpperCase(Locale.ROOT))
+                .filter(method -> !method.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        retryPostOnConflict = config.isRetryPostOnConflict();
+        budget = new AtomicInteger(config.getRetryBudget());
+    }
+
+    public static RetryPolicy getInstance() {
+        RetryPolicy local = instance;
+        if (local == null) {
+            synchronized (RetryPolicy.class) {
+                local = instance;
+                if (local == null) {
+                    local = new RetryPolicy();
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /** IDEMPOTENT for the methods listed in retry.idempotent.methods, NONE for the rest. */
+    Rule ruleFor(String method) {
+        return idempotentMethods.contains(method) ? Rule.IDEMPOTENT : Rule.NONE;
+    }
+
+    /** CONFLICT if retry.post.on.conflict is set, NONE otherwise. */
+    Rule conflictRule() {
+        return retryPostOnConflict ? Rule.CONFLICT : Rule.NONE;
+    }
+
+    /**
+     * Sends the call, repeating it while the rule, the attempt limit and the run budget allow.
+     *
+     * @param operation Shown in the Allure step for each retry, e.g. "GET /booking/{id}".
+     * @param call      Sends one attempt; for CONFLICT it must build a fresh payload each time.
+     * @return The last attempt's response.
+     */
+    Response execute(String operation, Rule rule, Supplier<Response> call) {
+        if (!enabled || rule == Rule.NONE) {
+            return call.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            String reason;
+            try {
+                Response response = call.get();
+                reason = retryReason(rule, response);
+                if (reason == null || !mayRetry(attempt)) {
+                    recordOutcome(attempt, reason == null);
+                    return response;
+                }
+            } catch (Exception ex) {
+                // Rest-Assured rethrows checked IOExceptions undeclared, so catch broadly and rethrow as-is
+                if (rule != Rule.IDEMPOTENT || !isTransportFailure(ex) || !mayRetry(attempt)) {
+                    recordOutcome(attempt, false);
+                    throw ex;
+                }
+                reason = ex.getClass().getSimpleName();
+            }
+            long backoffMillis = backoffMillis(attempt);
+            retries.increment();
+            recordRetryStep(String.format("Retry %d/%d of %s after %s (backoff %d ms)",
+                    attempt, maxAttempts - 1, operation, reason, backoffMillis));
+            sleep(backoffMillis);
+        }
+    }
+
+    /**
+     * Ends this policy's run and returns its totals. The next getInstance() starts a new policy
+     * with a full retry.budget, so every pass of a JVM that runs the suite repeatedly
+     * (SoakRunner) gets the same budget instead of the first pass spending it for all of them.
+     */
+    public Stats close() {
+        synchronized (RetryPolicy.class) {
+            if (instance == this) {
+                instance = null;
+            }
+        }
+        return stats();
+    }
+
+    /** Totals for the run so far. */
+    public Stats stats() {
+        return new Stats(retries.sum(), recovered.sum(), exhausted.sum(), budgetDenied.sum(), Math.max(budget.get(), 0));
+    }
+
+    private static String retryReason(Rule rule, Response response) {
+        int status = response.getStatusCode();
+        boolean retry = rule == Rule.CONFLICT ? status == 409 : TRANSIENT_STATUSES.contains(status);
+        return retry ? "HTTP " + status : null;
+    }
+
+    /** True if another attempt is allowed, taking one unit of the run budget for it. */
+    private boolean mayRetry(int attempt) {
+        if (attempt >= maxAttempts) {
+            return false;
+        }
+        if (budget.getAndDecrement() <= 0) {
+            budget.incrementAndGet();
+            budgetDenied.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private void recordOutcome(int attempts, boolean succeeded) {
+        if (attempts == 1) {
+            return;
+        }
+        if (succeeded) {
+            recovered.increment();
+        } else {
+            exhausted.increment();
+        }
+    }
+
+    /** Full jitter: a uniform wait between 0 and the capped exponential backoff for this attempt. */
+    private long backoffMillis(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off before a retry", ex);
+        }
+    }
+
+    /** Background threads (booking pool, teardown queue) have no Allure test case to attach to. */
+    private static void recordRetryStep(String description) {
+        if (Allure.getLifecycle().getCurrentTestCaseOrStep().isPresent()) {
+            Allure.step(description);
+        }
+    }
+
+    private static boolean isTransportFailure(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param retries         Extra attempts sent.
+     * @param recovered       Calls that succeeded after at least one retry.
+     * @param exhausted       Calls that were retried and still failed.
+     * @param budgetDenied    Retries skipped because the run budget was spent.
+     * @param budgetRemaining Retries left in the run budget.
+     */
+    public record Stats(long retries, long recovered, long exhausted, long budgetDenied, int budgetRemaining) {
+
+        @Override
+        public String toString() {
+            return String.format("retries=%d, recovered=%d, exhausted=%d, budgetDenied=%d, budgetRemaining=%d",
+                    retries, recovered, exhausted, budgetDenied, budgetRemaining);
+        }
+    }
+}
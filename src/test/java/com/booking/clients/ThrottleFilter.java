@@ -0,0 +1,25 @@
+package com.booking.clients;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Holds every request until RequestThrottle lets it start.
+ *
+ * First in the chain, so the time spent waiting here is not counted as request latency by
+ * HttpMetricsFilter and is not logged as part of the exchange; RequestThrottle records it
+ * separately. Every retry attempt passes through it again.
+ */
+class ThrottleFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        RequestThrottle.getInstance().acquire();
+        return ctx.next(requestSpec, responseSpec);
+    }
+}
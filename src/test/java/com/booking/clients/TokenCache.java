@@ -0,0 +1,121 @@
+package com.booking.clients;
+
+import com.booking.dto.TokenRequest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Process-wide cache of auth tokens, keyed by credentials.
+ *
+ * - A token is reused until its TTL minus the refresh margin has elapsed, then exactly one
+ *   caller logs in again before the server-side expiry is reached.
+ * - Single-flight: while a login is in progress, every other caller for the same credentials
+ *   waits on that one CompletableFuture instead of issuing its own POST /auth/login.
+ * - A failed login is never cached; the next caller retries.
+ * - invalidate(token) evicts a token the server has rejected (see AuthTokenInvalidationFilter).
+ */
+final class TokenCache {
+
+    private static final Map<TokenRequest, CompletableFuture<CachedToken>> TOKENS = new ConcurrentHashMap<>();
+
+    private TokenCache() {
+        // Utility class — not instantiable
+    }
+
+    /**
+     * Returns a cached token for the credentials, logging in via the supplied function when
+     * no usable token exists.
+     *
+     * @param credentials The username/password pair used as the cache key.
+     * @param ttl         How long the server honours a token.
+     * @param margin      How long before expiry the token is proactively refreshed.
+     * @param login       Performs the actual login and returns the raw token value.
+     */
+    static String getToken(TokenRequest credentials, Duration ttl, Duration margin,
+                           Function<TokenRequest, String> login) {
+        if (ttl.compareTo(margin) <= 0) {
+            throw new IllegalArgumentException("Token TTL " + ttl + " must be longer than the refresh margin " + margin);
+        }
+        TokenRequest key = copyOf(credentials);
+        while (true) {
+            CompletableFuture<CachedToken> mine = new CompletableFuture<>();
+            CompletableFuture<CachedToken> current = TOKENS.compute(key,
+                    (k, existing) -> isUsable(existing) || isInFlight(existing) ? existing : mine);
+
+            if (current == mine) {
+                try {
+                    String token = login.apply(key);
+                    mine.complete(new CachedToken(token, Instant.now().plus(ttl).minus(margin)));
+                } catch (Exception ex) {
+                    // Rest-Assured rethrows checked IOExceptions undeclared, so catch broadly: a future
+                    // left unfinished would block every later caller for these credentials in join()
+                    RuntimeException failure = unchecked(ex);
+                    TOKENS.remove(key, mine);
+                    mine.completeExceptionally(failure);
+                    throw failure;
+                }
+            }
+
+            try {
+                CachedToken cached = current.join();
+                if (cached.isFresh()) {
+                    return cached.value();
+                }
+                // Token aged out between join() and here — loop and let one caller refresh it
+            } catch (CompletionException ex) {
+                // Another caller's login failed; surface the same failure rather than stampeding
+                throw ex.getCause() instanceof RuntimeException runtime ? runtime : ex;
+            }
+        }
+    }
+
+    /**
+     * Evicts every cache entry holding the given token value.
+     * Called when the server answers 401/403 to a request that carried a cached token.
+     */
+    static void invalidate(String token) {
+        TOKENS.values().removeIf(future -> future.isDone()
+                && !future.isCompletedExceptionally()
+                && future.join().value().equals(token));
+    }
+
+    private static RuntimeException unchecked(Exception ex) {
+        if (ex instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        return ex instanceof IOException io
+                ? new UncheckedIOException("Login failed", io)
+                : new IllegalStateException("Login failed", ex);
+    }
+
+    private static boolean isUsable(CompletableFuture<CachedToken> future) {
+        return future != null && future.isDone() && !future.isCompletedExceptionally() && future.join().isFresh();
+    }
+
+    private static boolean isInFlight(CompletableFuture<CachedToken> future) {
+        return future != null && !future.isDone();
+    }
+
+    // TokenRequest is a mutable Lombok @Data DTO, so the key is a defensive copy
+    private static TokenRequest copyOf(TokenRequest credentials) {
+        return TokenRequest.builder()
+                .username(credentials.getUsername())
+                .password(credentials.getPassword())
+                .build();
+    }
+
+    private record CachedToken(String value, Instant refreshAt) {
+
+        boolean isFresh() {
+            return Instant.now().isBefore(refreshAt);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.booking.clients;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.IOException;
+
+/**
+ * Reports transport-level outcomes of every client request to HealthGate.
+ * Any HTTP response (including 4xx/5xx) proves the host is reachable and resets the failure
+ * streak; an IOException anywhere in the cause chain counts towards the re-probe threshold.
+ */
+class TransportFailureFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            HealthGate.getInstance().recordResponse();
+            return response;
+        } catch (Exception ex) {
+            // Rest-Assured rethrows checked IOExceptions undeclared, so catch broadly and rethrow as-is
+            if (isTransportFailure(ex)) {
+                HealthGate.getInstance().recordTransportFailure();
+            }
+            throw ex;
+        }
+    }
+
+    private static boolean isTransportFailure(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
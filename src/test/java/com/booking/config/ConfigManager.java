@@ -1,5 +1,7 @@
 package com.booking.config;
 
+import com.booking.stub.StubServer;
+
 import java.io.InputStream;
 import java.util.Properties;
 
@@ -9,14 +11,23 @@ import java.util.Properties;
  * The target environment is controlled via the Maven system property: -Denv=test (default)
  *
  * Usage: ConfigManager.getInstance().getBaseUrl()
+ *
+ * With -Denv=local (stub.enabled=true) the base URL points at the in-process StubServer,
+ * which is started on first use.
+ *
+ * Safe for parallel scenarios: the instance is published through a volatile field with
+ * double-checked locking, so threads only synchronise on the very first call, and the
+ * Properties are never modified after construction.
  */
 public class ConfigManager {
 
-    private static ConfigManager instance;
+    private static volatile ConfigManager instance;
     private final Properties properties = new Properties();
+    private final String environmentName;
 
     private ConfigManager() {
         String env = System.getProperty("env", "test");
+        environmentName = env;
         String configFile = "config/" + env + ".properties";
 
         try (InputStream input = getClass().getClassLoader().getResourceAsStream(configFile)) {
@@ -31,14 +42,34 @@ public class ConfigManager {
         }
     }
 
-    public static synchronized ConfigManager getInstance() {
-        if (instance == null) {
-            instance = new ConfigManager();
+    public static ConfigManager getInstance() {
+        ConfigManager local = instance;
+        if (local == null) {
+            synchronized (ConfigManager.class) {
+                local = instance;
+                if (local == null) {
+                    local = new ConfigManager();
+                    instance = local;
+                }
+            }
         }
-        return instance;
+        return local;
+    }
+
+    /** The -Denv value this run loaded its properties for, e.g. "test". */
+    public String getEnvironmentName() {
+        return environmentName;
+    }
+
+    /** base.url exactly as configured; unlike getBaseUrl() it never starts the stub server. */
+    public String getConfiguredBaseUrl() {
+        return properties.getProperty("base.url");
     }
 
     public String getBaseUrl() {
+        if (isStubEnabled()) {
+            return StubServer.getInstance().getBaseUrl();
+        }
         return properties.getProperty("base.url");
     }
 
@@ -49,4 +80,340 @@ public class ConfigManager {
     public String getAdminPassword() {
         return properties.getProperty("admin.password");
     }
+
+    /** How long the server honours an auth token before it must be regenerated. */
+    public int getAuthTokenTtlSeconds() {
+        return getIntProperty("auth.token.ttl.seconds", 600);
+    }
+
+    /** How long before expiry a cached auth token is proactively refreshed. */
+    public int getAuthTokenRefreshMarginSeconds() {
+        return getIntProperty("auth.token.refresh.margin.seconds", 60);
+    }
+
+    /** Connect and read timeout applied to the health probe, so a dead host fails fast. */
+    public int getHealthProbeTimeoutMillis() {
+        return getIntProperty("health.probe.timeout.ms", 5000);
+    }
+
+    /** How often the run-level health gate re-probes the API while scenarios are running. */
+    public int getHealthRecheckIntervalSeconds() {
+        return getIntProperty("health.recheck.interval.seconds", 60);
+    }
+
+    /** Consecutive transport failures (connect/read errors) that force an immediate re-probe. */
+    public int getHealthTransportFailureThreshold() {
+        return getIntProperty("health.transport.failure.threshold", 3);
+    }
+
+    /** Upper bound on pooled HTTP connections across all hosts (shared by every client). */
+    public int getHttpPoolMaxTotal() {
+        return getIntProperty("http.pool.max.total", 50);
+    }
+
+    /** Upper bound on pooled HTTP connections to a single host. */
+    public int getHttpPoolMaxPerRoute() {
+        return getIntProperty("http.pool.max.per.route", 20);
+    }
+
+    /** TCP connect timeout for API requests. */
+    public int getHttpConnectTimeoutMillis() {
+        return getIntProperty("http.connect.timeout.ms", 10000);
+    }
+
+    /** Socket read timeout for API requests. */
+    public int getHttpReadTimeoutMillis() {
+        return getIntProperty("http.read.timeout.ms", 30000);
+    }
+
+    /** How long an idle pooled connection is kept alive when the server sends no Keep-Alive hint. */
+    public int getHttpKeepAliveMillis() {
+        return getIntProperty("http.keepalive.ms", 30000);
+    }
+
+    /** Threads running the *Async client methods, i.e. the async requests in flight at once. */
+    public int getHttpAsyncThreads() {
+        return getIntProperty("http.async.threads", 16);
+    }
+
+    /**
+     * HTTP logging mode: "on-failure" (buffer each scenario's exchanges, print only if it fails),
+     * "always" (print every exchange immediately) or "off".
+     */
+    public String getHttpLogMode() {
+        return getStringProperty("http.log.mode", "on-failure");
+    }
+
+    /** How many of the most recent HTTP exchanges a scenario keeps for failure logging. */
+    public int getHttpLogBufferSize() {
+        return getIntProperty("http.log.buffer.size", 20);
+    }
+
+    /** Response bodies longer than this are truncated in HTTP logs. */
+    public int getHttpLogMaxBodyChars() {
+        return getIntProperty("http.log.max.body.chars", 4000);
+    }
+
+    /**
+     * HTTP cassette mode: "off", "record" (write every exchange to the cassettes) or "replay"
+     * (answer every request from them, without a network). See HttpCassette.
+     */
+    public String getHttpCassetteMode() {
+        return getStringProperty("http.cassette.mode", "off");
+    }
+
+    /** Directory holding the recorded cassettes, one file per feature. */
+    public String getHttpCassetteDir() {
+        return getStringProperty("http.cassette.dir", "src/test/cassettes");
+    }
+
+    /** In replay, wait as long as the recorded response took instead of answering at once. */
+    public boolean isHttpCassetteReplayLatency() {
+        return Boolean.parseBoolean(getStringProperty("http.cassette.replay.latency", "false"));
+    }
+
+    /**
+     * Booking teardown mode: "sync" (delete in the scenario's @After hook) or "async" (queue the
+     * ID for BookingTeardownQueue's background workers, off the scenario's critical path).
+     */
+    public String getTeardownMode() {
+        return getStringProperty("teardown.mode", "sync");
+    }
+
+    /** Worker threads draining the async teardown queue. */
+    public int getTeardownAsyncThreads() {
+        return getIntProperty("teardown.async.threads", 4);
+    }
+
+    /** How long the end-of-run flush waits for queued deletions before abandoning them. */
+    public int getTeardownFlushTimeoutSeconds() {
+        return getIntProperty("teardown.flush.timeout.seconds", 60);
+    }
+
+    /** Serve "a booking exists in the system" from BookingPool instead of creating a booking inline. */
+    public boolean isBookingPoolEnabled() {
+        return Boolean.parseBoolean(getStringProperty("booking.pool.enabled", "false"));
+    }
+
+    /** Bookings the pool keeps created ahead of demand. */
+    public int getBookingPoolSize() {
+        return getIntProperty("booking.pool.size", 8);
+    }
+
+    /** Background threads creating bookings for the pool. */
+    public int getBookingPoolThreads() {
+        return getIntProperty("booking.pool.threads", 2);
+    }
+
+    /** How long a scenario waits for a pooled booking before its setup fails. */
+    public int getBookingPoolAcquireTimeoutSeconds() {
+        return getIntProperty("booking.pool.acquire.timeout.seconds", 30);
+    }
+
+    /** Client-side limit on requests started per second across the whole run (RequestThrottle); 0 disables it. */
+    public int getThrottleRatePerSecond() {
+        return getIntProperty("throttle.rate.per.second", 0);
+    }
+
+    /** Requests RequestThrottle lets through back to back after an idle period. */
+    public int getThrottleBurst() {
+        return getIntProperty("throttle.burst", 10);
+    }
+
+    /** Retry transient failures in AuthClient and BookingClient according to RetryPolicy. */
+    public boolean isRetryEnabled() {
+        return Boolean.parseBoolean(getStringProperty("retry.enabled", "true"));
+    }
+
+    /** Attempts per call, including the first one. */
+    public int getRetryMaxAttempts() {
+        return getIntProperty("retry.max.attempts", 3);
+    }
+
+    /** Backoff ceiling before the first retry; it doubles for each further retry. */
+    public int getRetryBackoffInitialMillis() {
+        return getIntProperty("retry.backoff.initial.ms", 200);
+    }
+
+    /** Upper bound on the backoff ceiling, however many retries a call has made. */
+    public int getRetryBackoffMaxMillis() {
+        return getIntProperty("retry.backoff.max.ms", 3000);
+    }
+
+    /** Total retries the whole run may make; once spent, every call is sent once. */
+    public int getRetryBudget() {
+        return getIntProperty("retry.budget", 30);
+    }
+
+    /** Comma-separated HTTP methods BookingClient treats as idempotent and retries. */
+    public String getRetryIdempotentMethods() {
+        return getStringProperty("retry.idempotent.methods", "GET,PUT,DELETE");
+    }
+
+    /** Retry a 409 from createBookingReallocatingOnConflict() with a newly allocated slot. */
+    public boolean isRetryPostOnConflict() {
+        return Boolean.parseBoolean(getStringProperty("retry.post.on.conflict", "true"));
+    }
+
+    /** Seed for SlotAllocator's room/date sequence, or null to pick a random one for the run. */
+    public Long getTestDataSeed() {
+        String value = getStringProperty("testdata.seed", null);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw new RuntimeException("Configuration property 'testdata.seed' is not an integer: " + value, ex);
+        }
+    }
+
+    /** This JVM's share of SlotAllocator's grid, from 0 to testdata.partition.count - 1; defaults to shard.index. */
+    public int getTestDataPartitionIndex() {
+        return getIntProperty("testdata.partition.index", getShardIndex());
+    }
+
+    /** Number of JVMs splitting SlotAllocator's grid between them; defaults to shard.count. */
+    public int getTestDataPartitionCount() {
+        return getIntProperty("testdata.partition.count", getShardCount());
+    }
+
+    /** Number of JVMs the scenarios are split across (see ShardFilter); 1 runs everything. */
+    public int getShardCount() {
+        return getIntProperty("shard.count", 1);
+    }
+
+    /** The shard this JVM runs, from 0 to shard.count - 1. */
+    public int getShardIndex() {
+        return getIntProperty("shard.index", 0);
+    }
+
+    /**
+     * Allure report whose per-scenario durations balance the shards; without one they are filled
+     * round-robin. Defaults to .shard-report, outside target/ so mvn clean keeps it; CI caches it
+     * and refreshes it from every run's report.
+     */
+    public String getShardReportDir() {
+        return getStringProperty("shard.report.dir", ".shard-report");
+    }
+
+    /** Skip scenarios whose last pass is cached under an unchanged key (see ResultCache). */
+    public boolean isResultCacheEnabled() {
+        return Boolean.parseBoolean(getStringProperty("result.cache.enabled", "false"));
+    }
+
+    /** Run every scenario despite the cache, but still record the passes for later runs. */
+    public boolean isResultCacheFullRun() {
+        return Boolean.parseBoolean(getStringProperty("result.cache.full.run", "false"));
+    }
+
+    /** Cached passes older than this are run again. */
+    public int getResultCacheMaxAgeHours() {
+        return getIntProperty("result.cache.max.age.hours", 24);
+    }
+
+    /** Directory holding the cache index and the cached Allure results; outside target/ so mvn clean keeps it. */
+    public String getResultCacheDir() {
+        return getStringProperty("result.cache.dir", ".result-cache");
+    }
+
+    /** Write Allure results and attachments from a background thread (see AllureResultsQueue). */
+    public boolean isAllureWriterAsync() {
+        return Boolean.parseBoolean(getStringProperty("allure.writer.async", "true"));
+    }
+
+    /** How long the end of the run waits for queued Allure results to reach the disk. */
+    public int getAllureWriterFlushTimeoutSeconds() {
+        return getIntProperty("allure.writer.flush.timeout.seconds", 60);
+    }
+
+    /** Attachments are cut to this size, with a note saying how much was dropped. */
+    public int getAllureAttachmentMaxKb() {
+        return getIntProperty("allure.attachment.max.kb", 1024);
+    }
+
+    /** Attachments larger than this are written gzip-compressed; 0 never compresses. */
+    public int getAllureAttachmentGzipAboveKb() {
+        return getIntProperty("allure.attachment.gzip.above.kb", 0);
+    }
+
+    /** How long WatchRunner waits for further saves before starting a run, so one edit starts one run. */
+    public int getWatchDebounceMillis() {
+        return getIntProperty("watch.debounce.ms", 300);
+    }
+
+    /** How long SoakRunner keeps repeating the tagged scenarios. */
+    public int getSoakDurationMinutes() {
+        return getIntProperty("soak.duration.minutes", 60);
+    }
+
+    /** Cucumber tag expression selecting the scenarios SoakRunner repeats. */
+    public String getSoakTags() {
+        return getStringProperty("soak.tags", "@smoke or @regression");
+    }
+
+    /** Length of one report row; a window closes at the end of the first run that crosses it. */
+    public int getSoakWindowSeconds() {
+        return getIntProperty("soak.window.seconds", 60);
+    }
+
+    /** Windows left out of the baseline while the JIT, pools and caches warm up. */
+    public int getSoakWarmupWindows() {
+        return getIntProperty("soak.warmup.windows", 1);
+    }
+
+    /** A p99 this many percent above the baseline's, on any endpoint, counts as latency drift. */
+    public int getSoakLatencyDriftPercent() {
+        return getIntProperty("soak.latency.drift.percent", 50);
+    }
+
+    /** Heap retained after GC growing by more than this between baseline and end counts as a client leak. */
+    public int getSoakLeakHeapMb() {
+        return getIntProperty("soak.leak.heap.mb", 64);
+    }
+
+    /** Live threads growing by more than this between baseline and end counts as a client leak. */
+    public int getSoakLeakThreads() {
+        return getIntProperty("soak.leak.threads", 10);
+    }
+
+    /** Serve the API from the embedded StubServer instead of base.url. */
+    public boolean isStubEnabled() {
+        return Boolean.parseBoolean(getStringProperty("stub.enabled", "false"));
+    }
+
+    /** Port the embedded StubServer binds to; 0 picks a free ephemeral port. */
+    public int getStubPort() {
+        return getIntProperty("stub.port", 0);
+    }
+
+    /**
+     * Stop the embedded StubServer after the last scenario. SoakRunner turns this off so every
+     * run reuses one server, and with it the tokens already cached for it.
+     */
+    public boolean isStubStopAfterRun() {
+        return Boolean.parseBoolean(getStringProperty("stub.stop.after.run", "true"));
+    }
+
+    /**
+     * Reads a string setting. A system property with the same key (-Dkey=value) takes
+     * precedence over the environment file, so a single run can be tuned without editing it.
+     */
+    private String getStringProperty(String key, String defaultValue) {
+        String value = System.getProperty(key, properties.getProperty(key));
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    /** Reads an integer setting, with the same system-property precedence as getStringProperty. */
+    private int getIntProperty(String key, int defaultValue) {
+        String value = getStringProperty(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            throw new RuntimeException("Configuration property '" + key + "' is not an integer: " + value, ex);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+package com.booking.config;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+/**
+ * Custom parallel execution strategy registered on TestRunner.
+ * Resolves the scenario thread count from, in order of precedence:
+ *   1. the JUnit Platform configuration parameter cucumber.execution.parallel.config.fixed.parallelism,
+ *      which the platform takes from a launcher or @ConfigurationParameter value, then the
+ *      system property -D...=N, then junit-platform.properties
+ *   2. the same key in src/test/resources/cucumber.properties
+ *   3. a default of 1 (serial execution, identical to the previous behaviour)
+ *
+ * The JUnit Platform engine does not read cucumber.properties itself, which is why the
+ * strategy loads it here — keeping every Cucumber setting in one file. The platform does not say
+ * which of its sources supplied a parameter, so the strategy compares the value with the system
+ * property and junit-platform.properties. The resolved count and where it came from are
+ * printed once per run ("Scenario threads: 4 (system property)"), and
+ * CI checks that line, so a run believed to be parallel cannot silently fall back to serial.
+ *
+ * The pool is capped at exactly N threads. Scenarios spend almost all of their time blocked
+ * on HTTP I/O, and an uncapped ForkJoinPool would otherwise spawn compensating threads and
+ * exceed the configured concurrency against the shared environment.
+ */
+public class ParallelExecutionStrategy implements ParallelExecutionConfigurationStrategy {
+
+    public static final String THREADS_PROPERTY = "cucumber.execution.parallel.config.fixed.parallelism";
+    private static final String CONFIG_PREFIX = "cucumber.execution.parallel.config.";
+    private static final int KEEP_ALIVE_SECONDS = 30;
+
+    /** Where the thread count came from, in order of precedence. */
+    enum Source {
+        CONFIGURATION_PARAMETER("configuration parameter"),
+        SYSTEM_PROPERTY("system property"),
+        JUNIT_PLATFORM_PROPERTIES("junit-platform.properties"),
+        CUCUMBER_PROPERTIES("cucumber.properties"),
+        DEFAULT("default");
+
+        private final String label;
+
+        Source(String label) {
+            this.label = label;
+        }
+    }
+
+    /** A resolved thread count and its source, printed as e.g. "4 (system property)". */
+    record Threads(int count, Source source) {
+
+        @Override
+        public String toString() {
+            return count + " (" + source.label + ")";
+        }
+    }
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+        // The engine hands us parameters with the "cucumber.execution.parallel.config." prefix stripped
+        Threads threads = configurationParameters.get(THREADS_PROPERTY.substring(CONFIG_PREFIX.length()))
+                .map(value -> new Threads(parse(value), platformSource(value)))
+                .orElseGet(ParallelExecutionStrategy::threadsFromCucumberProperties);
+        if (threads.count() < 1) {
+            throw new IllegalArgumentException(THREADS_PROPERTY + " must be at least 1, got " + threads.count());
+        }
+        System.out.println("Scenario threads: " + threads);
+        return new FixedConfiguration(threads.count());
+    }
+
+    // Launcher parameters win over system properties, which win over junit-platform.properties
+    private static Source platformSource(String value) {
+        if (value.equals(System.getProperty(THREADS_PROPERTY))) {
+            return Source.SYSTEM_PROPERTY;
+        }
+        if (value.equals(propertyFromResource("junit-platform.properties"))) {
+            return Source.JUNIT_PLATFORM_PROPERTIES;
+        }
+        return Source.CONFIGURATION_PARAMETER;
+    }
+
+    private static Threads threadsFromCucumberProperties() {
+        String configured = propertyFromResource("cucumber.properties");
+        return configured == null
+                ? new Threads(1, Source.DEFAULT)
+                : new Threads(parse(configured), Source.CUCUMBER_PROPERTIES);
+    }
+
+    private static String propertyFromResource(String resource) {
+        try (InputStream input = ParallelExecutionStrategy.class.getClassLoader().getResourceAsStream(resource)) {
+            if (input == null) {
+                return null;
+            }
+            Properties properties = new Properties();
+            properties.load(input);
+            return properties.getProperty(THREADS_PROPERTY);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read " + THREADS_PROPERTY + " from " + resource, ex);
+        }
+    }
+
+    private static int parse(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(THREADS_PROPERTY + " must be a number, got '" + value + "'", ex);
+        }
+    }
+
+    private record FixedConfiguration(int threads) implements ParallelExecutionConfiguration {
+
+        @Override
+        public int getParallelism() {
+            return threads;
+        }
+
+        @Override
+        public int getMinimumRunnable() {
+            return threads;
+        }
+
+        @Override
+        public int getMaxPoolSize() {
+            return threads;
+        }
+
+        @Override
+        public int getCorePoolSize() {
+            return threads;
+        }
+
+        @Override
+        public int getKeepAliveSeconds() {
+            return KEEP_ALIVE_SECONDS;
+        }
+
+        @Override
+        public Predicate<? super ForkJoinPool> getSaturatePredicate() {
+            // Block the submitting thread instead of failing when all N threads are busy
+            return pool -> true;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.booking.context;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parse-once view of a response body for assertions.
+ *
+ * Every call to response.jsonPath() parses the whole body again and evaluates the path through
+ * Groovy. ResponseView parses the body with Jackson the first time a field is read, and every
+ * later lookup, array check, DTO mapping and schema validation reads that same tree.
+ *
+ * Paths use the JsonPath dot notation the steps already use ("bookingdates.checkin"); a
+ * numeric segment indexes into an array ("errors.0"). Lookups follow JsonPath's conventions:
+ * a missing field reads as null, and getString renders numbers and booleans as text.
+ *
+ * Stored in ScenarioContext under LAST_RESPONSE_VIEW by ScenarioContext.setLastResponse().
+ * The lazy parse is published safely, so hooks on other threads may read the same view.
+ */
+public final class ResponseView {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final Response response;
+    private volatile JsonNode json;
+
+    public ResponseView(Response response) {
+        this.response = response;
+    }
+
+    public Response response() {
+        return response;
+    }
+
+    public int statusCode() {
+        return response.getStatusCode();
+    }
+
+    /**
+     * The parsed body. An empty body is a MissingNode, so every field of it reads as null.
+     *
+     * @throws AssertionError if the body is not valid JSON.
+     */
+    public JsonNode json() {
+        JsonNode local = json;
+        if (local == null) {
+            synchronized (this) {
+                local = json;
+                if (local == null) {
+                    local = parse();
+                    json = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /** The node at the path, or a MissingNode if any segment does not exist. */
+    public JsonNode node(String path) {
+        JsonNode node = json();
+        for (String segment : path.split("\\.")) {
+            if (node.isArray() && isIndex(segment)) {
+                node = node.path(Integer.parseInt(segment));
+            } else {
+                node = node.path(segment);
+            }
+        }
+        return node;
+    }
+
+    public String getString(String path) {
+        JsonNode node = node(path);
+        if (isAbsent(node)) {
+            return null;
+        }
+        return node.isValueNode() ? node.asText() : node.toString();
+    }
+
+    /** @throws AssertionError if the value is present but not an integer. */
+    public Integer getInt(String path) {
+        JsonNode node = node(path);
+        if (isAbsent(node)) {
+            return null;
+        }
+        if (node.isIntegralNumber() && node.canConvertToInt()) {
+            return node.intValue();
+        }
+        if (node.isTextual()) {
+            try {
+                return Integer.parseInt(node.asText().trim());
+            } catch (NumberFormatException ex) {
+                // Falls through to the assertion below
+            }
+        }
+        throw new AssertionError("Expected '" + path + "' to be an integer but was " + node);
+    }
+
+    /** @throws AssertionError if the value is present but not a boolean. */
+    public Boolean getBoolean(String path) {
+        JsonNode node = node(path);
+        if (isAbsent(node)) {
+            return null;
+        }
+        if (node.isBoolean()) {
+            return node.booleanValue();
+        }
+        if (node.isTextual() && (node.asText().equals("true") || node.asText().equals("false"))) {
+            return Boolean.parseBoolean(node.asText());
+        }
+        throw new AssertionError("Expected '" + path + "' to be a boolean but was " + node);
+    }
+
+    /** The array at the path as plain Java values, or null if the field is absent or not an array. */
+    public List<Object> getList(String path) {
+        JsonNode node = node(path);
+        if (!node.isArray()) {
+            return null;
+        }
+        List<Object> values = new ArrayList<>(node.size());
+        node.forEach(element -> values.add(mapper.convertValue(element, Object.class)));
+        return values;
+    }
+
+    /**
+     * Maps the parsed body onto a DTO without re-reading the raw bytes.
+     *
+     * @throws AssertionError if the body does not fit the type.
+     */
+    public <T> T as(Class<T> type) {
+        try {
+            return mapper.treeToValue(json(), type);
+        } catch (IOException ex) {
+            throw new AssertionError("Response body cannot be read as " + type.getSimpleName()
+                    + ": " + response.getBody().asString(), ex);
+        }
+    }
+
+    private JsonNode parse() {
+        byte[] body = response.getBody().asByteArray();
+        if (body.length == 0) {
+            return MissingNode.getInstance();
+        }
+        try {
+            return mapper.readTree(body);
+        } catch (IOException ex) {
+            throw new AssertionError("Response body is not valid JSON: " + response.getBody().asString(), ex);
+        }
+    }
+
+    private static boolean isAbsent(JsonNode node) {
+        return node.isMissingNode() || node.isNull();
+    }
+
+    private static boolean isIndex(String segment) {
+        return !segment.isEmpty() && segment.chars().allMatch(Character::isDigit);
+    }
+}
@@ -1,14 +1,22 @@
 package com.booking.context;
 
+import io.restassured.response.Response;
+
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Thread-safe key-value store scoped to a single Cucumber scenario.
  * PicoContainer creates one fresh instance per scenario, so no state leaks between scenarios.
  * Keys are defined as an Enum to prevent typo-based key mismatches
  * (e.g. "bookingId" vs "booking_id") which cause silent test failures.
- * ConcurrentHashMap is used instead of HashMap to future-proof the framework for parallel test execution.
+ * ConcurrentHashMap is used instead of HashMap because parallel runs execute each scenario on
+ * an engine pool thread, while hooks and async helpers may touch the context from other threads.
+ *
+ * The last response is stored twice: the raw Response under LAST_RESPONSE and a parse-once
+ * ResponseView under LAST_RESPONSE_VIEW. Set both through setLastResponse() so they never disagree.
+ * A read-only request can also be stored as REPEATABLE_CALL, so the latency steps can send it again.
  */
 public class ScenarioContext {
 
@@ -16,7 +24,10 @@ public class ScenarioContext {
         BOOKING_ID,
         AUTH_TOKEN,
         LAST_RESPONSE,
-        LAST_REQUEST_BODY
+        LAST_RESPONSE_VIEW,
+        LAST_REQUEST_BODY,
+        REPEATABLE_CALL,
+        REPEATED_CALLS_RESULT
     }
 
     private final Map<ContextKey, Object> data = new ConcurrentHashMap<>();
@@ -30,6 +41,30 @@ public class ScenarioContext {
         return (T) data.get(key);
     }
 
+    /**
+     * Stores the response under LAST_RESPONSE and a fresh ResponseView of it under LAST_RESPONSE_VIEW.
+     * Clears REPEATABLE_CALL: the request that produced this response cannot be sent again.
+     */
+    public void setLastResponse(Response response) {
+        data.put(ContextKey.LAST_RESPONSE, response);
+        data.put(ContextKey.LAST_RESPONSE_VIEW, new ResponseView(response));
+        data.remove(ContextKey.REPEATABLE_CALL);
+    }
+
+    /**
+     * Stores the response as setLastResponse(Response) does, and the call that produced it under
+     * REPEATABLE_CALL. Only pass calls that are safe to repeat, i.e. that create or change nothing.
+     */
+    public void setLastResponse(Response response, Supplier<Response> repeatableCall) {
+        setLastResponse(response);
+        data.put(ContextKey.REPEATABLE_CALL, repeatableCall);
+    }
+
+    /** The parsed view of the last response, or null if no response has been stored yet. */
+    public ResponseView lastResponseView() {
+        return get(ContextKey.LAST_RESPONSE_VIEW);
+    }
+
     public boolean contains(ContextKey key) {
         return data.containsKey(key);
     }
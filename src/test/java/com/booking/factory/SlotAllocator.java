@@ -0,0 +1,102 @@
+package com.booking.factory;
+
+import com.booking.config.ConfigManager;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out non-overlapping (roomid, check-in, check-out) slots for generated bookings.
+ *
+ * The bookable space is a fixed grid: ROOMS rooms times DATE_SLOTS stays of STAY_NIGHTS
+ * nights, laid end to end inside the window the API accepts (from WINDOW_START_DAYS days
+ * ahead, ending a little over five months out — the API rejects stays too far in the future).
+ * A spare night separates consecutive stays in the same room, so even an inclusive overlap
+ * check on the server cannot see two slots as colliding.
+ *
+ * Every call to next() takes the next position from one AtomicLong, so concurrent scenario
+ * threads never share a slot and never block each other. Consecutive positions fill every
+ * room for one date range before moving to the next range.
+ *
+ * Separate JVMs (e.g. Surefire forks) split the grid with testdata.partition.index and
+ * testdata.partition.count: partition i only uses positions i, i + count, i + 2 * count, ...
+ * testdata.seed rotates the whole sequence, so a run is reproducible for a given seed while
+ * runs with different seeds start in different parts of the grid. Without a configured seed
+ * a single-partition run picks a random one. All partitions of a run must share the same
+ * rotation, or their positions interleave differently and collide, so a partitioned run
+ * refuses to start without an explicit testdata.seed.
+ *
+ * A partition that uses up its share of the grid starts again from its first slot. By then
+ * those early bookings have normally been deleted by their scenarios' teardown.
+ */
+public final class SlotAllocator {
+
+    private static final int ROOMS = 199;
+    private static final int STAY_NIGHTS = 4;
+    private static final int WINDOW_START_DAYS = 60;
+    private static final int DATE_SLOTS = 20;
+    private static final int SLOT_DAYS = STAY_NIGHTS + 1;
+    private static final int TOTAL_SLOTS = ROOMS * DATE_SLOTS;
+
+    private static volatile SlotAllocator instance;
+
+    private final AtomicLong nextPosition = new AtomicLong();
+    private final LocalDate windowStart;
+    private final long seed;
+    private final int partitionIndex;
+    private final int partitionCount;
+    private final int slotsPerPartition;
+    private final int rotation;
+
+    private SlotAllocator() {
+        ConfigManager config = ConfigManager.getInstance();
+        Long configuredSeed = config.getTestDataSeed();
+        partitionCount = config.getTestDataPartitionCount();
+        partitionIndex = config.getTestDataPartitionIndex();
+        if (partitionCount < 1 || partitionCount > TOTAL_SLOTS || partitionIndex < 0 || partitionIndex >= partitionCount) {
+            throw new IllegalStateException("Invalid test data partition " + partitionIndex + " of " + partitionCount);
+        }
+        if (partitionCount > 1 && configuredSeed == null) {
+            throw new IllegalStateException("testdata.seed must be set when the test data grid is split across "
+                    + partitionCount + " JVMs (shard.count / testdata.partition.count) — pass the same"
+                    + " -Dtestdata.seed to every one, or their slots overlap");
+        }
+        seed = configuredSeed != null ? configuredSeed : ThreadLocalRandom.current().nextLong();
+        slotsPerPartition = TOTAL_SLOTS / partitionCount;
+        rotation = (int) Math.floorMod(seed, (long) TOTAL_SLOTS);
+        // Fixed once per run, so a run crossing midnight keeps a consistent grid
+        windowStart = LocalDate.now().plusDays(WINDOW_START_DAYS);
+    }
+
+    public static SlotAllocator getInstance() {
+        SlotAllocator local = instance;
+        if (local == null) {
+            synchronized (SlotAllocator.class) {
+                local = instance;
+                if (local == null) {
+                    local = new SlotAllocator();
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /** The seed this run allocates with; pass it back as -Dtestdata.seed to reproduce the run's data. */
+    public long seed() {
+        return seed;
+    }
+
+    /** Reserves the next free slot for this partition. */
+    public Slot next() {
+        long position = nextPosition.getAndIncrement() % slotsPerPartition;
+        int slot = (int) ((position * partitionCount + partitionIndex + rotation) % TOTAL_SLOTS);
+        LocalDate checkin = windowStart.plusDays((long) (slot / ROOMS) * SLOT_DAYS);
+        return new Slot(slot % ROOMS + 1, checkin, checkin.plusDays(STAY_NIGHTS));
+    }
+
+    /** One room for one stay. */
+    public record Slot(int roomid, LocalDate checkin, LocalDate checkout) {
+    }
+}
@@ -10,10 +10,15 @@ import java.util.Map;
 /**
  * Centralized generation of test payloads.
  * Decouples "what data is sent" from the step definitions.
+ *
+ * Safe to call from parallel scenarios: the shared ObjectMapper is configured once and only
+ * used for read-only conversions (Jackson guarantees thread safety in that mode), and rooms
+ * and dates come from the lock-free SlotAllocator rather than the wall clock or a random pick.
  */
 public final class TestDataFactory {
 
     private static final ObjectMapper mapper = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
 
     private TestDataFactory() {
         // Utility class
@@ -23,22 +28,18 @@ public final class TestDataFactory {
      * Generates a fully valid booking baseline.
      */
     public static Booking validBooking() {
-        // Dynamic dates: Safely within a 6-month window to avoid API "too far in future" blocks.
-        // Starts 2 month from today, adds 0-99 days randomly to prevent test collisions.
-        java.time.LocalDate checkin = java.time.LocalDate.now()
-                .plusMonths(2)
-                .plusDays(System.currentTimeMillis() % 100);
-        // Dynamic Room ID: Randomize between 1 and 199 to prevent 409 test data collisions
-        int randomRoomId = java.util.concurrent.ThreadLocalRandom.current().nextInt(1, 200);
+        // Room and dates come from SlotAllocator, so no two generated bookings in this run
+        // (any thread, any fork) ask for the same room on overlapping nights.
+        SlotAllocator.Slot slot = SlotAllocator.getInstance().next();
 
         return Booking.builder()
-                .roomid(randomRoomId)
+                .roomid(slot.roomid())
                 .firstname("John")
                 .lastname("Doe")
                 .depositpaid(true)
                 .bookingdates(BookingDates.builder()
-                        .checkin(checkin.toString())
-                        .checkout(checkin.plusDays(4).toString())
+                        .checkin(slot.checkin().toString())
+                        .checkout(slot.checkout().toString())
                         .build())
                 .email("john.doe@example.com")
                 .phone("07911123456")
@@ -83,7 +84,7 @@ public final class TestDataFactory {
      */
     public static Map<String, Object> bookingWithRoomIdAsEmptyString() {
         Booking validBooking = validBooking();
-        Map<String, Object> bookingMap = mapper.convertValue(validBooking, new TypeReference<Map<String, Object>>() {});
+        Map<String, Object> bookingMap = mapper.convertValue(validBooking, MAP_TYPE);
         bookingMap.put("roomid", "");
         return bookingMap;
     }
@@ -119,7 +120,7 @@ public final class TestDataFactory {
     public static Map<String, Object> bookingWithoutField(String fieldName) {
         Booking validBooking = validBooking();
         // Convert POJO to Map
-        Map<String, Object> bookingMap = mapper.convertValue(validBooking, new TypeReference<Map<String, Object>>() {});
+        Map<String, Object> bookingMap = mapper.convertValue(validBooking, MAP_TYPE);
         
         // Handle nested bookingdates field omission if required
         if (fieldName.equals("checkin") || fieldName.equals("checkout")) {
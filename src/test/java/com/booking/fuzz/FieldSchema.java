@@ -0,0 +1,115 @@
+package com.booking.fuzz;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * One schema from booking.yaml, reduced to what the fuzzer generates from and checks against:
+ * JSON type, format, required and nested properties, array items, and string length limits.
+ *
+ * Properties keep the spec's order, so a seed always generates the same payloads.
+ *
+ * @param type       "object", "string", "integer", "number", "boolean" or "array"; null if undeclared.
+ * @param format     "date", "email" or null.
+ * @param minLength  Shortest allowed string, or null if unconstrained.
+ * @param maxLength  Longest allowed string, or null if unconstrained.
+ * @param example    The spec's example value, or null.
+ */
+record FieldSchema(String type, String format, List<String> required, Map<String, FieldSchema> properties,
+                   FieldSchema items, Integer minLength, Integer maxLength, JsonNode example) {
+
+    // Same reading of "format: email" as the API: something@something, no whitespace
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+$");
+
+    FieldSchema withLength(int min, int max) {
+        return new FieldSchema(type, format, required, properties, items, min, max, example);
+    }
+
+    FieldSchema withProperty(String name, FieldSchema property) {
+        Map<String, FieldSchema> replaced = new LinkedHashMap<>(properties);
+        replaced.put(name, property);
+        return new FieldSchema(type, format, required, Collections.unmodifiableMap(replaced),
+                items, minLength, maxLength, example);
+    }
+
+    /**
+     * Everything about the value that breaks this schema, as "path: rule" messages. The messages
+     * name the rule but not the offending value, so two payloads that break the same rules in
+     * different ways give the same list.
+     */
+    List<String> violations(JsonNode value) {
+        List<String> violations = new ArrayList<>();
+        collect(value, "$", violations);
+        return violations;
+    }
+
+    private void collect(JsonNode value, String path, List<String> violations) {
+        if (value == null || value.isMissingNode()) {
+            return;
+        }
+        if (!hasType(value)) {
+            violations.add(path + ": not " + (value.isNull() ? "nullable" : "of type " + type));
+            return;
+        }
+        if (value.isObject()) {
+            for (String name : required) {
+                if (!value.has(name)) {
+                    violations.add(path + "." + name + ": required");
+                }
+            }
+            properties.forEach((name, property) -> property.collect(value.get(name), path + "." + name, violations));
+        } else if (value.isArray() && items != null) {
+            for (JsonNode item : value) {
+                items.collect(item, path + "[]", violations);
+            }
+        } else if (value.isTextual()) {
+            int length = value.asText().length();
+            if (minLength != null && length < minLength || maxLength != null && length > maxLength) {
+                violations.add(path + ": length outside " + minLength + ".." + maxLength);
+            }
+            if (format != null && !matchesFormat(value.asText())) {
+                violations.add(path + ": not a " + format);
+            }
+        }
+    }
+
+    private boolean hasType(JsonNode value) {
+        if (type == null) {
+            return !value.isNull();
+        }
+        return switch (type) {
+            case "object" -> value.isObject();
+            case "array" -> value.isArray();
+            case "string" -> value.isTextual();
+            case "integer" -> value.isIntegralNumber();
+            case "number" -> value.isNumber();
+            case "boolean" -> value.isBoolean();
+            default -> !value.isNull();
+        };
+    }
+
+    private boolean matchesFormat(String text) {
+        return switch (format) {
+            case "date" -> isDate(text);
+            case "email" -> EMAIL.matcher(text).matches();
+            default -> true;
+        };
+    }
+
+    private static boolean isDate(String text) {
+        try {
+            LocalDate.parse(text);
+            return true;
+        } catch (DateTimeParseException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.booking.fuzz;
+
+import com.booking.config.ConfigManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Fuzzer settings, read from system properties:
+ *
+ *   fuzz.targets              Operations to fuzz (default create_booking,login — see Target)
+ *   fuzz.duration.seconds     How long to generate payloads (default 60)
+ *   fuzz.max.cases            Stop after this many payloads even if time is left; 0 = no limit (default 0)
+ *   fuzz.rate                 Cap on requests per second, cleanup DELETEs and shrinking included (default 100,
+ *                             lowered to the environment's throttle.rate.per.second unless set explicitly)
+ *   fuzz.concurrency          Payloads in flight (default 16)
+ *   fuzz.invalid.ratio        Share of payloads that are mutated (default 0.7)
+ *   fuzz.seed                 Seed for payload generation; the same seed generates the same payloads (default random)
+ *   fuzz.shrink.max.attempts  Requests allowed for shrinking one finding (default 200)
+ */
+record FuzzProfile(List<Target> targets, long durationSeconds, long maxCases, int ratePerSecond, String rateSource,
+                   int concurrency, double invalidRatio, long seed, int shrinkMaxAttempts) {
+
+    private static final int DEFAULT_RATE = 100;
+
+    static FuzzProfile fromSystemProperties() {
+        String explicitRate = System.getProperty("fuzz.rate");
+        int environmentRate = ConfigManager.getInstance().getThrottleRatePerSecond();
+        int rate;
+        String rateSource;
+        if (explicitRate != null) {
+            rate = Integer.parseInt(explicitRate);
+            rateSource = "-Dfuzz.rate";
+        } else if (environmentRate > 0 && environmentRate < DEFAULT_RATE) {
+            // The default must not raise the limit an environment sets to protect a shared API
+            rate = environmentRate;
+            rateSource = "throttle.rate.per.second of env " + ConfigManager.getInstance().getEnvironmentName()
+                    + " (default fuzz.rate " + DEFAULT_RATE + " capped)";
+        } else {
+            rate = DEFAULT_RATE;
+            rateSource = "default fuzz.rate";
+        }
+        FuzzProfile profile = new FuzzProfile(
+                parseTargets(System.getProperty("fuzz.targets", "create_booking,login")),
+                Long.parseLong(System.getProperty("fuzz.duration.seconds", "60")),
+                Long.parseLong(System.getProperty("fuzz.max.cases", "0")),
+                rate,
+                rateSource,
+                Integer.parseInt(System.getProperty("fuzz.concurrency", "16")),
+                Double.parseDouble(System.getProperty("fuzz.invalid.ratio", "0.7")),
+                Long.parseLong(System.getProperty("fuzz.seed", String.valueOf(ThreadLocalRandom.current().nextLong()))),
+                Integer.parseInt(System.getProperty("fuzz.shrink.max.attempts", "200")));
+        if (profile.durationSeconds <= 0 || profile.ratePerSecond <= 0 || profile.concurrency <= 0) {
+            throw new IllegalArgumentException("fuzz.duration.seconds, fuzz.rate and fuzz.concurrency must be positive: " + profile);
+        }
+        if (profile.invalidRatio < 0 || profile.invalidRatio > 1) {
+            throw new IllegalArgumentException("fuzz.invalid.ratio must be between 0 and 1: " + profile.invalidRatio);
+        }
+        return profile;
+    }
+
+    private static List<Target> parseTargets(String spec) {
+        List<Target> targets = new ArrayList<>();
+        for (String name : spec.split(",")) {
+            if (!name.isBlank()) {
+                targets.add(Target.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            }
+        }
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("fuzz.targets must name at least one of create_booking, login");
+        }
+        return List.copyOf(targets);
+    }
+}
@@ -0,0 +1,245 @@
+package com.booking.fuzz;
+
+import com.booking.clients.HttpMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Generative fuzzer for the request bodies of POST /booking and POST /auth/login.
+ *
+ * Payloads are derived from the operations' schemas in booking.yaml (see SpecContract and
+ * PayloadGenerator): valid ones, and valid ones with one to three mutations. fuzz.concurrency
+ * workers send them through BookingClient and AuthClient for fuzz.duration.seconds, capped at
+ * fuzz.rate requests per second by the suite's RequestThrottle. ResponseOracle turns every
+ * answer into a verdict: a 5xx, an unexpected status, an invalid payload accepted, a valid one
+ * rejected, or a response body that breaks its schema. Verdicts with the same signature are one
+ * finding; when the time is up, the first payload of each finding is shrunk (see Shrinker) to
+ * a minimal one that still reproduces it.
+ *
+ * Case n of a run with seed s is always the same payload, so -Dfuzz.seed=s generates the run
+ * again; the answers can still differ if the server's state does.
+ *
+ * Run with:  mvn -Pfuzz test-compile exec:java -Denv=local -Dfuzz.duration.seconds=60
+ * Settings:  see FuzzProfile. The summary and findings.json (original and shrunk payload per
+ *            finding) are written to target/fuzz-report/, with the per-endpoint HTTP metrics.
+ */
+public final class Fuzzer {
+
+    private static final Path REPORT_DIR = Path.of("target", "fuzz-report");
+    // Spreads consecutive case numbers over the seed space before SplittableRandom mixes them
+    private static final long CASE_STRIDE = 0x9E3779B97F4A7C15L;
+
+    private Fuzzer() {
+        // Entry point only — not instantiable
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Per-request logging would dominate client CPU at thousands of payloads a minute
+        if (System.getProperty("http.log.mode") == null) {
+            System.setProperty("http.log.mode", "off");
+        }
+        FuzzProfile profile = FuzzProfile.fromSystemProperties();
+        // fuzz.rate is the cap, never above the environment's own limit unless set explicitly (see FuzzProfile);
+        // the suite's throttle enforces it for every request the clients send
+        System.setProperty("throttle.rate.per.second", String.valueOf(profile.ratePerSecond()));
+        raiseIfUnset("http.pool.max.per.route", profile.concurrency());
+        raiseIfUnset("http.pool.max.total", profile.concurrency());
+
+        PayloadSender sender = new PayloadSender(profile.targets());
+        Map<Target, PayloadGenerator> generators = new EnumMap<>(Target.class);
+        Map<Target, TargetStats> stats = new EnumMap<>(Target.class);
+        for (Target target : profile.targets()) {
+            generators.put(target, new PayloadGenerator(sender.contract(target).request(), profile.invalidRatio()));
+            stats.put(target, new TargetStats());
+        }
+        ConcurrentMap<String, Finding> findings = new ConcurrentHashMap<>();
+
+        System.out.println("Fuzz profile: " + profile);
+        AtomicInteger threadIds = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(profile.concurrency(), runnable -> {
+            Thread thread = new Thread(runnable, "fuzz-worker-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        AtomicLong nextCase = new AtomicLong();
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(profile.durationSeconds());
+        List<Future<?>> loops = new ArrayList<>();
+        for (int i = 0; i < profile.concurrency(); i++) {
+            loops.add(workers.submit(() -> {
+                while (System.nanoTime() < end) {
+                    long caseNumber = nextCase.getAndIncrement();
+                    if (profile.maxCases() > 0 && caseNumber >= profile.maxCases()) {
+                        break;
+                    }
+                    runCase(profile, caseNumber, generators, sender, stats, findings);
+                }
+            }));
+        }
+        for (Future<?> loop : loops) {
+            loop.get();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        long cases = stats.values().stream().mapToLong(s -> s.sent.sum()).sum();
+
+        List<Finding> ordered = new ArrayList<>(findings.values());
+        ordered.sort(Comparator.comparing((Finding finding) -> finding.verdict.kind()).thenComparing(finding -> finding.signature));
+        System.out.println("Shrinking " + ordered.size() + " findings...");
+        Shrinker shrinker = new Shrinker(sender, profile.shrinkMaxAttempts());
+        List<Future<Shrinker.Result>> shrinking = new ArrayList<>();
+        for (Finding finding : ordered) {
+            shrinking.add(workers.submit(() -> shrinker.shrink(finding.target, finding.payload, finding.signature)));
+        }
+        for (int i = 0; i < ordered.size(); i++) {
+            ordered.get(i).shrunk = shrinking.get(i).get();
+        }
+        workers.shutdown();
+
+        String report = formatReport(profile, stats, ordered, cases, elapsedSeconds, sender);
+        System.out.println(report);
+        writeReport(report, profile, ordered);
+        HttpMetrics.getInstance().export(REPORT_DIR);
+    }
+
+    private static void runCase(FuzzProfile profile, long caseNumber, Map<Target, PayloadGenerator> generators,
+                                PayloadSender sender, Map<Target, TargetStats> stats, ConcurrentMap<String, Finding> findings) {
+        SplittableRandom random = new SplittableRandom(profile.seed() ^ caseNumber * CASE_STRIDE);
+        Target target = profile.targets().get(random.nextInt(profile.targets().size()));
+        Payload payload = generators.get(target).next(random);
+        PayloadSender.Answer answer = sender.check(target, payload);
+        stats.get(target).record(answer);
+        answer.verdict().ifPresent(found -> findings
+                .computeIfAbsent(found.signature(target), signature -> new Finding(target, signature, found, payload, caseNumber))
+                .occurrences.increment());
+    }
+
+    private static void raiseIfUnset(String key, int value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, String.valueOf(value));
+        }
+    }
+
+    private static String formatReport(FuzzProfile profile, Map<Target, TargetStats> stats, List<Finding> findings,
+                                       long cases, double elapsedSeconds, PayloadSender sender) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%nFuzzing: %d payloads in %.1fs (%.0f/min), up to %d requests/s, %d in flight, seed %d%n",
+                cases, elapsedSeconds, cases / elapsedSeconds * 60, profile.ratePerSecond(), profile.concurrency(),
+                profile.seed()));
+        stats.forEach((target, s) -> out.append(String.format("%-18s %7d sent, %7d valid, %7d invalid, %6d findings; statuses %s%n",
+                target, s.sent.sum(), s.valid.sum(), s.sent.sum() - s.valid.sum(), s.failing.sum(), s.statuses())));
+        out.append(String.format("Cleanup: deleted %d created bookings, %d could not be deleted%n",
+                sender.deleted(), sender.undeleted()));
+        out.append(String.format("%d distinct findings%n", findings.size()));
+        int number = 0;
+        for (Finding finding : findings) {
+            Shrinker.Result shrunk = finding.shrunk;
+            out.append(String.format("%n[%d] %s — %d payloads, first at case %d%n",
+                    ++number, finding.signature, finding.occurrences.sum(), finding.caseNumber));
+            if (!finding.payload.mutations().isEmpty()) {
+                out.append("    mutations: ").append(String.join("; ", finding.payload.mutations())).append('\n');
+            }
+            out.append("    payload:   ").append(abbreviate(finding.payload.toString())).append('\n');
+            out.append(shrunk.reproduced()
+                    ? String.format("    shrunk:    %s  (%d edits, %d requests)%n", shrunk.payload(), shrunk.edits(), shrunk.attempts())
+                    : "    shrunk:    not reproduced on a second attempt\n");
+            out.append("    response:  ").append(finding.verdict.detail()).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static void writeReport(String report, FuzzProfile profile, List<Finding> findings) throws IOException {
+        Files.createDirectories(REPORT_DIR);
+        Files.writeString(REPORT_DIR.resolve("summary.txt"), report);
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (Finding finding : findings) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("operation", finding.target.toString());
+            entry.put("kind", finding.verdict.kind());
+            entry.put("status", finding.verdict.status());
+            entry.put("rules", finding.verdict.rules());
+            entry.put("occurrences", finding.occurrences.sum());
+            entry.put("seed", profile.seed());
+            entry.put("case", finding.caseNumber);
+            entry.put("mutations", finding.payload.mutations());
+            entry.put("payload", finding.payload.body());
+            entry.put("reproduced", finding.shrunk.reproduced());
+            entry.put("shrunkPayload", finding.shrunk.payload().body());
+            entry.put("response", finding.verdict.detail());
+            entries.add(entry);
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(REPORT_DIR.resolve("findings.json").toFile(), entries);
+        System.out.println("Report written to " + REPORT_DIR.toAbsolutePath());
+    }
+
+    private static String abbreviate(String text) {
+        return text.length() <= 300 ? text : text.substring(0, 300) + "...";
+    }
+
+    /** The first payload seen for one signature, and how many more followed. */
+    private static final class Finding {
+
+        private final Target target;
+        private final String signature;
+        private final Verdict verdict;
+        private final Payload payload;
+        private final long caseNumber;
+        private final LongAdder occurrences = new LongAdder();
+        private Shrinker.Result shrunk;
+
+        Finding(Target target, String signature, Verdict verdict, Payload payload, long caseNumber) {
+            this.target = target;
+            this.signature = signature;
+            this.verdict = verdict;
+            this.payload = payload;
+            this.caseNumber = caseNumber;
+        }
+    }
+
+    private static final class TargetStats {
+
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder valid = new LongAdder();
+        private final LongAdder failing = new LongAdder();
+        private final ConcurrentMap<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+
+        void record(PayloadSender.Answer answer) {
+            sent.increment();
+            if (answer.valid()) {
+                valid.increment();
+            }
+            if (answer.verdict().isPresent()) {
+                failing.increment();
+            }
+            statusCounts.computeIfAbsent(answer.status(), key -> new LongAdder()).increment();
+        }
+
+        String statuses() {
+            Map<Integer, Long> sorted = new TreeMap<>();
+            statusCounts.forEach((status, count) -> sorted.put(status, count.sum()));
+            return sorted.toString();
+        }
+    }
+}
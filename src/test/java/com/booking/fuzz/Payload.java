@@ -0,0 +1,51 @@
+package com.booking.fuzz;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * One generated request body and the mutations applied to it.
+ *
+ * @param json      The body as JSON, or null when it is deliberately not JSON.
+ * @param raw       The body as text when it is not JSON (a truncated document), otherwise null.
+ * @param mutations What was done to the valid payload it started from, e.g. "$.lastname: length 19"; empty if nothing.
+ */
+record Payload(JsonNode json, String raw, List<String> mutations) {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    static Payload of(JsonNode json, List<String> mutations) {
+        return new Payload(json, null, List.copyOf(mutations));
+    }
+
+    static Payload malformed(String raw, List<String> mutations) {
+        return new Payload(null, raw, List.copyOf(mutations));
+    }
+
+    /** What the client sends: Rest-Assured serialises a JsonNode and sends a String as it is. */
+    Object body() {
+        return json != null ? json : raw;
+    }
+
+    /** The spec rules this payload breaks; empty for a valid payload. */
+    List<String> violations(FieldSchema schema) {
+        if (json != null) {
+            return schema.violations(json);
+        }
+        try {
+            // Shrinking can cut a broken document down to one that parses again
+            JsonNode parsed = mapper.readTree(raw);
+            return parsed != null && !parsed.isMissingNode() ? schema.violations(parsed) : List.of("$: empty");
+        } catch (IOException ex) {
+            return List.of("$: not JSON");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return json != null ? json.toString() : raw;
+    }
+}
@@ -0,0 +1,252 @@
+package com.booking.fuzz;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates request bodies from an operation's request schema.
+ *
+ * A valid payload fills every property (optional ones usually) with a value of the declared
+ * type, format and length — the spec's example a quarter of the time, when it is itself valid.
+ * Dates within one object are generated in ascending order, so a checkin/checkout pair forms
+ * a bookable range. An invalid payload is a valid one with one to three mutations: a property
+ * removed, nulled or given another JSON type, a string at or just past its length limits or
+ * with awkward content, a near-miss date or email, an extreme number, an unknown property,
+ * a body that is not an object, or a document cut off mid-way.
+ *
+ * Whether a mutated payload is still valid is not assumed from the mutation — the fuzzer asks
+ * the schema (an unknown property or a unicode name breaks nothing the spec declares).
+ */
+final class PayloadGenerator {
+
+    private static final JsonNodeFactory nodes = JsonNodeFactory.instance;
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String DIGITS = "0123456789";
+    private static final LocalDate FIRST_DATE = LocalDate.of(2030, 1, 1);
+    private static final List<String> AWKWARD_STRINGS = List.of(
+            "   ", "Zoë", "名前テスト", "😀😀😀", "' OR '1'='1", "<script>alert(1)</script>",
+            "a\u0000bc", "../../etc/passwd", "%s%n%s", "null", "\\u0000\\\"");
+    private static final List<String> NEAR_MISS_DATES = List.of(
+            "2030-02-30", "2030-13-01", "2030-00-10", "20301013", "2030-10-13T00:00:00Z", "13/10/2030", "", "0000-00-00");
+    private static final List<String> NEAR_MISS_EMAILS = List.of(
+            "no-at-sign", "a@", "@b.com", "a b@c.com", "a@@b.com", "", "a@b c.com");
+    private static final List<JsonNode> EXTREME_NUMBERS = List.of(
+            nodes.numberNode(0), nodes.numberNode(-1), nodes.numberNode(Integer.MAX_VALUE),
+            nodes.numberNode(Integer.MAX_VALUE + 1L), nodes.numberNode(Long.MIN_VALUE),
+            nodes.numberNode(BigInteger.TWO.pow(70)), nodes.numberNode(1.5), nodes.numberNode(1e308));
+
+    private final FieldSchema schema;
+    private final double invalidRatio;
+
+    PayloadGenerator(FieldSchema schema, double invalidRatio) {
+        this.schema = schema;
+        this.invalidRatio = invalidRatio;
+    }
+
+    Payload next(SplittableRandom random) {
+        JsonNode valid = generate(schema, random, new DateCursor());
+        if (random.nextDouble() >= invalidRatio) {
+            return Payload.of(valid, List.of());
+        }
+        List<String> mutations = new ArrayList<>();
+        JsonNode body = valid;
+        int count = 1 + random.nextInt(3);
+        for (int i = 0; i < count; i++) {
+            if (random.nextInt(40) == 0) {
+                String text = body.toString();
+                mutations.add("$: cut off after " + text.length() / 2 + " characters");
+                return Payload.malformed(text.substring(0, text.length() / 2), mutations);
+            }
+            body = mutate(body, random, mutations);
+        }
+        return Payload.of(body, mutations);
+    }
+
+    private JsonNode generate(FieldSchema field, SplittableRandom random, DateCursor dates) {
+        if (field.example() != null && random.nextInt(4) == 0 && field.violations(field.example()).isEmpty()) {
+            return field.example().deepCopy();
+        }
+        String type = field.type() == null ? "string" : field.type();
+        switch (type) {
+            case "object" -> {
+                ObjectNode object = nodes.objectNode();
+                field.properties().forEach((name, property) -> {
+                    if (field.required().contains(name) || random.nextInt(8) != 0) {
+                        object.set(name, generate(property, random, dates));
+                    }
+                });
+                return object;
+            }
+            case "array" -> {
+                ArrayNode array = nodes.arrayNode();
+                for (int i = random.nextInt(4); i > 0 && field.items() != null; i--) {
+                    array.add(generate(field.items(), random, dates));
+                }
+                return array;
+            }
+            case "integer" -> {
+                return nodes.numberNode(1 + random.nextInt(1_000_000));
+            }
+            case "number" -> {
+                return nodes.numberNode(random.nextDouble() * 1_000);
+            }
+            case "boolean" -> {
+                return nodes.booleanNode(random.nextBoolean());
+            }
+            default -> {
+                return nodes.textNode(text(field, random, dates));
+            }
+        }
+    }
+
+    private static String text(FieldSchema field, SplittableRandom random, DateCursor dates) {
+        if ("date".equals(field.format())) {
+            return dates.next(random).toString();
+        }
+        if ("email".equals(field.format())) {
+            return letters(random, 3 + random.nextInt(8)) + "@" + letters(random, 3 + random.nextInt(8)) + ".com";
+        }
+        int min = field.minLength() != null ? field.minLength() : 3;
+        int max = field.maxLength() != null ? field.maxLength() : Math.max(min, 12);
+        int length = min + random.nextInt(max - min + 1);
+        boolean numeric = field.example() != null && field.example().asText().matches("\\d+");
+        return numeric ? chars(DIGITS, random, length) : letters(random, length);
+    }
+
+    /** Applies one mutation to a random place in the body; the root itself only occasionally. */
+    private JsonNode mutate(JsonNode body, SplittableRandom random, List<String> mutations) {
+        List<Slot> slots = new ArrayList<>();
+        collectSlots(body, schema, "$", slots);
+        if (slots.isEmpty() || random.nextInt(20) == 0) {
+            JsonNode replacement = switch (random.nextInt(4)) {
+                case 0 -> nodes.arrayNode().add(body);
+                case 1 -> nodes.textNode("booking");
+                case 2 -> nodes.numberNode(42);
+                default -> nodes.objectNode();
+            };
+            mutations.add("$: replaced by " + replacement.getNodeType().name().toLowerCase() + " " + abbreviate(replacement));
+            return replacement;
+        }
+        Slot slot = slots.get(random.nextInt(slots.size()));
+        JsonNode current = slot.parent.get(slot.name);
+        switch (random.nextInt(8)) {
+            case 0 -> {
+                slot.parent.remove(slot.name);
+                mutations.add(slot.path + ": removed");
+            }
+            case 1 -> set(slot, nodes.nullNode(), "null", mutations);
+            case 2 -> set(slot, otherType(current, random), "another type", mutations);
+            case 3 -> {
+                if (current.isTextual()) {
+                    int length = boundaryLength(slot.schema, random);
+                    set(slot, nodes.textNode(letters(random, length)), "length " + length, mutations);
+                } else {
+                    set(slot, otherType(current, random), "another type", mutations);
+                }
+            }
+            case 4 -> set(slot, nodes.textNode(pick(AWKWARD_STRINGS, random)), "awkward text", mutations);
+            case 5 -> {
+                if ("date".equals(slot.schema.format())) {
+                    set(slot, nodes.textNode(pick(NEAR_MISS_DATES, random)), "near-miss date", mutations);
+                } else if ("email".equals(slot.schema.format())) {
+                    set(slot, nodes.textNode(pick(NEAR_MISS_EMAILS, random)), "near-miss email", mutations);
+                } else {
+                    set(slot, pick(EXTREME_NUMBERS, random), "extreme number", mutations);
+                }
+            }
+            case 6 -> set(slot, pick(EXTREME_NUMBERS, random), "extreme number", mutations);
+            default -> {
+                ObjectNode target = current.isObject() ? (ObjectNode) current : slot.parent;
+                target.put("unexpected_" + random.nextInt(100), "x");
+                mutations.add(slot.path + ": unknown property added");
+            }
+        }
+        return body;
+    }
+
+    private static void set(Slot slot, JsonNode value, String what, List<String> mutations) {
+        slot.parent.set(slot.name, value);
+        mutations.add(slot.path + ": " + what + " " + abbreviate(value));
+    }
+
+    /** Every property of every object in the body, with the schema it should satisfy. */
+    private static void collectSlots(JsonNode node, FieldSchema field, String path, List<Slot> slots) {
+        if (!node.isObject()) {
+            return;
+        }
+        for (Map.Entry<String, FieldSchema> property : field.properties().entrySet()) {
+            JsonNode value = node.get(property.getKey());
+            if (value != null) {
+                String childPath = path + "." + property.getKey();
+                slots.add(new Slot((ObjectNode) node, property.getKey(), property.getValue(), childPath));
+                collectSlots(value, property.getValue(), childPath, slots);
+            }
+        }
+    }
+
+    private static int boundaryLength(FieldSchema field, SplittableRandom random) {
+        List<Integer> lengths = new ArrayList<>(List.of(0, 1, 256, 10_000));
+        if (field.minLength() != null) {
+            lengths.addAll(List.of(field.minLength() - 1, field.minLength()));
+        }
+        if (field.maxLength() != null) {
+            lengths.addAll(List.of(field.maxLength(), field.maxLength() + 1));
+        }
+        return Math.max(0, pick(lengths, random));
+    }
+
+    private static JsonNode otherType(JsonNode current, SplittableRandom random) {
+        List<JsonNode> candidates = new ArrayList<>(List.of(
+                nodes.textNode(current.isValueNode() ? current.asText() : "x"), nodes.numberNode(1),
+                nodes.numberNode(1.5), nodes.booleanNode(true), nodes.objectNode(), nodes.arrayNode()));
+        candidates.removeIf(candidate -> candidate.getNodeType() == current.getNodeType()
+                && candidate.isIntegralNumber() == current.isIntegralNumber());
+        return pick(candidates, random);
+    }
+
+    private static String abbreviate(JsonNode value) {
+        String text = value.toString();
+        return text.length() <= 24 ? text : text.substring(0, 21) + "...";
+    }
+
+    private static String letters(SplittableRandom random, int length) {
+        return chars(LETTERS, random, length);
+    }
+
+    private static String chars(String alphabet, SplittableRandom random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+
+    private static <T> T pick(List<T> values, SplittableRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private record Slot(ObjectNode parent, String name, FieldSchema schema, String path) {
+    }
+
+    /** Hands out increasing dates, a few days apart, starting somewhere in the first ten years. */
+    private static final class DateCursor {
+
+        private LocalDate last;
+
+        LocalDate next(SplittableRandom random) {
+            last = last == null
+                    ? FIRST_DATE.plusDays(random.nextInt(3650))
+                    : last.plusDays(1 + random.nextInt(14));
+            return last;
+        }
+    }
+}
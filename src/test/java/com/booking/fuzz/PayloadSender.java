@@ -0,0 +1,107 @@
+package com.booking.fuzz;
+
+import com.booking.clients.AuthClient;
+import com.booking.clients.BookingClient;
+import com.booking.config.ConfigManager;
+import com.booking.dto.TokenRequest;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends payloads through BookingClient and AuthClient and judges the answers.
+ *
+ * Every booking a payload manages to create is deleted straight away, so the fuzzer leaves
+ * nothing behind and a payload sent again while shrinking does not collide with its own
+ * earlier booking. Each worker thread gets its own clients, as in the load generator.
+ */
+final class PayloadSender {
+
+    private final ThreadLocal<BookingClient> bookingClient = ThreadLocal.withInitial(BookingClient::new);
+    private final ThreadLocal<AuthClient> authClient = ThreadLocal.withInitial(AuthClient::new);
+    private final TokenRequest adminCredentials = TokenRequest.builder()
+            .username(ConfigManager.getInstance().getAdminUsername())
+            .password(ConfigManager.getInstance().getAdminPassword())
+            .build();
+    private final Map<Target, SpecContract> contracts = new EnumMap<>(Target.class);
+    private final Map<Target, ResponseOracle> oracles = new EnumMap<>(Target.class);
+    private final LongAdder deleted = new LongAdder();
+    private final LongAdder undeleted = new LongAdder();
+
+    PayloadSender(List<Target> targets) {
+        for (Target target : targets) {
+            SpecContract contract = SpecContract.load(target);
+            contracts.put(target, contract);
+            oracles.put(target, new ResponseOracle(contract));
+        }
+    }
+
+    SpecContract contract(Target target) {
+        return contracts.get(target);
+    }
+
+    /**
+     * The answer to one payload.
+     *
+     * @param status  HTTP status, or 0 when no response arrived.
+     * @param valid   Whether the payload satisfies the request schema.
+     * @param verdict What was wrong with the answer; empty if it is what the contract allows.
+     */
+    record Answer(int status, boolean valid, Optional<Verdict> verdict) {
+    }
+
+    /** Sends the payload once and judges the answer. */
+    Answer check(Target target, Payload payload) {
+        List<String> violations = payload.violations(contracts.get(target).request());
+        Response response;
+        try {
+            response = send(target, payload);
+        } catch (Exception ex) {
+            // Rest-Assured rethrows checked IOExceptions undeclared, so catch broadly: a timeout or
+            // refused connection is a NO_RESPONSE finding, not the end of the run
+            return new Answer(0, violations.isEmpty(), Optional.of(ResponseOracle.noResponse(violations, ex)));
+        }
+        String body = response.getBody().asString();
+        if (target == Target.CREATE_BOOKING && response.getStatusCode() / 100 == 2) {
+            deleteCreated(body);
+        }
+        return new Answer(response.getStatusCode(), violations.isEmpty(),
+                oracles.get(target).judge(violations, response.getStatusCode(), body));
+    }
+
+    long deleted() {
+        return deleted.sum();
+    }
+
+    long undeleted() {
+        return undeleted.sum();
+    }
+
+    private Response send(Target target, Payload payload) {
+        return switch (target) {
+            case CREATE_BOOKING -> bookingClient.get().createBooking(payload.body());
+            case LOGIN -> authClient.get().createToken(payload.body());
+        };
+    }
+
+    private void deleteCreated(String body) {
+        try {
+            Object id = JsonPath.from(body).get("bookingid");
+            if (id == null) {
+                undeleted.increment();
+                return;
+            }
+            String cookie = "token=" + authClient.get().getCachedToken(adminCredentials);
+            int status = bookingClient.get().deleteBooking(id, cookie).getStatusCode();
+            (status / 100 == 2 ? deleted : undeleted).increment();
+        } catch (Exception ex) {
+            // Best effort: a booking left behind does not change the verdict
+            undeleted.increment();
+        }
+    }
+}
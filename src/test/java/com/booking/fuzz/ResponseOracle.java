@@ -0,0 +1,102 @@
+package com.booking.fuzz;
+
+import com.booking.validation.SchemaRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.core.report.LogLevel;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Decides whether the answer to a payload is a finding, in this order: a 5xx; a status that is
+ * neither documented nor known live behaviour (see Target); a 2xx for a payload that breaks the
+ * spec; a 400 for one that does not; a body that does not match the documented schema for its
+ * status, or the suite's schema for a known live 2xx. Anything else — a 409 for a taken room, a
+ * 401 for unknown credentials — is the API doing its job.
+ */
+final class ResponseOracle {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final int MAX_DETAIL_CHARS = 500;
+
+    private final SpecContract contract;
+
+    ResponseOracle(SpecContract contract) {
+        this.contract = contract;
+    }
+
+    /**
+     * @param violations The spec rules the payload breaks (Payload.violations()).
+     */
+    Optional<Verdict> judge(List<String> violations, int status, String body) {
+        String detail = abbreviate(body);
+        if (status >= 500) {
+            return Optional.of(new Verdict(Verdict.Kind.SERVER_ERROR, status, violations, detail));
+        }
+        if (!contract.expects(status)) {
+            return Optional.of(new Verdict(Verdict.Kind.UNEXPECTED_STATUS, status, violations, detail));
+        }
+        boolean success = status >= 200 && status < 300;
+        if (success && !violations.isEmpty()) {
+            return Optional.of(new Verdict(Verdict.Kind.INVALID_ACCEPTED, status, violations, detail));
+        }
+        if (status == 400 && violations.isEmpty()) {
+            return Optional.of(new Verdict(Verdict.Kind.VALID_REJECTED, status, violations, detail));
+        }
+        List<String> broken = responseViolations(status, success, body);
+        if (!broken.isEmpty()) {
+            return Optional.of(new Verdict(Verdict.Kind.RESPONSE_CONTRACT, status, broken, detail));
+        }
+        return Optional.empty();
+    }
+
+    static Verdict noResponse(List<String> violations, Exception ex) {
+        return new Verdict(Verdict.Kind.NO_RESPONSE, 0, violations, abbreviate(ex.toString()));
+    }
+
+    private List<String> responseViolations(int status, boolean success, String body) {
+        Optional<FieldSchema> documented = contract.responses().getOrDefault(status, Optional.empty());
+        String liveSchema = contract.target().liveResponseSchema();
+        boolean knownLiveSuccess = success && liveSchema != null && !contract.responses().containsKey(status);
+        if (documented.isEmpty() && !knownLiveSuccess) {
+            return List.of();
+        }
+        JsonNode json;
+        try {
+            json = mapper.readTree(body);
+        } catch (IOException ex) {
+            return List.of("response $: not JSON");
+        }
+        if (json == null || json.isMissingNode()) {
+            return List.of("response $: empty");
+        }
+        List<String> broken = new ArrayList<>();
+        if (documented.isPresent()) {
+            documented.get().violations(json).forEach(rule -> broken.add("response " + rule));
+        } else {
+            ProcessingReport report = SchemaRegistry.getInstance().validate(liveSchema, json);
+            for (ProcessingMessage message : report) {
+                if (message.getLogLevel().compareTo(LogLevel.ERROR) < 0) {
+                    // e.g. "format attribute not supported" warnings
+                    continue;
+                }
+                JsonNode error = message.asJson();
+                broken.add("response $" + error.path("instance").path("pointer").asText().replace('/', '.')
+                        + ": " + error.path("keyword").asText() + " (" + liveSchema + ")");
+            }
+        }
+        return broken;
+    }
+
+    private static String abbreviate(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.length() <= MAX_DETAIL_CHARS ? text : text.substring(0, MAX_DETAIL_CHARS) + "...";
+    }
+}
@@ -0,0 +1,156 @@
+package com.booking.fuzz;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cuts a failing payload down to a minimal one that still fails the same way.
+ *
+ * Greedy and one edit at a time: remove a property or array element, shorten a string (to
+ * empty, to a half, to three quarters, by one character), bring a number towards zero; for a
+ * document that is not JSON, shorten it the same way or drop its first character. Every candidate is sent again, and kept if its
+ * verdict has the same signature — same kind, same status, same broken rules — so the payload
+ * cannot drift to a different problem on the way. It stops when no single edit keeps the
+ * failure, or after fuzz.shrink.max.attempts requests.
+ */
+final class Shrinker {
+
+    private static final JsonNodeFactory nodes = JsonNodeFactory.instance;
+
+    private final PayloadSender sender;
+    private final int maxAttempts;
+
+    Shrinker(PayloadSender sender, int maxAttempts) {
+        this.sender = sender;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * @param attempts Requests sent while shrinking.
+     * @param reproduced False if even the original payload no longer fails the same way.
+     */
+    record Result(Payload payload, int attempts, int edits, boolean reproduced) {
+    }
+
+    Result shrink(Target target, Payload failing, String signature) {
+        int attempts = 1;
+        if (!fails(target, failing, signature)) {
+            return new Result(failing, attempts, 0, false);
+        }
+        Payload current = failing;
+        int edits = 0;
+        boolean shrunkInPass = true;
+        while (shrunkInPass && attempts < maxAttempts) {
+            // One pass over every edit; after a kept edit the pass resumes at the same position
+            // in the new payload's candidates, so edits that already failed are not retried in this pass
+            shrunkInPass = false;
+            List<Payload> candidates = candidates(current);
+            for (int i = 0; i < candidates.size() && attempts < maxAttempts; i++) {
+                attempts++;
+                if (fails(target, candidates.get(i), signature)) {
+                    current = candidates.get(i);
+                    edits++;
+                    shrunkInPass = true;
+                    candidates = candidates(current);
+                    i--;
+                }
+            }
+        }
+        return new Result(current, attempts, edits, true);
+    }
+
+    private boolean fails(Target target, Payload payload, String signature) {
+        Optional<Verdict> verdict = sender.check(target, payload).verdict();
+        return verdict.isPresent() && verdict.get().signature(target).equals(signature);
+    }
+
+    private static List<Payload> candidates(Payload payload) {
+        List<Payload> candidates = new ArrayList<>();
+        if (payload.raw() != null) {
+            String raw = payload.raw();
+            for (String shorter : shorterStrings(raw)) {
+                candidates.add(Payload.malformed(shorter, payload.mutations()));
+            }
+            if (!raw.isEmpty()) {
+                candidates.add(Payload.malformed(raw.substring(1), payload.mutations()));
+            }
+            return candidates;
+        }
+        List<JsonNode> removals = new ArrayList<>();
+        List<JsonNode> simplifications = new ArrayList<>();
+        collect(payload.json(), UnaryOperator.identity(), removals, simplifications);
+        removals.forEach(json -> candidates.add(Payload.of(json, payload.mutations())));
+        simplifications.forEach(json -> candidates.add(Payload.of(json, payload.mutations())));
+        return candidates;
+    }
+
+    /**
+     * Adds one candidate per possible edit under node. rebuild turns a replacement for node
+     * into a fresh copy of the whole payload with that replacement in place.
+     */
+    private static void collect(JsonNode node, UnaryOperator<JsonNode> rebuild,
+                                List<JsonNode> removals, List<JsonNode> simplifications) {
+        if (node.isObject()) {
+            List<String> names = new ArrayList<>();
+            node.fieldNames().forEachRemaining(names::add);
+            for (String name : names) {
+                ObjectNode without = ((ObjectNode) node).deepCopy();
+                without.remove(name);
+                removals.add(rebuild.apply(without));
+                collect(node.get(name), child -> {
+                    ObjectNode copy = ((ObjectNode) node).deepCopy();
+                    copy.set(name, child);
+                    return rebuild.apply(copy);
+                }, removals, simplifications);
+            }
+        } else if (node.isArray()) {
+            for (int i = 0; i < node.size(); i++) {
+                int index = i;
+                ArrayNode without = ((ArrayNode) node).deepCopy();
+                without.remove(index);
+                removals.add(rebuild.apply(without));
+                collect(node.get(index), child -> {
+                    ArrayNode copy = ((ArrayNode) node).deepCopy();
+                    copy.set(index, child);
+                    return rebuild.apply(copy);
+                }, removals, simplifications);
+            }
+        } else if (node.isTextual()) {
+            shorterStrings(node.asText()).forEach(shorter -> simplifications.add(rebuild.apply(nodes.textNode(shorter))));
+        } else if (node.isIntegralNumber()) {
+            BigInteger value = node.bigIntegerValue();
+            for (BigInteger smaller : List.of(BigInteger.ZERO, BigInteger.ONE, value.shiftRight(1))) {
+                if (smaller.abs().compareTo(value.abs()) < 0) {
+                    simplifications.add(rebuild.apply(nodes.numberNode(smaller)));
+                }
+            }
+        } else if (node.isNumber() && node.doubleValue() != 0) {
+            simplifications.add(rebuild.apply(nodes.numberNode(0.0)));
+        }
+    }
+
+    private static List<String> shorterStrings(String text) {
+        if (text.isEmpty()) {
+            return List.of();
+        }
+        List<String> shorter = new ArrayList<>(List.of(""));
+        if (text.length() > 2) {
+            shorter.add(text.substring(0, text.length() / 2));
+        }
+        if (text.length() > 4) {
+            shorter.add(text.substring(0, text.length() * 3 / 4));
+        }
+        if (text.length() > 1) {
+            shorter.add(text.substring(0, text.length() - 1));
+        }
+        return shorter;
+    }
+}
@@ -0,0 +1,110 @@
+package com.booking.fuzz;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The request and response contract of one operation, read from spec/booking.yaml.
+ *
+ * booking.yaml declares types, formats and required fields but no length limits; those only
+ * appear in the messages of its 400 examples ("size must be between 3 and 18", under examples
+ * named after the field, e.g. firstname_too_short). They are lifted onto the matching request
+ * properties, so a lastname of 19 characters counts as invalid, just as the spec implies.
+ *
+ * @param request   Schema of the request body.
+ * @param responses Schema of the body per documented status; a status without content maps to an empty Optional.
+ */
+record SpecContract(Target target, FieldSchema request, Map<Integer, Optional<FieldSchema>> responses) {
+
+    private static final String SPEC_RESOURCE = "spec/booking.yaml";
+    private static final Pattern SIZE_MESSAGE = Pattern.compile("size must be between (\\d+) and (\\d+)");
+
+    static SpecContract load(Target target) {
+        try (InputStream input = SpecContract.class.getClassLoader().getResourceAsStream(SPEC_RESOURCE)) {
+            if (input == null) {
+                throw new RuntimeException("OpenAPI specification not found on classpath: " + SPEC_RESOURCE);
+            }
+            return parse(target, new YAMLMapper().readTree(input));
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new RuntimeException("Failed to read OpenAPI specification: " + SPEC_RESOURCE, ex);
+        }
+    }
+
+    /** Whether the status is documented for the operation, or one the live API is known to use. */
+    boolean expects(int status) {
+        return responses.containsKey(status) || target.liveStatuses().contains(status);
+    }
+
+    private static SpecContract parse(Target target, JsonNode spec) {
+        JsonNode operation = spec.path("paths").path(target.path()).path(target.method().toLowerCase(Locale.ROOT));
+        if (operation.isMissingNode()) {
+            throw new IllegalStateException(target + " is not in " + SPEC_RESOURCE);
+        }
+        FieldSchema request = schema(spec, operation.path("requestBody").path("content").path("application/json").path("schema"));
+
+        Map<Integer, Optional<FieldSchema>> responses = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> statuses = operation.path("responses").fields();
+        while (statuses.hasNext()) {
+            Map.Entry<String, JsonNode> status = statuses.next();
+            JsonNode content = status.getValue().path("content").path("application/json");
+            responses.put(Integer.parseInt(status.getKey()),
+                    content.has("schema") ? Optional.of(schema(spec, content.path("schema"))) : Optional.empty());
+            request = withExampleLengths(request, content.path("examples"));
+        }
+        return new SpecContract(target, request, Collections.unmodifiableMap(responses));
+    }
+
+    private static FieldSchema schema(JsonNode spec, JsonNode node) {
+        if (node.has("$ref")) {
+            // Local references only: "#/components/schemas/Booking"
+            JsonNode resolved = spec;
+            for (String part : node.path("$ref").asText().substring(2).split("/")) {
+                resolved = resolved.path(part);
+            }
+            return schema(spec, resolved);
+        }
+        List<String> required = new ArrayList<>();
+        node.path("required").forEach(name -> required.add(name.asText()));
+        Map<String, FieldSchema> properties = new LinkedHashMap<>();
+        node.path("properties").fields().forEachRemaining(property ->
+                properties.put(property.getKey(), schema(spec, property.getValue())));
+        return new FieldSchema(
+                node.path("type").textValue(),
+                node.path("format").textValue(),
+                List.copyOf(required),
+                Collections.unmodifiableMap(properties),
+                node.has("items") ? schema(spec, node.path("items")) : null,
+                node.has("minLength") ? node.path("minLength").asInt() : null,
+                node.has("maxLength") ? node.path("maxLength").asInt() : null,
+                node.has("example") ? node.path("example") : null);
+    }
+
+    private static FieldSchema withExampleLengths(FieldSchema request, JsonNode examples) {
+        Iterator<Map.Entry<String, JsonNode>> entries = examples.fields();
+        while (entries.hasNext()) {
+            Map.Entry<String, JsonNode> example = entries.next();
+            String field = example.getKey().split("_")[0];
+            FieldSchema property = request.properties().get(field);
+            Matcher size = SIZE_MESSAGE.matcher(example.getValue().path("value").toString());
+            if (property != null && "string".equals(property.type()) && size.find()) {
+                request = request.withProperty(field,
+                        property.withLength(Integer.parseInt(size.group(1)), Integer.parseInt(size.group(2))));
+            }
+        }
+        return request;
+    }
+}
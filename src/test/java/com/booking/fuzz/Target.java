@@ -0,0 +1,50 @@
+package com.booking.fuzz;
+
+import java.util.Set;
+
+/**
+ * The operations the fuzzer sends payloads to, as named in booking.yaml.
+ *
+ * Besides the statuses the spec documents, each accepts those the live API is known to answer
+ * with, mirroring what the functional features assert: POST /booking returns 201 (not the
+ * documented 200) with a flat booking body, and 409 when the room is taken or checkout is not
+ * after checkin. A 2xx body is then checked against the suite's schema for that live answer.
+ */
+enum Target {
+    CREATE_BOOKING("POST", "/booking", Set.of(201, 409), "booking-response-schema.json"),
+    LOGIN("POST", "/auth/login", Set.of(), null);
+
+    private final String method;
+    private final String path;
+    private final Set<Integer> liveStatuses;
+    private final String liveResponseSchema;
+
+    Target(String method, String path, Set<Integer> liveStatuses, String liveResponseSchema) {
+        this.method = method;
+        this.path = path;
+        this.liveStatuses = liveStatuses;
+        this.liveResponseSchema = liveResponseSchema;
+    }
+
+    String method() {
+        return method;
+    }
+
+    String path() {
+        return path;
+    }
+
+    Set<Integer> liveStatuses() {
+        return liveStatuses;
+    }
+
+    /** File name under schemas/ for a 2xx body in an undocumented status, or null. */
+    String liveResponseSchema() {
+        return liveResponseSchema;
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + path;
+    }
+}
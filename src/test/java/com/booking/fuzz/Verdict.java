@@ -0,0 +1,37 @@
+package com.booking.fuzz;
+
+import java.util.List;
+
+/**
+ * What was wrong with the answer to one payload.
+ *
+ * @param status HTTP status, or 0 when no response arrived.
+ * @param rules  The spec rules the payload breaks, or the response rules the answer breaks
+ *               for RESPONSE_CONTRACT. Value-free, so they identify the problem, not the instance.
+ * @param detail Human-readable evidence: the response body or the exception.
+ */
+record Verdict(Kind kind, int status, List<String> rules, String detail) {
+
+    enum Kind {
+        /** A 5xx answer. */
+        SERVER_ERROR,
+        /** The connection failed or timed out. */
+        NO_RESPONSE,
+        /** A status neither the spec nor the known live behaviour includes. */
+        UNEXPECTED_STATUS,
+        /** A 2xx answer to a payload that breaks the spec. */
+        INVALID_ACCEPTED,
+        /** A 400 answer to a payload the spec allows. */
+        VALID_REJECTED,
+        /** A response body that does not match the schema for its status. */
+        RESPONSE_CONTRACT
+    }
+
+    /**
+     * Identifies the problem: two payloads with the same signature are the same finding, and a
+     * shrunk payload must keep it to still reproduce the finding.
+     */
+    String signature(Target target) {
+        return target + " " + kind + " " + status + " " + rules;
+    }
+}
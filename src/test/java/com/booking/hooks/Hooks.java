@@ -2,24 +2,48 @@ package com.booking.hooks;
 
 import com.booking.clients.AuthClient;
 import com.booking.clients.BookingClient;
+import com.booking.clients.BookingPool;
+import com.booking.clients.BookingTeardownQueue;
+import com.booking.clients.HealthGate;
+import com.booking.clients.HttpCassette;
+import com.booking.clients.HttpExchangeLog;
+import com.booking.clients.HttpMetrics;
+import com.booking.clients.HttpTransport;
+import com.booking.clients.RequestThrottle;
+import com.booking.clients.RetryPolicy;
 import com.booking.config.ConfigManager;
 import com.booking.context.ScenarioContext;
 import com.booking.dto.TokenRequest;
+import com.booking.factory.SlotAllocator;
+import com.booking.stub.StubServer;
 import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
 import io.cucumber.java.Before;
+import io.cucumber.java.BeforeAll;
 import io.cucumber.java.Scenario;
 import io.qameta.allure.Allure;
 import io.restassured.response.Response;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 /**
  * Cucumber lifecycle hooks for scenario setup and teardown.
  *
  * Execution order:
- *   @Before(order = 0)  — setUp:              initialises Allure step
- *   @After(order = 20)  — attachLogsOnFailure: captures response/request to Allure (runs FIRST)
+ *   @BeforeAll          — verifyEnvironmentIsHealthy: one health probe for the whole run, prints the test data seed, starts the booking pool
+ *   @Before(order = 0)  — setUp:              initialises Allure step, resets the HTTP log buffer, starts the scenario's cassette
+ *   @After(order = 20)  — attachLogsOnFailure: captures response/request and buffered HTTP log (runs FIRST)
  *   @After(order = 10)  — teardownBookingData: deletes test data created during scenario (runs SECOND)
+ *   @After(order = 0)   — endCassetteScenario: ends the scenario's cassette, after its teardown requests (runs LAST)
+ *   @AfterAll(order = 30) — closeBookingPool:     queues unused pooled bookings for deletion (runs FIRST)
+ *   @AfterAll(order = 20) — flushBookingTeardown: waits for queued async deletions, prints the summary (runs SECOND)
+ *   @AfterAll(order = 10) — reportTransportStats: prints HTTP pool reuse, throttle waits and retry totals (runs THIRD)
+ *   @AfterAll(order = 7)  — saveHttpCassettes:    writes the recorded cassettes, in http.cassette.mode=record (runs FOURTH)
+ *   @AfterAll(order = 5)  — exportHttpMetrics:    writes per-endpoint latency metrics (runs FIFTH)
+ *   @AfterAll(order = 0)  — stopStubServer:       stops the embedded stub, if this run started one (runs LAST)
  *
- * Cucumber @After hooks execute in DESCENDING order — higher number runs first.
+ * Cucumber @After and @AfterAll hooks execute in DESCENDING order — higher number runs first.
  * This guarantees logs are captured before data is deleted.
  *
  * ScenarioContext is injected by PicoContainer, giving each scenario its own isolated instance with no shared state between scenarios.
@@ -29,6 +53,8 @@ import io.restassured.response.Response;
  */
 public class Hooks {
 
+    private static final Path HTTP_METRICS_DIR = Path.of("target", "http-metrics");
+
     private final ScenarioContext context;
     private final BookingClient bookingClient;
     private final AuthClient authClient;
@@ -39,12 +65,32 @@ public class Hooks {
         this.authClient = new AuthClient();
     }
 
+    /**
+     * Runs once before the first scenario.
+     * Probes the environment a single time for the whole run; if it is down the run aborts
+     * here instead of every scenario waiting out its own connect timeout.
+     * Prints the test data seed, so a run's rooms and dates can be reproduced with -Dtestdata.seed.
+     * With booking.pool.enabled the booking pool then starts filling, ahead of the first scenario.
+     */
+    @BeforeAll
+    public static void verifyEnvironmentIsHealthy() {
+        HealthGate.getInstance().requireHealthy();
+        System.out.println("Test data seed: " + SlotAllocator.getInstance().seed());
+        if (ConfigManager.getInstance().isBookingPoolEnabled()) {
+            BookingPool.getInstance();
+        }
+    }
+
     /**
      * Runs before every scenario.
-     * Registers the scenario name as an Allure step for traceability.
+     * Registers the scenario name as an Allure step for traceability and starts a fresh
+     * HTTP exchange buffer for this scenario's thread. With http.cassette.mode record or replay,
+     * the scenario's requests are recorded under, or replayed from, its feature file and line.
      */
     @Before(order = 0)
     public void setUp(Scenario scenario) {
+        HttpExchangeLog.startScenario();
+        HttpCassette.getInstance().startScenario(scenario.getUri(), scenario.getLine());
         Allure.step("Starting scenario: " + scenario.getName());
     }
 
@@ -52,6 +98,8 @@ public class Hooks {
      * Runs FIRST on teardown (order = 20, higher number = runs first in @After).
      * Attaches request and response details to the Allure report on failure,
      * providing full diagnostic context before any cleanup occurs.
+     * The buffered HTTP exchanges (http.log.mode=on-failure) are flushed to Allure and the
+     * console here — and only here, so passing scenarios never format or print them.
      */
     @After(order = 20)
     public void attachLogsOnFailure(Scenario scenario) {
@@ -67,6 +115,11 @@ public class Hooks {
                 Allure.addAttachment("API Response Body", "application/json",
                         response.getBody().asPrettyString());
             }
+            String httpLog = HttpExchangeLog.drain(ConfigManager.getInstance().getHttpLogMaxBodyChars());
+            if (!httpLog.isEmpty()) {
+                Allure.addAttachment("HTTP Exchanges", "text/plain", httpLog);
+                System.out.println("HTTP exchanges for failed scenario '" + scenario.getName() + "':\n" + httpLog);
+            }
         }
     }
 
@@ -76,13 +129,21 @@ public class Hooks {
      * between test runs.
      *
      * Teardown Logic: if the scenario under test did not authenticate
-     * (e.g. a create-only happy path test), this hook dynamically fetches an admin token to perform the deletion,
-     * ensuring cleanup always succeeds regardless of which scenarios ran before it.
+     * (e.g. a create-only happy path test), this hook fetches the admin token from AuthClient's
+     * token cache to perform the deletion — normally without any extra login round trip.
+     *
+     * With teardown.mode=async the ID is only queued on BookingTeardownQueue and deleted by a
+     * background worker, so the scenario's wall time no longer includes cleanup.
      */
     @After(order = 10)
     public void teardownBookingData() {
         if (context.contains(ScenarioContext.ContextKey.BOOKING_ID)) {
             Object bookingId = context.get(ScenarioContext.ContextKey.BOOKING_ID);
+            if (bookingId != null && "async".equalsIgnoreCase(ConfigManager.getInstance().getTeardownMode())) {
+                BookingTeardownQueue.getInstance().enqueue(bookingId);
+                Allure.step("Teardown: queued booking ID " + bookingId + " for deletion");
+                return;
+            }
             String tokenHeader = context.get(ScenarioContext.ContextKey.AUTH_TOKEN);
 
             if (tokenHeader == null) {
@@ -90,9 +151,10 @@ public class Hooks {
                         .username(ConfigManager.getInstance().getAdminUsername())
                         .password(ConfigManager.getInstance().getAdminPassword())
                         .build();
-                Response tokenResponse = authClient.createToken(creds);
-                if (tokenResponse.getStatusCode() == 200) {
-                    tokenHeader = "token=" + tokenResponse.jsonPath().getString("token");
+                try {
+                    tokenHeader = "token=" + authClient.getCachedToken(creds);
+                } catch (IllegalStateException ex) {
+                    Allure.step("Teardown: could not obtain admin token — " + ex.getMessage());
                 }
             }
 
@@ -102,4 +164,87 @@ public class Hooks {
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Runs LAST on teardown (order = 0), so the teardown deletion is still part of the scenario's
+     * cassette. Later requests on this thread are shared ones, such as the booking pool's.
+     */
+    @After(order = 0)
+    public void endCassetteScenario() {
+        HttpCassette.getInstance().endScenario();
+    }
+
+    /**
+     * Runs once after the last scenario, before the teardown flush.
+     * Stops the booking pool and queues the bookings no scenario used for deletion.
+     */
+    @AfterAll(order = 30)
+    public static void closeBookingPool() {
+        if (BookingPool.isStarted()) {
+            System.out.println("Booking pool: " + BookingPool.getInstance().close() + " unused bookings queued for deletion");
+        }
+    }
+
+    /**
+     * Runs once after the last scenario.
+     * Waits for the async teardown queue to drain and prints how many deletions succeeded or failed.
+     */
+    @AfterAll(order = 20)
+    public static void flushBookingTeardown() {
+        if (BookingTeardownQueue.isStarted()) {
+            System.out.println("Booking teardown: " + BookingTeardownQueue.getInstance().flush());
+        }
+    }
+
+    /**
+     * Runs once after the last scenario.
+     * Prints the shared HTTP pool statistics so connection reuse can be confirmed from the CI log,
+     * how long requests waited for the client-side RequestThrottle (self-inflicted slowness),
+     * and the run's RetryPolicy totals, so flakiness absorbed by retries stays visible.
+     */
+    @AfterAll(order = 10)
+    public static void reportTransportStats() {
+        System.out.println("HTTP connection pool: " + HttpTransport.getInstance().stats());
+        System.out.println("HTTP throttle: " + RequestThrottle.getInstance().stats());
+        System.out.println("HTTP retries: " + RetryPolicy.getInstance().stats());
+    }
+
+    /**
+     * Runs once after the last scenario, after the teardown flush so its deletions are included.
+     * In http.cassette.mode=record, writes the run's exchanges to the cassettes (see HttpCassette).
+     */
+    @AfterAll(order = 7)
+    public static void saveHttpCassettes() throws IOException {
+        if (HttpCassette.getInstance().mode() == HttpCassette.Mode.RECORD) {
+            int exchanges = HttpCassette.getInstance().save();
+            System.out.println("HTTP cassettes: " + exchanges + " exchanges recorded to "
+                    + Path.of(ConfigManager.getInstance().getHttpCassetteDir()).toAbsolutePath());
+        }
+    }
+
+    /**
+     * Runs once after the last scenario, after the teardown flush so its deletions are included.
+     * Writes per-endpoint latency, status and byte metrics in Allure's Prometheus and InfluxDB
+     * export formats (see HttpMetrics).
+     */
+    @AfterAll(order = 5)
+    public static void exportHttpMetrics() throws IOException {
+        if (!HttpMetrics.getInstance().isEmpty()) {
+            HttpMetrics.getInstance().export(HTTP_METRICS_DIR);
+            System.out.println("HTTP metrics written to " + HTTP_METRICS_DIR.toAbsolutePath());
+        }
+    }
+
+    /**
+     * Runs once after everything else, when no more requests are sent.
+     * Stops the embedded StubServer (-Denv=local) so a long-lived JVM such as WatchRunner does not
+     * keep one listening server per run. SoakRunner keeps it (stub.stop.after.run=false) and stops
+     * it itself after the last run.
+     */
+    @AfterAll(order = 0)
+    public static void stopStubServer() {
+        if (ConfigManager.getInstance().isStubStopAfterRun()) {
+            StubServer.stopIfStarted();
+        }
+    }
+}
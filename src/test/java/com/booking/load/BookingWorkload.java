@@ -0,0 +1,115 @@
+package com.booking.load;
+
+import com.booking.clients.AuthClient;
+import com.booking.clients.BookingClient;
+import com.booking.config.ConfigManager;
+import com.booking.dto.Booking;
+import com.booking.dto.BookingResponse;
+import com.booking.dto.TokenRequest;
+import com.booking.factory.TestDataFactory;
+import io.restassured.response.Response;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Executes individual operations against the Booking API through the existing clients.
+ *
+ * Bookings created by CREATE go into a shared pool that GET and UPDATE read from and DELETE
+ * drains, so the mix exercises real records. Each worker thread gets its own client instances,
+ * mirroring how every scenario builds its own clients; the connections underneath are shared
+ * through HttpTransport either way.
+ */
+final class BookingWorkload {
+
+    private final ThreadLocal<BookingClient> bookingClient = ThreadLocal.withInitial(BookingClient::new);
+    private final ThreadLocal<AuthClient> authClient = ThreadLocal.withInitial(AuthClient::new);
+    private final Deque<Integer> liveBookingIds = new ConcurrentLinkedDeque<>();
+    private final TokenRequest adminCredentials = TokenRequest.builder()
+            .username(ConfigManager.getInstance().getAdminUsername())
+            .password(ConfigManager.getInstance().getAdminPassword())
+            .build();
+
+    /**
+     * Runs one operation.
+     *
+     * @return the HTTP status code, or an empty result if no booking was available to act on.
+     */
+    OptionalInt execute(Operation operation) {
+        return switch (operation) {
+            case CREATE -> OptionalInt.of(create());
+            case GET -> withBooking(liveBookingIds.peekLast(),
+                    id -> bookingClient.get().getBooking(id, cookie()).getStatusCode());
+            case UPDATE -> withBooking(liveBookingIds.peekLast(),
+                    id -> bookingClient.get().updateBooking(id, TestDataFactory.validBooking(), cookie()).getStatusCode());
+            case DELETE -> withBooking(liveBookingIds.pollFirst(),
+                    id -> bookingClient.get().deleteBooking(id, cookie()).getStatusCode());
+            case AUTH -> OptionalInt.of(authClient.get().createToken(adminCredentials).getStatusCode());
+        };
+    }
+
+    /**
+     * Creates bookings up front so GET/UPDATE/DELETE have targets from the first arrival.
+     * The creates are fanned out through the async client instead of paying count round trips in turn.
+     */
+    void seed(int count) {
+        List<CompletableFuture<Response>> creates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            creates.add(bookingClient.get().createBookingAsync(TestDataFactory.validBooking()));
+        }
+        creates.forEach(create -> keepIfCreated(create.join()));
+    }
+
+    /** Bookings cleanUp() deleted, and those it could not. */
+    record CleanUp(int deleted, int failed) {
+    }
+
+    /** Deletes every booking the run left behind. Not measured. */
+    CleanUp cleanUp() {
+        int deleted = 0;
+        int failed = 0;
+        for (Integer id = liveBookingIds.pollFirst(); id != null; id = liveBookingIds.pollFirst()) {
+            try {
+                if (bookingClient.get().deleteBooking(id, cookie()).getStatusCode() / 100 == 2) {
+                    deleted++;
+                } else {
+                    failed++;
+                }
+            } catch (Exception ex) {
+                // Best effort: the shared environment resets itself periodically anyway, so one
+                // failed delete (including a checked transport error) must not stop the rest
+                failed++;
+            }
+        }
+        return new CleanUp(deleted, failed);
+    }
+
+    private int create() {
+        Booking booking = TestDataFactory.validBooking();
+        Response response = bookingClient.get().createBooking(booking);
+        keepIfCreated(response);
+        return response.getStatusCode();
+    }
+
+    private void keepIfCreated(Response response) {
+        if (response.getStatusCode() == 201) {
+            Integer id = response.as(BookingResponse.class).getBookingid();
+            if (id != null) {
+                liveBookingIds.addLast(id);
+            }
+        }
+    }
+
+    private String cookie() {
+        return "token=" + authClient.get().getCachedToken(adminCredentials);
+    }
+
+    private static OptionalInt withBooking(Integer id, IntUnaryOperator call) {
+        return id == null ? OptionalInt.empty() : OptionalInt.of(call.applyAsInt(id));
+    }
+}
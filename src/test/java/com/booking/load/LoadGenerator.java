@@ -0,0 +1,163 @@
+package com.booking.load;
+
+import com.booking.clients.HttpMetrics;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator for the Booking API, built on BookingClient and AuthClient.
+ *
+ * Arrivals follow a fixed schedule (load.rate per second) that never waits for earlier
+ * requests to finish, so a slow server cannot throttle the offered load the way a closed
+ * loop of "send, wait, send" would. At most load.max.concurrency requests are in flight;
+ * later arrivals queue, and their latency is measured from the scheduled arrival time
+ * (coordinated-omission correction — see OperationStats).
+ *
+ * Run with:  mvn -Pload test-compile exec:java -Dload.rate=20 -Dload.duration.seconds=120 -Denv=staging
+ * Settings:  see LoadProfile. Results are printed and written to target/load-report/, together
+ *            with per-endpoint HTTP metrics (prometheusData.txt, influxDbData.txt — see HttpMetrics).
+ */
+public final class LoadGenerator {
+
+    private static final Path REPORT_DIR = Path.of("target", "load-report");
+
+    private LoadGenerator() {
+        // Entry point only — not instantiable
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Per-request logging would dominate client CPU at load; opt back in with -Dhttp.log.mode=always
+        if (System.getProperty("http.log.mode") == null) {
+            System.setProperty("http.log.mode", "off");
+        }
+        // load.rate already fixes the offered rate; the suite's throttle would only queue it further
+        if (System.getProperty("throttle.rate.per.second") == null) {
+            System.setProperty("throttle.rate.per.second", "0");
+        }
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        // The connection pool must not become a hidden, lower concurrency cap
+        raiseIfUnset("http.pool.max.per.route", profile.maxConcurrency());
+        raiseIfUnset("http.pool.max.total", profile.maxConcurrency());
+        BookingWorkload workload = new BookingWorkload();
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        profile.weights().keySet().forEach(op -> stats.put(op, new OperationStats()));
+
+        System.out.println("Load profile: " + profile);
+        workload.seed(profile.seedBookings());
+
+        AtomicInteger threadIds = new AtomicInteger();
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(
+                profile.maxConcurrency(), profile.maxConcurrency(), 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "load-worker-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / profile.ratePerSecond());
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(profile.durationSeconds());
+        long scheduled = 0;
+        int maxBacklog = 0;
+
+        while (true) {
+            long intendedStart = start + scheduled * intervalNanos;
+            if (intendedStart >= end) {
+                break;
+            }
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = profile.pick();
+            long arrival = intendedStart;
+            workers.execute(() -> run(workload, operation, arrival, stats.get(operation)));
+            maxBacklog = Math.max(maxBacklog, workers.getQueue().size());
+            scheduled++;
+        }
+
+        workers.shutdown();
+        boolean drained = workers.awaitTermination(profile.drainSeconds(), TimeUnit.SECONDS);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        String report = formatReport(profile, stats, scheduled, maxBacklog, elapsedSeconds, drained);
+        System.out.println(report);
+        writeReport(report, stats);
+        HttpMetrics.getInstance().export(REPORT_DIR);
+
+        BookingWorkload.CleanUp cleanUp = workload.cleanUp();
+        System.out.println("Cleanup: deleted " + cleanUp.deleted() + " bookings created during the run"
+                + (cleanUp.failed() == 0 ? "" : ", " + cleanUp.failed() + " could not be deleted"));
+    }
+
+    private static void raiseIfUnset(String key, int value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, String.valueOf(value));
+        }
+    }
+
+    private static void run(BookingWorkload workload, Operation operation, long intendedStart, OperationStats stats) {
+        long actualStart = System.nanoTime();
+        boolean success;
+        try {
+            OptionalInt status = workload.execute(operation);
+            if (status.isEmpty()) {
+                stats.recordUnavailable();
+                return;
+            }
+            success = status.getAsInt() == operation.expectedStatus();
+        } catch (Exception ex) {
+            // Rest-Assured rethrows checked IOExceptions undeclared; a refused or timed-out request is
+            // a failed sample, and dropping it would flatter the error rate and latencies under failure
+            success = false;
+        }
+        long finished = System.nanoTime();
+        stats.record(finished - intendedStart, finished - actualStart, success);
+    }
+
+    private static String formatReport(LoadProfile profile, Map<Operation, OperationStats> stats,
+                                       long scheduled, int maxBacklog, double elapsedSeconds, boolean drained) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%nOpen-model load: %.1f arrivals/s for %ds, max %d in flight — %d scheduled, "
+                        + "max queued %d, elapsed %.1fs%s%n",
+                profile.ratePerSecond(), profile.durationSeconds(), profile.maxConcurrency(),
+                scheduled, maxBacklog, elapsedSeconds, drained ? "" : " (DRAIN TIMED OUT — results incomplete)"));
+        out.append("Latencies in ms, measured from the scheduled arrival (coordinated-omission corrected)\n");
+        out.append(String.format("%-8s %8s %9s %7s %7s %9s %9s %9s %9s %9s %9s %12s%n",
+                "op", "count", "ops/s", "errors", "err%", "p50", "p90", "p99", "p99.9", "max",
+                "svc p99", "no-target"));
+        stats.forEach((operation, s) -> {
+            long total = s.total();
+            out.append(String.format("%-8s %8d %9.2f %7d %6.2f%% %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f %12d%n",
+                    operation.name().toLowerCase(), total, total / elapsedSeconds, s.errors(),
+                    total == 0 ? 0.0 : 100.0 * s.errors() / total,
+                    s.responseMillisAt(50), s.responseMillisAt(90), s.responseMillisAt(99),
+                    s.responseMillisAt(99.9), s.responseMaxMillis(), s.serviceMillisAt(99), s.unavailable()));
+        });
+        return out.toString();
+    }
+
+    private static void writeReport(String report, Map<Operation, OperationStats> stats) throws IOException {
+        Files.createDirectories(REPORT_DIR);
+        Files.writeString(REPORT_DIR.resolve("summary.txt"), report);
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            Path file = REPORT_DIR.resolve(entry.getKey().name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                entry.getValue().writeDistribution(out);
+            }
+        }
+        System.out.println("Report written to " + REPORT_DIR.toAbsolutePath());
+    }
+}
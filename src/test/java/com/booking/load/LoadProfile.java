@@ -0,0 +1,67 @@
+package com.booking.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Load generator settings, read from system properties:
+ *
+ *   load.rate              Arrivals per second across all operations (default 10)
+ *   load.duration.seconds  How long to keep generating arrivals (default 60)
+ *   load.max.concurrency   Maximum requests in flight; further arrivals queue (default 50)
+ *   load.weights           Relative operation mix (default create=30,get=40,update=15,delete=10,auth=5)
+ *   load.seed.bookings     Bookings created before measurement so get/update/delete have targets (default 20)
+ *   load.drain.seconds     How long to wait for queued/in-flight requests after the last arrival (default 60)
+ */
+record LoadProfile(double ratePerSecond, long durationSeconds, int maxConcurrency,
+                   Map<Operation, Integer> weights, int seedBookings, long drainSeconds) {
+
+    static LoadProfile fromSystemProperties() {
+        LoadProfile profile = new LoadProfile(
+                Double.parseDouble(System.getProperty("load.rate", "10")),
+                Long.parseLong(System.getProperty("load.duration.seconds", "60")),
+                Integer.parseInt(System.getProperty("load.max.concurrency", "50")),
+                parseWeights(System.getProperty("load.weights", "create=30,get=40,update=15,delete=10,auth=5")),
+                Integer.parseInt(System.getProperty("load.seed.bookings", "20")),
+                Long.parseLong(System.getProperty("load.drain.seconds", "60")));
+        if (profile.ratePerSecond <= 0 || profile.durationSeconds <= 0 || profile.maxConcurrency <= 0) {
+            throw new IllegalArgumentException("load.rate, load.duration.seconds and load.max.concurrency must be positive: " + profile);
+        }
+        return profile;
+    }
+
+    /** Picks the next operation at random, proportionally to its weight. */
+    Operation pick() {
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Unreachable: weights " + weights);
+    }
+
+    private static Map<Operation, Integer> parseWeights(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String pair : spec.split(",")) {
+            String[] parts = pair.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed load.weights entry '" + pair + "' — expected op=weight");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + parts[0] + " in load.weights");
+            }
+            if (weight > 0) {
+                weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("load.weights must give at least one operation a positive weight");
+        }
+        return weights;
+    }
+}
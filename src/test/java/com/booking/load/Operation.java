@@ -0,0 +1,24 @@
+package com.booking.load;
+
+/**
+ * The API operations the load generator can issue, with the status code that counts as success.
+ * Success codes mirror what the functional features assert against the live API
+ * (e.g. DELETE returns 200, not the 201 documented in booking.yaml).
+ */
+enum Operation {
+    CREATE(201),
+    GET(200),
+    UPDATE(200),
+    DELETE(200),
+    AUTH(200);
+
+    private final int expectedStatus;
+
+    Operation(int expectedStatus) {
+        this.expectedStatus = expectedStatus;
+    }
+
+    int expectedStatus() {
+        return expectedStatus;
+    }
+}
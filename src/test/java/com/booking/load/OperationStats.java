@@ -0,0 +1,70 @@
+package com.booking.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe latency and outcome counters for one operation.
+ *
+ * Two histograms are kept, both in microseconds:
+ *   responseTime — measured from the operation's *intended* start on the arrival schedule.
+ *                  This is the coordinated-omission-corrected figure: time spent queued behind
+ *                  a saturated concurrency cap or a slow server counts, exactly as a real user
+ *                  arriving at that moment would experience it.
+ *   serviceTime  — measured from when a worker actually sent the request. Reported alongside so
+ *                  the gap between the two shows how much latency came from queueing.
+ */
+final class OperationStats {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Histogram responseTime = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+    private final Histogram serviceTime = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder unavailable = new LongAdder();
+
+    void record(long responseNanos, long serviceNanos, boolean success) {
+        responseTime.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(responseNanos), MAX_TRACKABLE_MICROS));
+        serviceTime.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(serviceNanos), MAX_TRACKABLE_MICROS));
+        (success ? successes : errors).increment();
+    }
+
+    /** The operation could not run because no booking was available to act on. */
+    void recordUnavailable() {
+        unavailable.increment();
+    }
+
+    long total() {
+        return successes.sum() + errors.sum();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    long unavailable() {
+        return unavailable.sum();
+    }
+
+    double responseMillisAt(double percentile) {
+        return responseTime.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    double responseMaxMillis() {
+        return responseTime.getMaxValue() / 1000.0;
+    }
+
+    double serviceMillisAt(double percentile) {
+        return serviceTime.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /** Writes the full corrected percentile distribution in HdrHistogram's .hgrm format (milliseconds). */
+    void writeDistribution(PrintStream out) {
+        responseTime.outputPercentileDistribution(out, 1000.0);
+    }
+}
@@ -0,0 +1,133 @@
+package com.booking.load;
+
+import com.booking.clients.HttpExchangeLog;
+import io.restassured.response.Response;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop latency sampling for the latency SLO steps: runs one client call a fixed number
+ * of times from a fixed number of concurrent callers and records every call's latency.
+ *
+ * Unlike LoadGenerator this is deliberately closed-loop — each caller sends its next request
+ * as soon as the previous one returns — because the question is "how fast does this request
+ * answer under N concurrent callers", not "what does a given arrival rate do to the system".
+ *
+ * Latency is measured around the whole client call, so it includes reading the response body.
+ */
+public final class RepeatedCalls {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private RepeatedCalls() {
+        // Utility class — not instantiable
+    }
+
+    /**
+     * @param call        The client call to repeat; must be safe to run concurrently.
+     * @param times       Total number of calls.
+     * @param concurrency Number of callers running at the same time.
+     */
+    public static Result run(Supplier<Response> call, int times, int concurrency) {
+        if (times < 1 || concurrency < 1) {
+            throw new IllegalArgumentException("times and concurrency must be at least 1, got "
+                    + times + " and " + concurrency);
+        }
+        Histogram latencyMicros = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        Queue<String> failures = new ConcurrentLinkedQueue<>();
+
+        // The callers log into the scenario's HTTP exchange buffer, so a failed SLO step shows the requests
+        Supplier<Response> scenarioCall = HttpExchangeLog.inCurrentScenario(call);
+        AtomicInteger threadIds = new AtomicInteger();
+        ExecutorService callers = Executors.newFixedThreadPool(Math.min(concurrency, times), runnable -> {
+            Thread thread = new Thread(runnable, "repeated-call-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> calls = new ArrayList<>(times);
+            for (int i = 0; i < times; i++) {
+                calls.add(callers.submit(() -> {
+                    long sent = System.nanoTime();
+                    try {
+                        int status = scenarioCall.get().getStatusCode();
+                        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+                    } catch (Exception ex) {
+                        // Rest-Assured rethrows checked IOExceptions undeclared; a dropped connection is a counted failure
+                        failures.add(ex.getClass().getSimpleName() + ": " + ex.getMessage());
+                    }
+                    latencyMicros.recordValue(Math.min(
+                            TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sent), MAX_TRACKABLE_MICROS));
+                }));
+            }
+            for (Future<?> future : calls) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while repeating the request", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Repeated request failed unexpectedly", ex.getCause());
+        } finally {
+            callers.shutdownNow();
+        }
+
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        return new Result(times, concurrency, (System.nanoTime() - start) / 1e9,
+                latencyMicros, statusCounts, List.copyOf(failures));
+    }
+
+    /**
+     * @param latencyMicros  Every call's latency in microseconds.
+     * @param statusCounts   Number of responses per HTTP status code.
+     * @param failures       One line per call that threw instead of returning a response.
+     */
+    public record Result(int times, int concurrency, double elapsedSeconds, Histogram latencyMicros,
+                         Map<Integer, Long> statusCounts, List<String> failures) {
+
+        public double millisAt(double percentile) {
+            return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        /** Percentile table for the report, followed by the full distribution in .hgrm format. */
+        public String describe() {
+            StringBuilder out = new StringBuilder(String.format(
+                    "%d calls, %d concurrent callers, %.2fs elapsed (%.1f calls/s)%n",
+                    times, concurrency, elapsedSeconds, times / elapsedSeconds));
+            out.append(String.format("min %.1f ms, p50 %.1f ms, p90 %.1f ms, p95 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                    latencyMicros.getMinValue() / 1000.0, millisAt(50), millisAt(90), millisAt(95), millisAt(99),
+                    latencyMicros.getMaxValue() / 1000.0));
+            out.append("Status codes: ").append(statusCounts).append('\n');
+            failures.forEach(failure -> out.append("Failed call: ").append(failure).append('\n'));
+
+            ByteArrayOutputStream distribution = new ByteArrayOutputStream();
+            try (PrintStream print = new PrintStream(distribution, true, StandardCharsets.UTF_8)) {
+                latencyMicros.outputPercentileDistribution(print, 1000.0);
+            }
+            out.append("\nLatency distribution (ms):\n").append(distribution.toString(StandardCharsets.UTF_8));
+            return out.toString();
+        }
+    }
+}
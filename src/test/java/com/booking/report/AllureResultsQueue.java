@@ -0,0 +1,283 @@
+package com.booking.report;
+
+import com.booking.config.ConfigManager;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.FileSystemResultsWriter;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import io.qameta.allure.model.WithAttachments;
+import io.qameta.allure.model.WithSteps;
+import io.qameta.allure.util.PropertiesUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Allure results writer that takes file I/O off the test threads (allure.writer.* and
+ * allure.attachment.* settings).
+ *
+ * Scenario threads only enqueue: results and fixture containers as they are, attachments as
+ * their bytes, read up to allure.attachment.max.kb (the rest is dropped and a note appended).
+ * One background thread drains whatever has queued up and writes it in a single pass through
+ * Allure's own FileSystemResultsWriter, so parallel scenarios never contend for the results
+ * directory, and it stops when idle.
+ *
+ * Cucumber gives every hook its own fixture container, i.e. three tiny JSON files per
+ * scenario next to its result. The writer holds back containers of a single scenario and,
+ * once that scenario's result is written, writes their fixtures as one container; containers
+ * without fixtures are not written at all. The report shows the same hooks either way.
+ * Attachments above allure.attachment.gzip.above.kb (0 = never) are written gzip-compressed as
+ * source.gz and the result's reference is updated to match.
+ *
+ * flush() — called when the Cucumber run finishes, see AsyncAllurePlugin — waits until
+ * everything queued is on disk.
+ */
+public final class AllureResultsQueue implements AllureResultsWriter {
+
+    private static final String TRUNCATION_NOTE = "%n%n[truncated by allure.attachment.max.kb: %d of %d bytes kept]%n";
+    private static volatile AllureResultsQueue instance;
+
+    private final AllureResultsWriter files;
+    private final int maxAttachmentBytes;
+    private final int gzipAboveBytes;
+    private final ThreadPoolExecutor writerThread;
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    // Only touched by the writer thread
+    private final Map<String, TestResultContainer> heldContainers = new LinkedHashMap<>();
+    private final Map<String, String> compressedSources = new HashMap<>();
+
+    private final LongAdder results = new LongAdder();
+    private final LongAdder containersWritten = new LongAdder();
+    private final LongAdder containersReceived = new LongAdder();
+    private final LongAdder attachments = new LongAdder();
+    private final LongAdder truncated = new LongAdder();
+    private final LongAdder compressed = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    private AllureResultsQueue() {
+        ConfigManager config = ConfigManager.getInstance();
+        files = new FileSystemResultsWriter(Path.of(
+                PropertiesUtils.loadAllureProperties().getProperty("allure.results.directory", "allure-results")));
+        maxAttachmentBytes = config.getAllureAttachmentMaxKb() * 1024;
+        gzipAboveBytes = config.getAllureAttachmentGzipAboveKb() * 1024;
+
+        AtomicInteger threadIds = new AtomicInteger();
+        writerThread = new ThreadPoolExecutor(1, 1, 10L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "allure-writer-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        writerThread.allowCoreThreadTimeOut(true);
+    }
+
+    public static AllureResultsQueue getInstance() {
+        AllureResultsQueue local = instance;
+        if (local == null) {
+            synchronized (AllureResultsQueue.class) {
+                local = instance;
+                if (local == null) {
+                    local = new AllureResultsQueue();
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    @Override
+    public void write(TestResult testResult) {
+        enqueue(() -> {
+            renameCompressed(testResult);
+            files.write(testResult);
+            results.increment();
+            TestResultContainer fixtures = heldContainers.remove(testResult.getUuid());
+            if (fixtures != null) {
+                writeContainer(fixtures);
+            }
+        });
+    }
+
+    @Override
+    public void write(TestResultContainer container) {
+        containersReceived.increment();
+        enqueue(() -> {
+            if (container.getBefores().isEmpty() && container.getAfters().isEmpty()) {
+                return;
+            }
+            if (container.getChildren().size() != 1) {
+                writeContainer(container);
+                return;
+            }
+            TestResultContainer held = heldContainers.putIfAbsent(container.getChildren().get(0), container);
+            if (held != null) {
+                held.getBefores().addAll(container.getBefores());
+                held.getAfters().addAll(container.getAfters());
+                held.setStart(Math.min(held.getStart(), container.getStart()));
+                held.setStop(Math.max(held.getStop(), container.getStop()));
+            }
+        });
+    }
+
+    @Override
+    public void write(String source, InputStream attachment) {
+        byte[] content;
+        try (attachment) {
+            content = attachment.readNBytes(maxAttachmentBytes);
+            long rest = attachment.transferTo(OutputStream.nullOutputStream());
+            if (rest > 0) {
+                truncated.increment();
+                content = appendTruncationNote(content, rest);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read Allure attachment " + source, ex);
+        }
+        byte[] bytes = content;
+        enqueue(() -> {
+            if (gzipAboveBytes > 0 && bytes.length > gzipAboveBytes) {
+                files.write(source + ".gz", new ByteArrayInputStream(gzip(bytes)));
+                compressedSources.put(source, source + ".gz");
+                compressed.increment();
+            } else {
+                files.write(source, new ByteArrayInputStream(bytes));
+            }
+            attachments.increment();
+        });
+    }
+
+    /**
+     * Writes everything queued so far, including fixture containers whose scenario never wrote
+     * a result, and waits up to allure.writer.flush.timeout.seconds for it to reach the disk.
+     */
+    public Stats flush() {
+        enqueue(() -> {
+            heldContainers.values().forEach(this::writeContainer);
+            heldContainers.clear();
+        });
+        try {
+            writerThread.submit(() -> { }).get(ConfigManager.getInstance().getAllureWriterFlushTimeoutSeconds(), TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ex) {
+            System.out.println("Allure writer: results still queued after the flush timeout (" + ex + ")");
+        }
+        return stats();
+    }
+
+    public Stats stats() {
+        return new Stats(results.sum(), containersReceived.sum(), containersWritten.sum(), attachments.sum(),
+                truncated.sum(), compressed.sum(), failures.sum());
+    }
+
+    /**
+     * @param containersReceived Fixture containers Allure produced.
+     * @param containersWritten  Container files actually written after merging.
+     * @param failures           Writes that failed; their results are missing from the report.
+     */
+    public record Stats(long results, long containersReceived, long containersWritten, long attachments,
+                        long truncated, long compressed, long failures) {
+
+        @Override
+        public String toString() {
+            return String.format("results=%d, containers=%d (written as %d files), attachments=%d (truncated=%d, gzipped=%d), failures=%d",
+                    results, containersReceived, containersWritten, attachments, truncated, compressed, failures);
+        }
+    }
+
+    /**
+     * Queues a write. Every write is followed by a drain: the first one schedules the writer
+     * thread, which keeps writing until the queue is empty, so a burst becomes a single task.
+     */
+    private void enqueue(Runnable write) {
+        pending.add(write);
+        if (draining.compareAndSet(false, true)) {
+            writerThread.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        do {
+            Runnable write;
+            while ((write = pending.poll()) != null) {
+                try {
+                    write.run();
+                } catch (RuntimeException ex) {
+                    // One unwritable file must not stop the others
+                    failures.increment();
+                    System.out.println("Allure writer: " + ex.getMessage());
+                }
+            }
+            draining.set(false);
+            // A write queued after the last poll but before the reset saw draining=true; take it here
+        } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+    }
+
+    private void writeContainer(TestResultContainer container) {
+        container.getBefores().forEach(this::renameCompressed);
+        container.getAfters().forEach(this::renameCompressed);
+        files.write(container);
+        containersWritten.increment();
+    }
+
+    /** Points attachment references at their .gz files, in the item and all of its steps. */
+    private void renameCompressed(Object item) {
+        if (compressedSources.isEmpty()) {
+            return;
+        }
+        if (item instanceof WithAttachments withAttachments) {
+            for (Attachment attachment : withAttachments.getAttachments()) {
+                String gzipped = compressedSources.remove(attachment.getSource());
+                if (gzipped != null) {
+                    attachment.setSource(gzipped).setType("application/gzip").setName(attachment.getName() + " (gzip)");
+                }
+            }
+        }
+        if (item instanceof WithSteps withSteps) {
+            for (StepResult step : withSteps.getSteps()) {
+                renameCompressed(step);
+            }
+        }
+    }
+
+    private static byte[] appendTruncationNote(byte[] content, long dropped) {
+        byte[] note = String.format(TRUNCATION_NOTE, content.length, content.length + dropped)
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] withNote = new byte[content.length + note.length];
+        System.arraycopy(content, 0, withNote, 0, content.length);
+        System.arraycopy(note, 0, withNote, content.length, note.length);
+        return withNote;
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(content);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,45 @@
+package com.booking.report;
+
+import com.booking.config.ConfigManager;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm;
+
+/**
+ * Allure's Cucumber plugin, writing through AllureResultsQueue (registered in TestRunner in
+ * place of AllureCucumber7Jvm).
+ *
+ * The queue-backed lifecycle is also installed as Allure's global one, so Allure.step and
+ * Allure.addAttachment in hooks and step definitions go through the same queue. When the run
+ * finishes the plugin flushes the queue, before ResultCachePlugin (listed after it) reads the
+ * results back. With allure.writer.async=false it is plain AllureCucumber7Jvm.
+ */
+public class AsyncAllurePlugin extends AllureCucumber7Jvm {
+
+    private final boolean async;
+
+    public AsyncAllurePlugin() {
+        super(lifecycle());
+        async = ConfigManager.getInstance().isAllureWriterAsync();
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        super.setEventPublisher(publisher);
+        if (async) {
+            publisher.registerHandlerFor(TestRunFinished.class, event ->
+                    System.out.println("Allure writer: " + AllureResultsQueue.getInstance().flush()));
+        }
+    }
+
+    private static AllureLifecycle lifecycle() {
+        if (!ConfigManager.getInstance().isAllureWriterAsync()) {
+            return Allure.getLifecycle();
+        }
+        AllureLifecycle lifecycle = new AllureLifecycle(AllureResultsQueue.getInstance());
+        Allure.setLifecycle(lifecycle);
+        return lifecycle;
+    }
+}
@@ -0,0 +1,95 @@
+package com.booking.shard;
+
+import com.booking.config.ConfigManager;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.ClasspathResourceSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps only this fork's share of the scenarios when the suite is split across JVMs
+ * (shard.count > 1, this fork being shard.index).
+ *
+ * Registered with the JUnit Platform launcher through
+ * META-INF/services/org.junit.platform.launcher.PostDiscoveryFilter. Discovery visits parents
+ * before children, so the first scenario the filter sees still has the whole discovered tree
+ * above it: the filter builds the ShardPlan from every scenario under that root once, then
+ * answers each scenario from the plan. Every fork discovers the same tree and reads the same
+ * report, so the shards never overlap and never miss a scenario.
+ */
+public class ShardFilter implements PostDiscoveryFilter {
+
+    // Keyed by discovery root: the launcher may discover the suite more than once
+    private final Map<UniqueId, ShardPlan> plans = new ConcurrentHashMap<>();
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        ConfigManager config = ConfigManager.getInstance();
+        int shardCount = config.getShardCount();
+        if (shardCount <= 1 || !descriptor.isTest()) {
+            return FilterResult.included("not sharded");
+        }
+        Optional<String> scenarioId = scenarioId(descriptor);
+        if (scenarioId.isEmpty()) {
+            return FilterResult.included("not a scenario");
+        }
+        int shard = config.getShardIndex();
+        if (shard < 0 || shard >= shardCount) {
+            throw new IllegalStateException("shard.index must be between 0 and " + (shardCount - 1) + ", got " + shard);
+        }
+        TestDescriptor root = descriptor;
+        while (root.getParent().isPresent()) {
+            root = root.getParent().get();
+        }
+        TestDescriptor discoveryRoot = root;
+        ShardPlan plan = plans.computeIfAbsent(discoveryRoot.getUniqueId(), key -> {
+            List<String> ids = scenarioIds(discoveryRoot);
+            Path report = Path.of(config.getShardReportDir());
+            Map<String, Double> durations = ShardPlan.durationsFromReport(report);
+            long unknown = ids.stream().filter(id -> !durations.containsKey(id)).count();
+            if (durations.isEmpty()) {
+                System.out.println("Sharding: WARNING no scenario durations in " + report.toAbsolutePath()
+                        + " — the shards are filled round-robin. Copy data/ and history/ of an earlier"
+                        + " Allure report there, or point -Dshard.report.dir at one.");
+            } else if (unknown > 0) {
+                System.out.println("Sharding: WARNING " + unknown + " of " + ids.size() + " scenarios have no"
+                        + " duration in " + report.toAbsolutePath() + " — the report predates them, so they"
+                        + " are dealt round-robin.");
+            }
+            ShardPlan created = new ShardPlan(ids, durations, shardCount);
+            System.out.println("Sharding: " + created.describe(shard));
+            return created;
+        });
+        return plan.belongsTo(scenarioId.get(), shard)
+                ? FilterResult.included("in shard " + shard)
+                : FilterResult.excluded("assigned to another shard");
+    }
+
+    private static List<String> scenarioIds(TestDescriptor root) {
+        List<String> ids = new ArrayList<>();
+        root.accept(descriptor -> {
+            if (descriptor.isTest()) {
+                scenarioId(descriptor).ifPresent(ids::add);
+            }
+        });
+        return ids;
+    }
+
+    /** "features/auth.feature:8" — the feature resource and line, as Allure's fullName. */
+    private static Optional<String> scenarioId(TestDescriptor descriptor) {
+        TestSource source = descriptor.getSource().orElse(null);
+        if (!(source instanceof ClasspathResourceSource resource) || resource.getPosition().isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(resource.getClasspathResourceName() + ":" + resource.getPosition().get().getLine());
+    }
+}
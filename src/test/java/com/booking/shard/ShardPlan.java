@@ -0,0 +1,136 @@
+package com.booking.shard;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.stream.Stream;
+
+/**
+ * Assigns every scenario of the run to one of shard.count shards, so that all shards take
+ * about the same time.
+ *
+ * Expected durations come from the previous Allure report (shard.report.dir):
+ *   data/test-cases/*.json — one file per scenario, with its fullName ("features/x.feature:12"),
+ *                            its historyId and its duration in that run
+ *   history/history.json   — durations of earlier runs per historyId; averaged in when present
+ * history/duration-trend.json only holds whole-run totals, so it cannot place scenarios and is
+ * not read. The report is only written by mvn allure:report, never during a run, so every
+ * fork reads the same durations and computes the same plan.
+ *
+ * Scenarios with a known duration are packed longest-processing-time first: each goes to the
+ * shard with the least work so far. Scenarios without one (new, or no report available)
+ * are then dealt round-robin in discovery order.
+ */
+final class ShardPlan {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final int HISTORY_RUNS = 5;
+
+    private final Map<String, Integer> shardOf = new HashMap<>();
+    private final double[] estimatedMillis;
+    private final int knownScenarios;
+
+    /**
+     * @param scenarioIds Every scenario of the run, in discovery order.
+     * @param durations   Expected duration in milliseconds by scenario ID; may be incomplete.
+     */
+    ShardPlan(List<String> scenarioIds, Map<String, Double> durations, int shardCount) {
+        estimatedMillis = new double[shardCount];
+        List<String> known = new ArrayList<>();
+        List<String> unknown = new ArrayList<>();
+        for (String id : scenarioIds) {
+            (durations.containsKey(id) ? known : unknown).add(id);
+        }
+        knownScenarios = known.size();
+
+        // Stable sort: equal durations keep discovery order, so every fork breaks ties the same way
+        known.sort(Comparator.comparingDouble((String id) -> durations.get(id)).reversed());
+        for (String id : known) {
+            int lightest = 0;
+            for (int shard = 1; shard < shardCount; shard++) {
+                if (estimatedMillis[shard] < estimatedMillis[lightest]) {
+                    lightest = shard;
+                }
+            }
+            shardOf.put(id, lightest);
+            estimatedMillis[lightest] += durations.get(id);
+        }
+        for (int i = 0; i < unknown.size(); i++) {
+            shardOf.put(unknown.get(i), i % shardCount);
+        }
+    }
+
+    boolean belongsTo(String scenarioId, int shard) {
+        return shardOf.getOrDefault(scenarioId, 0) == shard;
+    }
+
+    String describe(int shard) {
+        long scenarios = shardOf.values().stream().filter(assigned -> assigned == shard).count();
+        return String.format("shard %d/%d: %d of %d scenarios, estimated %.1f s (durations known for %d)",
+                shard + 1, estimatedMillis.length, scenarios, shardOf.size(), estimatedMillis[shard] / 1000.0,
+                knownScenarios);
+    }
+
+    /**
+     * Expected duration in milliseconds per scenario ID, read from an Allure report directory.
+     * A missing or unreadable report yields an empty map, i.e. pure round-robin.
+     */
+    static Map<String, Double> durationsFromReport(Path reportDirectory) {
+        Path testCases = reportDirectory.resolve("data").resolve("test-cases");
+        Map<String, Double> durations = new LinkedHashMap<>();
+        if (!Files.isDirectory(testCases)) {
+            return durations;
+        }
+        JsonNode history = readHistory(reportDirectory.resolve("history").resolve("history.json"));
+        try (Stream<Path> files = Files.list(testCases)) {
+            files.filter(file -> file.getFileName().toString().endsWith(".json")).sorted().forEach(file -> {
+                try {
+                    JsonNode testCase = mapper.readTree(file.toFile());
+                    String id = Objects.requireNonNullElse(testCase.path("fullName").textValue(), "");
+                    List<Double> samples = new ArrayList<>();
+                    JsonNode duration = testCase.path("time").path("duration");
+                    if (duration.isNumber()) {
+                        samples.add(duration.asDouble());
+                    }
+                    history.path(testCase.path("historyId").asText()).path("items").forEach(item -> {
+                        JsonNode past = item.path("time").path("duration");
+                        if (past.isNumber() && samples.size() < HISTORY_RUNS) {
+                            samples.add(past.asDouble());
+                        }
+                    });
+                    OptionalDouble mean = samples.stream().mapToDouble(Double::doubleValue).average();
+                    if (!id.isEmpty() && mean.isPresent()) {
+                        durations.put(id, mean.getAsDouble());
+                    }
+                } catch (IOException ex) {
+                    // An unreadable test case just counts as unknown
+                }
+            });
+        } catch (IOException ex) {
+            System.out.println("Sharding: could not read " + testCases + " (" + ex.getMessage() + "), using round-robin");
+        }
+        return durations;
+    }
+
+    private static JsonNode readHistory(Path historyFile) {
+        if (!Files.isRegularFile(historyFile)) {
+            return mapper.createObjectNode();
+        }
+        try {
+            return mapper.readTree(historyFile.toFile());
+        } catch (IOException ex) {
+            return mapper.createObjectNode();
+        }
+    }
+}
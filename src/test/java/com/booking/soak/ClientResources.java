@@ -0,0 +1,35 @@
+package com.booking.soak;
+
+import com.booking.clients.HttpTransport;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+
+/**
+ * What the framework itself holds at the end of a soak window, between two runs, when no
+ * scenario is in flight. Anything that keeps growing here is a leak in the suite, not a
+ * slower server.
+ *
+ * @param heapUsedMb        Heap still in use after a full GC, i.e. retained, not garbage.
+ * @param threads           Live threads in the JVM.
+ * @param openFiles         Open file descriptors, sockets included; -1 where the JVM cannot tell.
+ * @param leasedConnections Pooled HTTP connections still leased; with no request in flight, any is a leak.
+ * @param idleConnections   Pooled HTTP connections open and idle.
+ * @param poolMax           HttpTransport's total connection limit.
+ */
+record ClientResources(double heapUsedMb, int threads, long openFiles,
+                       int leasedConnections, int idleConnections, int poolMax) {
+
+    static ClientResources sample() {
+        // Without a collection the reading is mostly garbage from the run that just ended
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        double heapUsedMb = (runtime.totalMemory() - runtime.freeMemory()) / (1024.0 * 1024.0);
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        long openFiles = os instanceof com.sun.management.UnixOperatingSystemMXBean unix
+                ? unix.getOpenFileDescriptorCount() : -1;
+        HttpTransport.Stats pool = HttpTransport.getInstance().stats();
+        return new ClientResources(heapUsedMb, ManagementFactory.getThreadMXBean().getThreadCount(), openFiles,
+                pool.leased(), pool.available(), pool.max());
+    }
+}
@@ -0,0 +1,50 @@
+package com.booking.soak;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Allure's Cucumber plugin with a writer that drops every result, registered by SoakRunner in
+ * place of TestRunner's report plugins.
+ *
+ * Hooks and step definitions call Allure.step and Allure.addAttachment, which need a test case
+ * in progress; without any Allure plugin every call logs an error. With this one they work as
+ * in mvn test, but an hour of runs leaves no allure-results behind.
+ */
+public class DiscardingAllurePlugin extends AllureCucumber7Jvm {
+
+    public DiscardingAllurePlugin() {
+        super(lifecycle());
+    }
+
+    private static AllureLifecycle lifecycle() {
+        AllureLifecycle lifecycle = new AllureLifecycle(new AllureResultsWriter() {
+            @Override
+            public void write(TestResult testResult) {
+            }
+
+            @Override
+            public void write(TestResultContainer testResultContainer) {
+            }
+
+            @Override
+            public void write(String source, InputStream attachment) {
+                try {
+                    attachment.close();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+        });
+        Allure.setLifecycle(lifecycle);
+        return lifecycle;
+    }
+}
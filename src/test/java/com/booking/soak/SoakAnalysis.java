@@ -0,0 +1,191 @@
+package com.booking.soak;
+
+import com.booking.clients.HttpMetrics;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Compares the start of a soak with its end and says which side is wearing out.
+ *
+ * The time after soak.warmup.windows is split into quarters; the windows closing in the first
+ * quarter are the baseline and those closing in the last quarter the end. Each period's
+ * requests are merged into one histogram per endpoint as its windows close, so the analysis
+ * holds two sets of histograms however long the soak runs. The client is leaking if, between
+ * the periods, the heap retained after GC grew by more than soak.leak.heap.mb, the live
+ * threads by more than soak.leak.threads, open file descriptors by more than the HTTP pool
+ * could hold, or connections stay leased between runs. The server is degrading if an
+ * endpoint's p99 rose more than soak.latency.drift.percent, or the 5xx and transport-failure
+ * rate rose by more than a percentage point. A leaking client can slow itself down, so client
+ * findings take precedence in the verdict: fix those before blaming the server's latency.
+ */
+final class SoakAnalysis {
+
+    /** Fewer requests than this in either period and an endpoint's p99 is not compared. */
+    private static final long MIN_REQUESTS_FOR_P99 = 20;
+    private static final double ERROR_RATE_TOLERANCE = 0.01;
+
+    enum Verdict { STABLE, CLIENT_LEAK, SERVER_DEGRADATION, TOO_SHORT }
+
+    private final SoakRunner.Settings settings;
+    private final long durationNanos;
+    private long warmupEndNanos;
+    private final List<SoakWindow> baseline = new ArrayList<>();
+    private final List<SoakWindow> end = new ArrayList<>();
+    private final Map<String, HttpMetrics.Snapshot> baselineRequests = new TreeMap<>();
+    private final Map<String, HttpMetrics.Snapshot> endRequests = new TreeMap<>();
+    private final List<String> clientFindings = new ArrayList<>();
+    private final List<String> serverFindings = new ArrayList<>();
+    private final List<String> endpointLines = new ArrayList<>();
+
+    SoakAnalysis(SoakRunner.Settings settings) {
+        this.settings = settings;
+        this.durationNanos = TimeUnit.MINUTES.toNanos(settings.durationMinutes());
+    }
+
+    /**
+     * @param requests     The window's requests per endpoint, with their latency histograms.
+     * @param elapsedNanos Time from the start of the soak to the window closing.
+     */
+    void add(SoakWindow window, Map<String, HttpMetrics.Snapshot> requests, long elapsedNanos) {
+        if (window.index() <= settings.warmupWindows()) {
+            warmupEndNanos = elapsedNanos;
+            return;
+        }
+        long quarter = (durationNanos - warmupEndNanos) / 4;
+        if (elapsedNanos <= warmupEndNanos + quarter) {
+            baseline.add(window);
+            merge(baselineRequests, requests);
+        } else if (elapsedNanos > durationNanos - quarter) {
+            end.add(window);
+            merge(endRequests, requests);
+        }
+    }
+
+    /** Compares the two periods; call once, after the last window. */
+    void finish() {
+        if (!baseline.isEmpty() && !end.isEmpty()) {
+            compareClient();
+            compareServer();
+        }
+    }
+
+    Verdict verdict() {
+        if (baseline.isEmpty() || end.isEmpty()) {
+            return Verdict.TOO_SHORT;
+        }
+        if (!clientFindings.isEmpty()) {
+            return Verdict.CLIENT_LEAK;
+        }
+        return serverFindings.isEmpty() ? Verdict.STABLE : Verdict.SERVER_DEGRADATION;
+    }
+
+    String describe() {
+        if (verdict() == Verdict.TOO_SHORT) {
+            return "Too few windows after warm-up to compare a baseline with the end — run longer or shorten soak.window.seconds\n";
+        }
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("Baseline windows %d-%d, end windows %d-%d%n", baseline.get(0).index(),
+                baseline.get(baseline.size() - 1).index(), end.get(0).index(), end.get(end.size() - 1).index()));
+        out.append(String.format("Client:  heap after GC %.1f -> %.1f MB, threads %.0f -> %.0f, open files %s -> %s, leased connections %d -> %d%n",
+                average(baseline, w -> w.resources().heapUsedMb()), average(end, w -> w.resources().heapUsedMb()),
+                average(baseline, w -> w.resources().threads()), average(end, w -> w.resources().threads()),
+                openFiles(baseline), openFiles(end),
+                minLeased(baseline), minLeased(end)));
+        out.append(String.format("Server:  5xx/transport error rate %s -> %s, scenario failure rate %s -> %s%n",
+                percent(errorRate(baseline)), percent(errorRate(end)),
+                percent(failureRate(baseline)), percent(failureRate(end))));
+        out.append(String.format("%-32s %19s %19s%n", "endpoint", "p50 ms (base, end)", "p99 ms (base, end)"));
+        endpointLines.forEach(line -> out.append(line).append('\n'));
+        clientFindings.forEach(finding -> out.append("CLIENT LEAK: ").append(finding).append('\n'));
+        serverFindings.forEach(finding -> out.append("SERVER DRIFT: ").append(finding).append('\n'));
+        return out.toString();
+    }
+
+    private void compareClient() {
+        double heapGrowth = average(end, w -> w.resources().heapUsedMb()) - average(baseline, w -> w.resources().heapUsedMb());
+        if (heapGrowth > settings.leakHeapMb()) {
+            clientFindings.add(String.format("heap retained after GC grew by %.1f MB (limit %d MB)", heapGrowth, settings.leakHeapMb()));
+        }
+        double threadGrowth = average(end, w -> w.resources().threads()) - average(baseline, w -> w.resources().threads());
+        if (threadGrowth > settings.leakThreads()) {
+            clientFindings.add(String.format("live threads grew by %.0f (limit %d)", threadGrowth, settings.leakThreads()));
+        }
+        if (end.get(0).resources().openFiles() >= 0) {
+            double fileGrowth = average(end, w -> w.resources().openFiles()) - average(baseline, w -> w.resources().openFiles());
+            int poolMax = end.get(end.size() - 1).resources().poolMax();
+            if (fileGrowth > poolMax) {
+                clientFindings.add(String.format("open file descriptors grew by %.0f, more than the %d connections the HTTP pool may hold",
+                        fileGrowth, poolMax));
+            }
+        }
+        if (minLeased(end) > 0) {
+            clientFindings.add(minLeased(end) + " HTTP connections still leased between runs — a response was never consumed or closed");
+        }
+    }
+
+    private void compareServer() {
+        for (Map.Entry<String, HttpMetrics.Snapshot> entry : endRequests.entrySet()) {
+            HttpMetrics.Snapshot was = baselineRequests.get(entry.getKey());
+            HttpMetrics.Snapshot now = entry.getValue();
+            if (was == null) {
+                continue;
+            }
+            endpointLines.add(String.format(Locale.ROOT, "%-32s %9.1f %9.1f %9.1f %9.1f", entry.getKey(),
+                    was.millisAt(50), now.millisAt(50), was.millisAt(99), now.millisAt(99)));
+            if (was.count() >= MIN_REQUESTS_FOR_P99 && now.count() >= MIN_REQUESTS_FOR_P99
+                    && now.millisAt(99) > was.millisAt(99) * (1 + settings.latencyDriftPercent() / 100.0)) {
+                serverFindings.add(String.format("%s p99 rose from %.1f to %.1f ms (limit +%d%%)",
+                        entry.getKey(), was.millisAt(99), now.millisAt(99), settings.latencyDriftPercent()));
+            }
+        }
+        double errorsBefore = errorRate(baseline);
+        double errorsAfter = errorRate(end);
+        if (errorsAfter > errorsBefore + ERROR_RATE_TOLERANCE) {
+            serverFindings.add("5xx/transport error rate rose from " + percent(errorsBefore) + " to " + percent(errorsAfter));
+        }
+    }
+
+    private static void merge(Map<String, HttpMetrics.Snapshot> period, Map<String, HttpMetrics.Snapshot> requests) {
+        requests.forEach((key, snapshot) -> period.merge(key, snapshot, (a, b) -> {
+            Histogram latency = a.latencyMicros().copy();
+            latency.add(b.latencyMicros());
+            Map<String, Long> statuses = new TreeMap<>(a.statusCounts());
+            b.statusCounts().forEach((status, count) -> statuses.merge(status, count, Long::sum));
+            return new HttpMetrics.Snapshot(latency, statuses);
+        }));
+    }
+
+    private static double errorRate(List<SoakWindow> windows) {
+        long requests = windows.stream().mapToLong(SoakWindow::requests).sum();
+        return requests == 0 ? 0 : (double) windows.stream().mapToLong(SoakWindow::serverErrors).sum() / requests;
+    }
+
+    private static double failureRate(List<SoakWindow> windows) {
+        long scenarios = windows.stream().mapToLong(SoakWindow::scenarios).sum();
+        return scenarios == 0 ? 0 : (double) windows.stream().mapToLong(SoakWindow::failed).sum() / scenarios;
+    }
+
+    private static int minLeased(List<SoakWindow> windows) {
+        return windows.stream().mapToInt(w -> w.resources().leasedConnections()).min().orElse(0);
+    }
+
+    private static String openFiles(List<SoakWindow> windows) {
+        double files = average(windows, w -> w.resources().openFiles());
+        return files < 0 ? "n/a" : String.format("%.0f", files);
+    }
+
+    private static double average(List<SoakWindow> windows, ToDoubleFunction<SoakWindow> value) {
+        return windows.stream().mapToDouble(value).average().orElse(0);
+    }
+
+    private static String percent(double rate) {
+        return String.format(Locale.ROOT, "%.2f%%", rate * 100);
+    }
+}
@@ -0,0 +1,58 @@
+package com.booking.soak;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * The soak time series, appended one window at a time so a soak that is stopped early still
+ * leaves every finished window on disk:
+ *   windows.csv    — per window: runs, scenarios, failures, requests, 5xx and transport
+ *                    errors, retries and retries the budget denied, and the client's heap,
+ *                    threads, open files and connections
+ *   endpoints.csv  — per window and endpoint: requests, 5xx and transport errors, p50/p95/p99/max
+ *   summary.txt    — SoakAnalysis of the whole soak, written at the end
+ * Both CSV files start with a header row and load straight into a spreadsheet or a plotting tool.
+ */
+final class SoakReport {
+
+    static final Path REPORT_DIR = Path.of("target", "soak-report");
+
+    private static final Path WINDOWS = REPORT_DIR.resolve("windows.csv");
+    private static final Path ENDPOINTS = REPORT_DIR.resolve("endpoints.csv");
+    private static final Path SUMMARY = REPORT_DIR.resolve("summary.txt");
+
+    private SoakReport() {
+    }
+
+    /** Replaces the files of an earlier soak with empty ones holding only the header rows. */
+    static void start() throws IOException {
+        Files.createDirectories(REPORT_DIR);
+        Files.deleteIfExists(SUMMARY);
+        Files.writeString(WINDOWS, "window,closed_at,runs,scenarios,failed,requests,server_errors,retries,"
+                + "retry_budget_denied,heap_used_mb,threads,open_files,leased_connections,idle_connections\n");
+        Files.writeString(ENDPOINTS, "window,closed_at,endpoint,requests,server_errors,p50_ms,p95_ms,p99_ms,max_ms\n");
+    }
+
+    static void append(SoakWindow window) throws IOException {
+        ClientResources resources = window.resources();
+        Files.writeString(WINDOWS, String.format(Locale.ROOT, "%d,%s,%d,%d,%d,%d,%d,%d,%d,%.1f,%d,%d,%d,%d%n",
+                window.index(), window.closedAt(), window.runs(), window.scenarios(), window.failed(),
+                window.requests(), window.serverErrors(), window.retries(), window.retryBudgetDenied(),
+                resources.heapUsedMb(), resources.threads(),
+                resources.openFiles(), resources.leasedConnections(), resources.idleConnections()),
+                StandardOpenOption.APPEND);
+        StringBuilder rows = new StringBuilder();
+        window.endpoints().forEach((endpoint, requests) -> rows.append(String.format(Locale.ROOT,
+                "%d,%s,%s,%d,%d,%.3f,%.3f,%.3f,%.3f%n", window.index(), window.closedAt(), endpoint,
+                requests.requests(), requests.serverErrors(), requests.p50Millis(), requests.p95Millis(),
+                requests.p99Millis(), requests.maxMillis())));
+        Files.writeString(ENDPOINTS, rows, StandardOpenOption.APPEND);
+    }
+
+    static void finish(String summary) throws IOException {
+        Files.writeString(SUMMARY, summary);
+    }
+}
@@ -0,0 +1,192 @@
+package com.booking.soak;
+
+import com.booking.clients.HttpMetrics;
+import com.booking.clients.RetryPolicy;
+import com.booking.config.ConfigManager;
+import com.booking.stub.StubServer;
+import org.junit.platform.launcher.EngineFilter;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+import org.junit.platform.suite.api.ConfigurationParameter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import static io.cucumber.core.options.Constants.FILTER_TAGS_PROPERTY_NAME;
+import static io.cucumber.core.options.Constants.PLUGIN_PROPERTY_NAME;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClasspathResource;
+
+/**
+ * Soak mode: repeats the scenarios matching soak.tags against one environment for
+ * soak.duration.minutes, and records a time series of how the server and the suite itself
+ * hold up.
+ *
+ * Every run is an ordinary Cucumber run with TestRunner's glue and parallelism, so scenarios
+ * go through the same clients, Hooks and per-scenario ScenarioContext as in mvn test; only the
+ * report plugins (see DiscardingAllurePlugin) and the result cache are left out, so an hour of
+ * runs does not fill the disk or skip its own scenarios. All runs share this JVM and its class
+ * loader — unlike WatchRunner, which starts each run clean — so whatever the suite fails to
+ * release accumulates and shows. RetryPolicy is the exception: its budget is meant per run, so
+ * each pass starts a new one, and the retries and budget denials of a window are reported with it.
+ *
+ * Runs are grouped into windows of soak.window.seconds. When a window closes, between two
+ * runs, its requests (see HttpMetrics.snapshot()) and the client's resources (see
+ * ClientResources) become one row of the SoakReport, and a progress line is printed. At the
+ * end SoakAnalysis compares the start of the soak with its end and separates a client leak
+ * from server degradation; the JVM exits with status 1 if it found either.
+ *
+ * Under -Denv=local the embedded stub shares this JVM: its latency and heap are counted as the
+ * server's and the client's alike, so a local soak checks the suite, not the API.
+ *
+ * Run with:  mvn -Psoak test-compile exec:exec -Dsoak.args="-Denv=staging -Dsoak.duration.minutes=120"
+ */
+public final class SoakRunner {
+
+    private static final String SUITE_CLASS = "com.booking.TestRunner";
+
+    private SoakRunner() {
+        // Entry point only — not instantiable
+    }
+
+    /** The soak.* settings from ConfigManager, read once at the start. */
+    record Settings(int durationMinutes, String tags, int windowSeconds, int warmupWindows,
+                    int latencyDriftPercent, int leakHeapMb, int leakThreads) {
+
+        static Settings fromConfig() {
+            ConfigManager config = ConfigManager.getInstance();
+            Settings settings = new Settings(config.getSoakDurationMinutes(), config.getSoakTags(),
+                    config.getSoakWindowSeconds(), config.getSoakWarmupWindows(), config.getSoakLatencyDriftPercent(),
+                    config.getSoakLeakHeapMb(), config.getSoakLeakThreads());
+            if (settings.durationMinutes <= 0 || settings.windowSeconds <= 0) {
+                throw new IllegalArgumentException("soak.duration.minutes and soak.window.seconds must be positive: " + settings);
+            }
+            return settings;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        // One stub for the whole soak: a new one would not know the tokens already cached for the old
+        System.setProperty("stub.stop.after.run", "false");
+        System.setProperty("result.cache.enabled", "false");
+        Settings settings = Settings.fromConfig();
+        System.out.println("Soak profile: " + settings);
+
+        LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request()
+                .selectors(selectClasspathResource("features"))
+                .filters(EngineFilter.includeEngines("cucumber"))
+                .configurationParameters(suiteParameters(settings.tags()))
+                .build();
+        Launcher launcher = LauncherFactory.create();
+        SoakReport.start();
+
+        long start = System.nanoTime();
+        long end = start + TimeUnit.MINUTES.toNanos(settings.durationMinutes());
+        SoakAnalysis analysis = new SoakAnalysis(settings);
+        int windows = 0;
+        Map<String, HttpMetrics.Snapshot> previous = HttpMetrics.getInstance().snapshot();
+        long windowEnd = start + TimeUnit.SECONDS.toNanos(settings.windowSeconds());
+        int runs = 0;
+        long scenarios = 0;
+        long failed = 0;
+        long retries = 0;
+        long retryBudgetDenied = 0;
+        while (System.nanoTime() < end) {
+            SummaryGeneratingListener listener = new SummaryGeneratingListener();
+            launcher.execute(request, listener);
+            TestExecutionSummary summary = listener.getSummary();
+            if (summary.getTestsStartedCount() == 0) {
+                throw new IllegalStateException("No scenario matches soak.tags=" + settings.tags());
+            }
+            summary.getFailures().forEach(failure ->
+                    System.out.println("Soak: FAILED " + failure.getTestIdentifier().getDisplayName()
+                            + " — " + failure.getException().getMessage()));
+            runs++;
+            scenarios += summary.getTestsStartedCount();
+            failed += summary.getTestsFailedCount();
+            // Each pass gets a full retry budget; a spent one would turn later transient errors into failures
+            RetryPolicy.Stats passRetries = RetryPolicy.getInstance().close();
+            retries += passRetries.retries();
+            retryBudgetDenied += passRetries.budgetDenied();
+
+            long now = System.nanoTime();
+            if (now >= windowEnd || now >= end) {
+                Map<String, HttpMetrics.Snapshot> current = HttpMetrics.getInstance().snapshot();
+                Map<String, HttpMetrics.Snapshot> requests = new TreeMap<>();
+                Map<String, SoakWindow.Endpoint> endpoints = new TreeMap<>();
+                for (Map.Entry<String, HttpMetrics.Snapshot> entry : current.entrySet()) {
+                    HttpMetrics.Snapshot inWindow = entry.getValue().since(previous.get(entry.getKey()));
+                    if (inWindow.count() > 0) {
+                        requests.put(entry.getKey(), inWindow);
+                        endpoints.put(entry.getKey(), SoakWindow.Endpoint.of(inWindow));
+                    }
+                }
+                SoakWindow window = new SoakWindow(++windows, Instant.now(), runs, scenarios, failed, retries,
+                        retryBudgetDenied, endpoints, ClientResources.sample());
+                analysis.add(window, requests, now - start);
+                SoakReport.append(window);
+                System.out.println(progress(window, Duration.ofNanos(now - start)));
+                previous = current;
+                windowEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.windowSeconds());
+                runs = 0;
+                scenarios = 0;
+                failed = 0;
+                retries = 0;
+                retryBudgetDenied = 0;
+            }
+        }
+        StubServer.stopIfStarted();
+
+        analysis.finish();
+        String report = String.format("%nSoak: %d windows over %d minutes, scenarios tagged %s — %s%n",
+                windows, settings.durationMinutes(), settings.tags(), analysis.verdict()) + analysis.describe();
+        System.out.println(report);
+        SoakReport.finish(report);
+        System.out.println("Report written to " + SoakReport.REPORT_DIR.toAbsolutePath());
+        SoakAnalysis.Verdict verdict = analysis.verdict();
+        System.exit(verdict == SoakAnalysis.Verdict.CLIENT_LEAK || verdict == SoakAnalysis.Verdict.SERVER_DEGRADATION ? 1 : 0);
+    }
+
+    /** TestRunner's @ConfigurationParameter settings, with DiscardingAllurePlugin as the only plugin and the soak tags. */
+    private static Map<String, String> suiteParameters(String tags) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        try {
+            for (ConfigurationParameter parameter : Class.forName(SUITE_CLASS)
+                    .getAnnotationsByType(ConfigurationParameter.class)) {
+                parameters.put(parameter.key(), parameter.value());
+            }
+        } catch (ClassNotFoundException ex) {
+            throw new IllegalStateException(SUITE_CLASS + " is not on the class path — run mvn test-compile", ex);
+        }
+        // pretty, html, json and Allure output for every run of an hour-long soak is noise, not evidence
+        parameters.put(PLUGIN_PROPERTY_NAME, DiscardingAllurePlugin.class.getName());
+        parameters.put(FILTER_TAGS_PROPERTY_NAME, tags);
+        return parameters;
+    }
+
+    private static String progress(SoakWindow window, Duration elapsed) {
+        ClientResources resources = window.resources();
+        String slowest = window.endpoints().entrySet().stream()
+                .max(Comparator.comparingDouble(entry -> entry.getValue().p99Millis()))
+                .map(entry -> String.format("%.1f ms (%s)", entry.getValue().p99Millis(), entry.getKey()))
+                .orElse("n/a");
+        return String.format("Soak: window %d at %d:%02d — %d runs, %d scenarios, %d failed, %d requests, %d server errors, "
+                        + "%d retries (%d denied by budget), worst p99 %s | heap %.1f MB, %d threads, %s open files, "
+                        + "%d leased / %d idle connections",
+                window.index(), elapsed.toMinutes(), elapsed.toSecondsPart(), window.runs(), window.scenarios(),
+                window.failed(), window.requests(), window.serverErrors(), window.retries(), window.retryBudgetDenied(),
+                slowest, resources.heapUsedMb(),
+                resources.threads(), resources.openFiles() < 0 ? "n/a" : String.valueOf(resources.openFiles()),
+                resources.leasedConnections(), resources.idleConnections());
+    }
+}
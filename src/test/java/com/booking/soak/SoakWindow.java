@@ -0,0 +1,43 @@
+package com.booking.soak;
+
+import com.booking.clients.HttpMetrics;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * One row of the soak time series: the runs that finished in one window, what they sent, and
+ * the client's resources when the window closed. Only summary numbers are kept, so an
+ * hour-long soak does not grow the heap it is measuring.
+ *
+ * @param index     1-based window number.
+ * @param closedAt  When the last run of the window finished.
+ * @param runs      Complete passes over the tagged scenarios.
+ * @param scenarios Scenarios executed across those runs.
+ * @param failed    Scenarios among them that failed.
+ * @param retries   Retries RetryPolicy sent in those runs.
+ * @param retryBudgetDenied Retries skipped because a run had spent its retry.budget.
+ * @param endpoints Requests sent in this window only, per "METHOD /path/template".
+ * @param resources Client-side resources after the window's last run.
+ */
+record SoakWindow(int index, Instant closedAt, int runs, long scenarios, long failed, long retries,
+                  long retryBudgetDenied, Map<String, Endpoint> endpoints, ClientResources resources) {
+
+    /** One endpoint's requests in the window. */
+    record Endpoint(long requests, long serverErrors, double p50Millis, double p95Millis,
+                    double p99Millis, double maxMillis) {
+
+        static Endpoint of(HttpMetrics.Snapshot snapshot) {
+            return new Endpoint(snapshot.count(), snapshot.serverErrors(), snapshot.millisAt(50),
+                    snapshot.millisAt(95), snapshot.millisAt(99), snapshot.millisAt(100));
+        }
+    }
+
+    long requests() {
+        return endpoints.values().stream().mapToLong(Endpoint::requests).sum();
+    }
+
+    long serverErrors() {
+        return endpoints.values().stream().mapToLong(Endpoint::serverErrors).sum();
+    }
+}
@@ -8,7 +8,6 @@ import com.booking.dto.TokenResponse;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
-import io.restassured.response.Response;
 import io.qameta.allure.Description;
 import io.qameta.allure.Severity;
 import io.qameta.allure.SeverityLevel;
@@ -34,21 +33,21 @@ public class AuthSteps {
                 .password(password)
                 .build();
 
-        Response response = authClient.createToken(tokenRequest);
-        context.set(ScenarioContext.ContextKey.LAST_RESPONSE, response);
+        // Repeatable: a login only issues a new token, it changes no booking data
+        context.setLastResponse(authClient.createToken(tokenRequest), () -> authClient.createToken(tokenRequest));
     }
 
     @Severity(SeverityLevel.BLOCKER)
     @Then("the response should contain a non-empty token")
     public void theResponseShouldContainANonEmptyToken() {
-        Response response = context.get(ScenarioContext.ContextKey.LAST_RESPONSE);
-        TokenResponse tokenResponse = response.as(TokenResponse.class);
+        TokenResponse tokenResponse = context.lastResponseView().as(TokenResponse.class);
         assertThat(tokenResponse.getToken()).as("Expected a token in the response").isNotBlank();
     }
 
     @Severity(SeverityLevel.BLOCKER)
-    @Description("Background setup: generates a valid admin token and stores it in ScenarioContext " +
-             "for use by subsequent steps that require authentication.")
+    @Description("Background setup: obtains a valid admin token and stores it in ScenarioContext " +
+             "for use by subsequent steps that require authentication. " +
+             "The token is shared across scenarios via AuthClient's token cache.")
     @Given("I have a valid authentication token")
     public void iHaveAValidAuthenticationToken() {
         TokenRequest tokenRequest = TokenRequest.builder()
@@ -56,13 +55,12 @@ public class AuthSteps {
                 .password(ConfigManager.getInstance().getAdminPassword())
                 .build();
 
-        Response response = authClient.createToken(tokenRequest);
-        assertThat(response.getStatusCode())
-                .as("Background auth token generation failed").isEqualTo(200);
-
-        TokenResponse tokenResponse = response.as(TokenResponse.class);
-        String token = tokenResponse.getToken();
-        assertThat(token).as("Auth token was blank").isNotBlank();
+        String token;
+        try {
+            token = authClient.getCachedToken(tokenRequest);
+        } catch (IllegalStateException ex) {
+            throw new AssertionError("Background auth token generation failed: " + ex.getMessage(), ex);
+        }
         
         // Centralize the Cookie prefix logic here
         context.set(ScenarioContext.ContextKey.AUTH_TOKEN, "token=" + token);
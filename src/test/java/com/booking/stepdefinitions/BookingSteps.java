@@ -1,17 +1,21 @@
 package com.booking.stepdefinitions;
 
 import com.booking.clients.BookingClient;
+import com.booking.clients.BookingPool;
+import com.booking.config.ConfigManager;
+import com.booking.context.ResponseView;
 import com.booking.context.ScenarioContext;
 import com.booking.dto.Booking;
 import com.booking.dto.BookingDates;
 import com.booking.factory.TestDataFactory;
+import com.booking.validation.SchemaRegistry;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
 import io.cucumber.datatable.DataTable;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.When;
 import io.cucumber.java.en.And;
 import io.cucumber.java.en.Then;
 import io.qameta.allure.Allure;
-import io.restassured.module.jsv.JsonSchemaValidator;
 import io.restassured.response.Response;
 import io.qameta.allure.Description;
 import io.qameta.allure.Severity;
@@ -19,6 +23,7 @@ import io.qameta.allure.SeverityLevel;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -65,24 +70,34 @@ public class BookingSteps {
 
     /**
      * Stores the response and request body in ScenarioContext.
-     * Response is read by CommonSteps status assertions and Hooks failure logging.
+     * Response is read by CommonSteps status assertions and Hooks failure logging; its parse-once
+     * ResponseView is read by every body assertion below.
      * Request body is attached to Allure report on scenario failure.
      */
     private void storeResponse(Response response, Object requestPayload) {
-        context.set(ScenarioContext.ContextKey.LAST_RESPONSE, response);
+        context.setLastResponse(response);
         if (requestPayload != null) {
             context.set(ScenarioContext.ContextKey.LAST_REQUEST_BODY,
                     requestPayload.toString());
         }
     }
 
+    /**
+     * Sends a read-only request and stores its response together with the call itself,
+     * so the latency steps in CommonSteps can repeat it.
+     */
+    private void sendRepeatable(Supplier<Response> call) {
+        context.setLastResponse(call.get(), call);
+    }
+
     /**
      * Extracts bookingid from a successful create response and stores it in context.
      * The Hooks @After teardown reads BOOKING_ID to delete test data after every scenario.
      * Only stores if the response was 201 — negative tests don't produce a bookingid.
      */
-    private void extractAndStoreBookingId(Response response) {
-        if (response.getStatusCode() == 201) {
+    private void extractAndStoreBookingId() {
+        ResponseView response = context.lastResponseView();
+        if (response.statusCode() == 201) {
             com.booking.dto.BookingResponse bookingResponse = response.as(com.booking.dto.BookingResponse.class);
             Integer bookingId = bookingResponse.getBookingid();
             if (bookingId != null) {
@@ -105,7 +120,7 @@ public class BookingSteps {
         Booking booking = buildBookingFromTable(dataTable);
         Response response = bookingClient.createBooking(booking);
         storeResponse(response, booking);
-        extractAndStoreBookingId(response);
+        extractAndStoreBookingId();
     }
 
     @Severity(SeverityLevel.CRITICAL)
@@ -113,10 +128,12 @@ public class BookingSteps {
              "to prevent room conflicts across test runs.")
     @When("I create a valid booking")
     public void iCreateAValidBooking() {
-        Booking booking = TestDataFactory.validBooking();
-        Response response = bookingClient.createBooking(booking);
-        storeResponse(response, booking);
-        extractAndStoreBookingId(response);
+        // A 409 here can only be a room/date conflict, so it is retried with a fresh slot
+        Booking[] sent = new Booking[1];
+        Response response = bookingClient.createBookingReallocatingOnConflict(
+                () -> sent[0] = TestDataFactory.validBooking());
+        storeResponse(response, sent[0]);
+        extractAndStoreBookingId();
     }
 
     @Severity(SeverityLevel.NORMAL)
@@ -125,7 +142,7 @@ public class BookingSteps {
         Booking booking = TestDataFactory.bookingWithFirstname(firstname);
         Response response = bookingClient.createBooking(booking);
         storeResponse(response, booking);
-        extractAndStoreBookingId(response);
+        extractAndStoreBookingId();
     }
     
     @Severity(SeverityLevel.NORMAL)
@@ -134,7 +151,7 @@ public class BookingSteps {
         Booking booking = TestDataFactory.bookingWithLastname(lastname);
         Response response = bookingClient.createBooking(booking);
         storeResponse(response, booking);
-        extractAndStoreBookingId(response);
+        extractAndStoreBookingId();
     }
 
     @Severity(SeverityLevel.NORMAL)
@@ -143,7 +160,7 @@ public class BookingSteps {
         Booking booking = TestDataFactory.bookingWithPhone(phone);
         Response response = bookingClient.createBooking(booking);
         storeResponse(response, booking);
-        extractAndStoreBookingId(response);
+        extractAndStoreBookingId();
     }
 
     @Severity(SeverityLevel.NORMAL)
@@ -152,7 +169,7 @@ public class BookingSteps {
         Booking booking = TestDataFactory.bookingWithEmail(email);
         Response response = bookingClient.createBooking(booking);
         storeResponse(response, booking);
-        extractAndStoreBookingId(response);
+        extractAndStoreBookingId();
     }
 
     @Severity(SeverityLevel.NORMAL)
@@ -161,7 +178,8 @@ public class BookingSteps {
         Booking booking = TestDataFactory.bookingWithDates(checkin, checkout);
         Response response = bookingClient.createBooking(booking);
         storeResponse(response, booking);
-        // No bookingId to store — date validation errors return 409, not a created booking
+        // Date validation errors return 409; stored only if the API accepts the dates after all
+        extractAndStoreBookingId();
     }
 
     @Severity(SeverityLevel.NORMAL)
@@ -170,6 +188,7 @@ public class BookingSteps {
         Map<String, Object> payload = TestDataFactory.bookingWithRoomIdAsEmptyString();
         Response response = bookingClient.createBooking(payload);
         storeResponse(response, payload);
+        extractAndStoreBookingId();
     }
 
     @Severity(SeverityLevel.NORMAL)
@@ -178,6 +197,7 @@ public class BookingSteps {
         Booking booking = TestDataFactory.bookingWithRoomIdAsString(invalidRoomId);
         Response response = bookingClient.createBooking(booking);
         storeResponse(response, booking);
+        extractAndStoreBookingId();
     }
 
     @Severity(SeverityLevel.NORMAL)
@@ -186,6 +206,7 @@ public class BookingSteps {
         Booking booking = TestDataFactory.bookingWithDepositPaidAsInteger(invalidValue);
         Response response = bookingClient.createBooking(booking);
         storeResponse(response, booking);
+        extractAndStoreBookingId();
     }
 
     /**
@@ -205,14 +226,15 @@ public class BookingSteps {
         };
         Response response = bookingClient.createBooking(booking);
         storeResponse(response, booking);
+        extractAndStoreBookingId();
     }
 
     // ── Create assertions ─────────────────────────────────────────────────
 
     @And("the response should contain a numeric booking ID")
     public void theResponseShouldContainANumericBookingId() {
-        Response response = context.get(ScenarioContext.ContextKey.LAST_RESPONSE);
-        Integer bookingId = response.jsonPath().getInt("bookingid");
+        ResponseView response = context.lastResponseView();
+        Integer bookingId = response.getInt("bookingid");
         assertThat(bookingId)
                 .as("Expected a positive numeric bookingid in the response body")
                 .isNotNull()
@@ -221,22 +243,22 @@ public class BookingSteps {
 
     @And("the response booking details should match what was submitted")
     public void theResponseBookingDetailsShouldMatchWhatWasSubmitted() {
-    Response response = context.get(ScenarioContext.ContextKey.LAST_RESPONSE);
+    ResponseView response = context.lastResponseView();
 
     // The POST /booking response returns a flat object: bookingid, roomid,
     // firstname, lastname, depositpaid, and bookingdates.
     // email and phone are deliberately omitted — see FINDING F-03 below.
-    assertThat(response.jsonPath().getInt("roomid"))
+    assertThat(response.getInt("roomid"))
             .as("roomid should be present and positive in create response").isPositive();
-    assertThat(response.jsonPath().getString("firstname"))
+    assertThat(response.getString("firstname"))
             .as("firstname should be present in create response").isNotNull();
-    assertThat(response.jsonPath().getString("lastname"))
+    assertThat(response.getString("lastname"))
             .as("lastname should be present in create response").isNotNull();
-            assertThat(response.jsonPath().getString("depositpaid"))
+            assertThat(response.getString("depositpaid"))
             .as("depositpaid should be present in create response").isNotNull();
-    assertThat(response.jsonPath().getString("bookingdates.checkin"))
+    assertThat(response.getString("bookingdates.checkin"))
             .as("bookingdates.checkin should be present in create response").isNotNull();
-    assertThat(response.jsonPath().getString("bookingdates.checkout"))
+    assertThat(response.getString("bookingdates.checkout"))
             .as("bookingdates.checkout should be present in create response").isNotNull();
 
     // SPEC DEVIATION: email and phone are not returned in the response.
@@ -244,8 +266,8 @@ public class BookingSteps {
     // The live API omits them — likely a deliberate PII/security decision.
     // Documented as Finding F-03. Not asserting presence or absence
     // to avoid locking the test to a known defect.
-    String actualEmail = response.jsonPath().getString("email");
-    String actualPhone = response.jsonPath().getString("phone");
+    String actualEmail = response.getString("email");
+    String actualPhone = response.getString("phone");
     Allure.step("FINDING F-03: email and phone omitted from POST response "
             + "(spec documents them as present). "
             + "Actual email: '" + actualEmail + "', actual phone: '" + actualPhone + "'");
@@ -253,16 +275,17 @@ public class BookingSteps {
 
     @And("the response body should match the booking creation contract schema")
     public void theResponseBodyShouldMatchTheBookingCreationContractSchema() {
-        Response response = context.get(ScenarioContext.ContextKey.LAST_RESPONSE);
-        response.then().assertThat()
-                .body(JsonSchemaValidator.matchesJsonSchemaInClasspath(
-                        "schemas/booking-response-schema.json"));
+        ResponseView response = context.lastResponseView();
+        ProcessingReport report = SchemaRegistry.getInstance().validate("booking-response-schema.json", response.json());
+        assertThat(report.isSuccess())
+                .as("Response body does not match booking-response-schema.json:\n%s", report)
+                .isTrue();
     }
 
     @And("the response booking field {string} should be {string}")
 public void theResponseBookingFieldShouldBe(String field, String expectedValue) {
-    Response response = context.get(ScenarioContext.ContextKey.LAST_RESPONSE);
-    String value = response.jsonPath().getString(field);
+    ResponseView response = context.lastResponseView();
+    String value = response.getString(field);
     assertThat(value)
             .as("Expected field '%s' to be '%s' but got '%s'", field, expectedValue, value)
             .isEqualTo(expectedValue);
@@ -270,8 +293,8 @@ public void theResponseBookingFieldShouldBe(String field, String expectedValue)
 
     @And("the response should contain an {string} field that is an array")
     public void theResponseShouldContainAnFieldThatIsAnArray(String fieldName) {
-        Response response = context.get(ScenarioContext.ContextKey.LAST_RESPONSE);
-        List<?> array = response.jsonPath().getList(fieldName);
+        ResponseView response = context.lastResponseView();
+        List<?> array = response.getList(fieldName);
         assertThat(array)
                 .as("Expected field '%s' to be a non-null array in the response body",
                         fieldName)
@@ -280,8 +303,8 @@ public void theResponseBookingFieldShouldBe(String field, String expectedValue)
 
     @And("the errors array should not be empty")
     public void theErrorsArrayShouldNotBeEmpty() {
-        Response response = context.get(ScenarioContext.ContextKey.LAST_RESPONSE);
-        List<?> errors = response.jsonPath().getList("errors");
+        ResponseView response = context.lastResponseView();
+        List<?> errors = response.getList("errors");
         assertThat(errors)
                 .as("Expected errors array to contain at least one validation message")
                 .isNotEmpty();
@@ -302,10 +325,23 @@ public void theResponseBookingFieldShouldBe(String field, String expectedValue)
     // ═══════════════════════════════════════════════════════════════════════
 
     @Severity(SeverityLevel.BLOCKER)
-    @Description("Background setup: creates a valid booking so subsequent steps have " +
-             "a real booking ID to work with. Fails fast if the create returns non-201.")
+    @Description("Background setup: provides a valid booking so subsequent steps have " +
+             "a real booking ID to work with. Fails fast if no booking can be provided.")
     @Given("a booking exists in the system")
     public void aBookingExistsInTheSystem() {
+        if (ConfigManager.getInstance().isBookingPoolEnabled()) {
+            // Taken from the pre-provisioned pool: no create on this scenario's critical path,
+            // and 409 collisions were already retried by the pool's workers
+            int bookingId;
+            try {
+                bookingId = BookingPool.getInstance().acquire();
+            } catch (IllegalStateException ex) {
+                throw new AssertionError("Background setup failed to provide a booking: " + ex.getMessage(), ex);
+            }
+            context.set(ScenarioContext.ContextKey.BOOKING_ID, bookingId);
+            Allure.step("Booking taken from the pool with ID: " + bookingId);
+            return;
+        }
         iCreateAValidBooking();
         // FAIL FAST: If the background API call fails (e.g. 409 Conflict), crash here with a clear message!
         Response response = context.get(ScenarioContext.ContextKey.LAST_RESPONSE);
@@ -320,37 +356,37 @@ public void theResponseBookingFieldShouldBe(String field, String expectedValue)
     public void iRetrieveTheBookingByItsId() {
         int bookingId = context.get(ScenarioContext.ContextKey.BOOKING_ID);
         String cookieHeader = context.get(ScenarioContext.ContextKey.AUTH_TOKEN);
-        storeResponse(bookingClient.getBooking(bookingId, cookieHeader), null);
+        sendRepeatable(() -> bookingClient.getBooking(bookingId, cookieHeader));
     }
 
     @When("I request the booking by its ID without an auth token")
     public void iRequestTheBookingByItsIdWithoutAnAuthToken() {
         int bookingId = context.get(ScenarioContext.ContextKey.BOOKING_ID);
-        storeResponse(bookingClient.getBooking(bookingId, null), null);
+        sendRepeatable(() -> bookingClient.getBooking(bookingId, null));
     }
 
     @When("I request a booking with a non-existent ID")
     public void iRequestABookingWithANonExistentId() {
         String cookieHeader = context.get(ScenarioContext.ContextKey.AUTH_TOKEN);
-        storeResponse(bookingClient.getBooking(Integer.MAX_VALUE, cookieHeader), null);
+        sendRepeatable(() -> bookingClient.getBooking(Integer.MAX_VALUE, cookieHeader));
     }
 
     @Then("the retrieved booking dates should match the submitted dates")
     public void theRetrievedBookingDatesShouldMatch() {
-        Response response = context.get(ScenarioContext.ContextKey.LAST_RESPONSE);
-        assertThat(response.jsonPath().getString("bookingdates.checkin"))
+        ResponseView response = context.lastResponseView();
+        assertThat(response.getString("bookingdates.checkin"))
                 .as("Checkin date should match what was submitted")
                 .isEqualTo("2026-08-01");
-        assertThat(response.jsonPath().getString("bookingdates.checkout"))
+        assertThat(response.getString("bookingdates.checkout"))
                 .as("Checkout date should match what was submitted")
                 .isEqualTo("2026-08-07");
     }
 
     @Then("the response should document the missing PII fields")
     public void theResponseShouldDocumentTheMissingPIIFields() {
-        Response response = context.get(ScenarioContext.ContextKey.LAST_RESPONSE);
-        String actualEmail = response.jsonPath().getString("email");
-        String actualPhone = response.jsonPath().getString("phone");
+        ResponseView response = context.lastResponseView();
+        String actualEmail = response.getString("email");
+        String actualPhone = response.getString("phone");
         
         Allure.step("FINDING F-03: email and phone omitted from GET /booking/{id} response. "
                 + "OpenAPI spec documents both fields. "
@@ -417,8 +453,8 @@ public void theResponseBookingFieldShouldBe(String field, String expectedValue)
 
     @Then("the response should contain a success flag")
     public void theResponseShouldContainASuccessFlag() {
-        Response response = context.get(ScenarioContext.ContextKey.LAST_RESPONSE);
-        assertThat(response.jsonPath().getBoolean("success"))
+        ResponseView response = context.lastResponseView();
+        assertThat(response.getBoolean("success"))
                 .as("PUT response should return {'success': true}").isTrue();
     }
 
@@ -435,9 +471,9 @@ public void theResponseBookingFieldShouldBe(String field, String expectedValue)
     @Severity(SeverityLevel.MINOR)
     @Then("the response should document the ignored roomid and missing PII fields")
     public void theResponseShouldDocumentTheIgnoredRoomidAndMissingPiiFields() {
-        Response response = context.get(ScenarioContext.ContextKey.LAST_RESPONSE);
+        ResponseView response = context.lastResponseView();
         
-        int actualRoomId = response.jsonPath().getInt("roomid");
+        int actualRoomId = response.getInt("roomid");
         Allure.step("CONTRACT DEVIATION LOG: Sent roomid 99, but API ignored it and kept original roomid: " + actualRoomId);
     }
 }
\ No newline at end of file
@@ -1,13 +1,17 @@
 package com.booking.stepdefinitions;
 
-import com.booking.config.ApiEndpoints;
-import com.booking.config.ConfigManager;
+import com.booking.clients.HealthGate;
 import com.booking.context.ScenarioContext;
+import com.booking.load.RepeatedCalls;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
-import io.restassured.RestAssured;
+import io.cucumber.java.en.When;
+import io.qameta.allure.Allure;
 import io.restassured.response.Response;
 
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -24,20 +28,15 @@ public class CommonSteps {
     // ── Background ────────────────────────────────────────────────────────
 
     /**
-     * Verifies the API is reachable before any scenario runs.
-     * Hits GET /booking/actuator/health as defined in booking.yaml.
-     * Fails fast with a clear message if the environment is down.
+     * Verifies the API is reachable before the scenario runs.
+     * Delegates to the run-level HealthGate, which only hits GET /booking/actuator/health
+     * when a re-probe is due — not once per scenario.
+     * Fails fast with a clear message if the environment is down, and skips the scenario
+     * outright once the health circuit is already open.
      */
     @Given("the booking API is running")
     public void theBookingApiIsRunning() {
-        Response response = RestAssured.given()
-                .baseUri(ConfigManager.getInstance().getBaseUrl())
-                .when()
-                .get(ApiEndpoints.HEALTH_PATH);
-        assertThat(response.getStatusCode())
-                .as("API health check failed — is the environment reachable? Got status %d",
-                        response.getStatusCode())
-                .isEqualTo(200);
+        HealthGate.getInstance().requireHealthy();
     }
 
     // ── Generic status code assertions ────────────────────────────────────
@@ -65,4 +64,63 @@ public class CommonSteps {
             .isIn(status1, status2);
 }
 
-}
\ No newline at end of file
+    // ── Latency assertions ────────────────────────────────────────────────
+
+    /**
+     * Asserts the latency of the last response, as measured by Rest-Assured for that request.
+     */
+    @Then("the response time should be under {int} ms")
+    public void theResponseTimeShouldBeUnder(int maxMillis) {
+        Response response = context.get(ScenarioContext.ContextKey.LAST_RESPONSE);
+        long actualMillis = response.getTimeIn(TimeUnit.MILLISECONDS);
+        Allure.addAttachment("Response Time", "text/plain", actualMillis + " ms (limit " + maxMillis + " ms)");
+        assertThat(actualMillis)
+                .as("Expected the response within %d ms but it took %d ms", maxMillis, actualMillis)
+                .isLessThan(maxMillis);
+    }
+
+    /**
+     * Sends the last request again, the given number of times from the given number of concurrent
+     * callers, and attaches the measured latency distribution to the Allure report.
+     * Only read-only requests can be repeated (see ScenarioContext.REPEATABLE_CALL).
+     */
+    @When("I repeat this request {int} times with {int} concurrent callers")
+    public void iRepeatThisRequest(int times, int concurrency) {
+        Supplier<Response> call = context.get(ScenarioContext.ContextKey.REPEATABLE_CALL);
+        assertThat(call)
+                .as("The last request cannot be repeated — only read-only requests (GET, login) can be")
+                .isNotNull();
+        RepeatedCalls.Result result = RepeatedCalls.run(call, times, concurrency);
+        context.set(ScenarioContext.ContextKey.REPEATED_CALLS_RESULT, result);
+        Allure.addAttachment("Repeated Request Latency", "text/plain", result.describe());
+    }
+
+    /**
+     * Asserts a latency percentile of the preceding "I repeat this request" step, e.g. p95 or p99.
+     */
+    @Then("the p{int} response time should be under {int} ms")
+    public void thePercentileResponseTimeShouldBeUnder(int percentile, int maxMillis) {
+        RepeatedCalls.Result result = context.get(ScenarioContext.ContextKey.REPEATED_CALLS_RESULT);
+        assertThat(result).as("No repeated-request measurement — use \"I repeat this request\" first").isNotNull();
+        assertThat(result.failures())
+                .as("Some repeated requests failed without a response")
+                .isEmpty();
+        double actualMillis = result.millisAt(percentile);
+        assertThat(actualMillis)
+                .as("Expected p%d under %d ms but it was %.1f ms.%n%s", percentile, maxMillis, actualMillis,
+                        result.describe())
+                .isLessThan(maxMillis);
+    }
+
+    /**
+     * Asserts that every repeated request returned the same status as the original one.
+     */
+    @Then("every repeated response status code should be {int}")
+    public void everyRepeatedResponseStatusCodeShouldBe(int expectedStatus) {
+        RepeatedCalls.Result result = context.get(ScenarioContext.ContextKey.REPEATED_CALLS_RESULT);
+        assertThat(result).as("No repeated-request measurement — use \"I repeat this request\" first").isNotNull();
+        assertThat(result.statusCounts().keySet())
+                .as("Status codes of the repeated requests: %s", result.statusCounts())
+                .containsOnly(expectedStatus);
+    }
+}
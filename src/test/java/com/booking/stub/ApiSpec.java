@@ -0,0 +1,120 @@
+package com.booking.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The parts of the OpenAPI specification (spec/booking.yaml) the stub server is built from:
+ * the base path of the first server URL, every path template with its declared HTTP methods,
+ * and the required fields of the Booking schema.
+ */
+final class ApiSpec {
+
+    private static final String SPEC_RESOURCE = "spec/booking.yaml";
+    private static final Set<String> HTTP_METHODS = Set.of("GET", "PUT", "POST", "DELETE", "PATCH", "HEAD", "OPTIONS");
+
+    private final String basePath;
+    private final List<Route> routes;
+    private final List<String> requiredBookingFields;
+
+    private ApiSpec(String basePath, List<Route> routes, List<String> requiredBookingFields) {
+        this.basePath = basePath;
+        this.routes = routes;
+        this.requiredBookingFields = requiredBookingFields;
+    }
+
+    static ApiSpec load() {
+        try (InputStream input = ApiSpec.class.getClassLoader().getResourceAsStream(SPEC_RESOURCE)) {
+            if (input == null) {
+                throw new RuntimeException("OpenAPI specification not found on classpath: " + SPEC_RESOURCE);
+            }
+            return parse(new YAMLMapper().readTree(input));
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new RuntimeException("Failed to read OpenAPI specification: " + SPEC_RESOURCE, ex);
+        }
+    }
+
+    private static ApiSpec parse(JsonNode spec) {
+        String basePath = URI.create(Objects.requireNonNullElse(spec.path("servers").path(0).path("url").textValue(), "/")).getPath();
+        if (basePath.endsWith("/")) {
+            basePath = basePath.substring(0, basePath.length() - 1);
+        }
+
+        List<Route> routes = new ArrayList<>();
+        Iterator<String> templates = spec.path("paths").fieldNames();
+        while (templates.hasNext()) {
+            String template = templates.next();
+            Set<String> methods = new LinkedHashSet<>();
+            spec.path("paths").path(template).fieldNames().forEachRemaining(name -> {
+                String method = name.toUpperCase(Locale.ROOT);
+                if (HTTP_METHODS.contains(method)) {
+                    methods.add(method);
+                }
+            });
+            routes.add(Route.of(template, methods));
+        }
+
+        List<String> required = new ArrayList<>();
+        spec.path("components").path("schemas").path("Booking").path("required")
+                .forEach(field -> required.add(field.asText()));
+        return new ApiSpec(basePath, List.copyOf(routes), List.copyOf(required));
+    }
+
+    /** Path prefix every operation lives under, e.g. "/api". Empty when the server URL has no path. */
+    String basePath() {
+        return basePath;
+    }
+
+    List<Route> routes() {
+        return routes;
+    }
+
+    List<String> requiredBookingFields() {
+        return requiredBookingFields;
+    }
+
+    /** One path template from the spec, e.g. "/booking/{id}", and the methods declared on it. */
+    record Route(String template, Set<String> methods, Pattern pattern) {
+
+        private static final Pattern PARAMETER = Pattern.compile("\\{[^/}]+}");
+
+        static Route of(String template, Set<String> methods) {
+            StringBuilder regex = new StringBuilder();
+            Matcher parameter = PARAMETER.matcher(template);
+            int last = 0;
+            while (parameter.find()) {
+                regex.append(Pattern.quote(template.substring(last, parameter.start()))).append("([^/]+)");
+                last = parameter.end();
+            }
+            regex.append(Pattern.quote(template.substring(last)));
+            return new Route(template, Set.copyOf(methods), Pattern.compile(regex.toString()));
+        }
+
+        /** Returns the path parameter values if the path matches this template, otherwise null. */
+        List<String> match(String path) {
+            Matcher matcher = pattern.matcher(path);
+            if (!matcher.matches()) {
+                return null;
+            }
+            List<String> parameters = new ArrayList<>();
+            for (int i = 1; i <= matcher.groupCount(); i++) {
+                parameters.add(matcher.group(i));
+            }
+            return parameters;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.booking.stub;
+
+import com.booking.stub.BookingStore.StoredBooking;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * The stub's implementation of each operation in spec/booking.yaml.
+ *
+ * Behaviour follows the LIVE API as asserted by the feature files, not the spec where the two
+ * disagree (see "API Discrepancies" in the README): create returns 201 with a flat body,
+ * delete returns 200, PATCH is not implemented (405), roomid is ignored on PUT, email and
+ * phone are never returned, and an unknown token on DELETE crashes with 500.
+ *
+ * Field limits come from the live API's validation messages: firstname 3-18, lastname 3-30,
+ * phone 11-21 characters, roomid >= 1, and a well-formed email.
+ */
+final class BookingApi {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+$");
+
+    private final String adminUsername;
+    private final String adminPassword;
+    private final List<String> requiredBookingFields;
+    private final Set<String> issuedTokens = ConcurrentHashMap.newKeySet();
+    private final BookingStore store = new BookingStore();
+
+    BookingApi(String adminUsername, String adminPassword, List<String> requiredBookingFields) {
+        this.adminUsername = adminUsername;
+        this.adminPassword = adminPassword;
+        this.requiredBookingFields = requiredBookingFields;
+    }
+
+    /** GET /booking/actuator/health */
+    StubResponse health(StubRequest request) {
+        return new StubResponse(200, Map.of("status", "UP"));
+    }
+
+    /** POST /auth/login — any request without the configured admin credentials gets 401. */
+    StubResponse login(StubRequest request) {
+        JsonNode body = readJson(request.body());
+        if (body != null
+                && adminUsername.equals(body.path("username").textValue())
+                && adminPassword.equals(body.path("password").textValue())) {
+            String token = UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+            issuedTokens.add(token);
+            return new StubResponse(200, Map.of("token", token));
+        }
+        return StubResponse.error(401, "Invalid credentials");
+    }
+
+    /** POST /booking — no authentication required. */
+    StubResponse createBooking(StubRequest request) {
+        try {
+            StoredBooking booking = parseBooking(request.body(), "Failed to create booking");
+            return store.create(booking)
+                    .map(created -> new StubResponse(201, toJson(created)))
+                    .orElseGet(() -> StubResponse.errors(409, List.of("Failed to create booking")));
+        } catch (RejectedException ex) {
+            return ex.response;
+        }
+    }
+
+    /** GET /booking/{id} */
+    StubResponse getBooking(StubRequest request) {
+        StubResponse denied = authorise(request, 403, "Failed to retrieve booking");
+        if (denied != null) {
+            return denied;
+        }
+        return findBooking(request)
+                .map(booking -> new StubResponse(200, toJson(booking)))
+                .orElseGet(() -> StubResponse.error(404, "Booking not found"));
+    }
+
+    /** PUT /booking/{id} — the roomid in the payload is silently ignored, as on the live API. */
+    StubResponse updateBooking(StubRequest request) {
+        StubResponse denied = authorise(request, 403, "Failed to update booking");
+        if (denied != null) {
+            return denied;
+        }
+        Optional<StoredBooking> existing = findBooking(request);
+        if (existing.isEmpty()) {
+            return StubResponse.error(404, "Failed to update booking");
+        }
+        try {
+            StoredBooking replacement = parseBooking(request.body(), "Failed to update booking")
+                    .withId(existing.get().bookingid())
+                    .withRoom(existing.get().roomid());
+            return store.replace(replacement)
+                    ? new StubResponse(200, Map.of("success", true))
+                    : StubResponse.errors(409, List.of("Failed to update booking"));
+        } catch (RejectedException ex) {
+            return ex.response;
+        }
+    }
+
+    /** PATCH /booking/{id} — documented in the spec but not implemented on the live API (U-05). */
+    StubResponse partialUpdateBooking(StubRequest request) {
+        return StubResponse.error(405, "Method Not Allowed");
+    }
+
+    /** DELETE /booking/{id} — an unrecognised token crashes the live API with 500 (D-03). */
+    StubResponse deleteBooking(StubRequest request) {
+        StubResponse denied = authorise(request, 500, "Failed to delete booking");
+        if (denied != null) {
+            return denied;
+        }
+        return findBooking(request)
+                .filter(booking -> store.delete(booking.bookingid()))
+                .map(booking -> new StubResponse(200, null))
+                .orElseGet(() -> StubResponse.error(404, "Failed to delete booking"));
+    }
+
+    /**
+     * Returns null when the request carries a token this stub issued. Otherwise returns 401 if
+     * there is no "token=" cookie at all, or the given status and message if the token is unknown.
+     */
+    private StubResponse authorise(StubRequest request, int unknownTokenStatus, String unknownTokenMessage) {
+        Optional<String> token = request.token();
+        if (token.isEmpty()) {
+            return StubResponse.error(401, "Authentication required");
+        }
+        if (!issuedTokens.contains(token.get())) {
+            return StubResponse.error(unknownTokenStatus, unknownTokenMessage);
+        }
+        return null;
+    }
+
+    private Optional<StoredBooking> findBooking(StubRequest request) {
+        try {
+            return store.get(Integer.parseInt(request.pathParameters().get(0)));
+        } catch (NumberFormatException ex) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Validates a booking payload the way the live API does: field constraint violations are
+     * collected into a 400 "errors" array; a value of the wrong type (e.g. roomid "two") fails
+     * deserialisation with a generic 400; checkout not after checkin is a 409.
+     */
+    private StoredBooking parseBooking(byte[] body, String failureMessage) {
+        JsonNode json = readJson(body);
+        if (json == null || !json.isObject()) {
+            throw new RejectedException(StubResponse.errors(400, List.of(failureMessage)));
+        }
+
+        List<String> errors = new ArrayList<>();
+        for (String field : requiredBookingFields) {
+            // roomid is a primitive int on the server: a missing value becomes 0 and fails @Min(1) below
+            if (!field.equals("roomid") && (json.path(field).isMissingNode() || json.path(field).isNull())) {
+                errors.add("must not be null");
+            }
+        }
+
+        int roomid = readRoomId(json.path("roomid"), failureMessage);
+        if (roomid < 1) {
+            errors.add("must be greater than or equal to 1");
+        }
+        String firstname = readText(json.path("firstname"));
+        checkSize(firstname, 3, 18, errors);
+        String lastname = readText(json.path("lastname"));
+        checkSize(lastname, 3, 30, errors);
+        String phone = readText(json.path("phone"));
+        checkSize(phone, 11, 21, errors);
+        String email = readText(json.path("email"));
+        if (email != null && !EMAIL.matcher(email).matches()) {
+            errors.add("must be a well-formed email address");
+        }
+        boolean depositpaid = readDepositPaid(json.path("depositpaid"), failureMessage);
+        LocalDate checkin = readDate(json.path("bookingdates").path("checkin"), failureMessage);
+        LocalDate checkout = readDate(json.path("bookingdates").path("checkout"), failureMessage);
+
+        if (!errors.isEmpty()) {
+            throw new RejectedException(StubResponse.errors(400, errors));
+        }
+        if (checkin == null || checkout == null || !checkout.isAfter(checkin)) {
+            throw new RejectedException(StubResponse.errors(409, List.of(failureMessage)));
+        }
+        return new StoredBooking(0, roomid, firstname, lastname, depositpaid, checkin, checkout, email, phone);
+    }
+
+    private static void checkSize(String value, int min, int max, List<String> errors) {
+        if (value != null && (value.length() < min || value.length() > max)) {
+            errors.add("size must be between " + min + " and " + max);
+        }
+    }
+
+    /** The field as text, numbers included, or null when it is missing or JSON null. */
+    private static String readText(JsonNode node) {
+        return node.isMissingNode() || node.isNull() ? null : node.asText();
+    }
+
+    private static int readRoomId(JsonNode node, String failureMessage) {
+        if (node.isMissingNode() || node.isNull() || node.isTextual() && node.asText().isEmpty()) {
+            return 0;
+        }
+        if (node.isIntegralNumber()) {
+            return node.asInt();
+        }
+        if (node.isTextual()) {
+            try {
+                return Integer.parseInt(node.asText().trim());
+            } catch (NumberFormatException ex) {
+                // Falls through to the type-mismatch rejection below
+            }
+        }
+        throw new RejectedException(StubResponse.errors(400, List.of(failureMessage)));
+    }
+
+    private static boolean readDepositPaid(JsonNode node, String failureMessage) {
+        if (node.isMissingNode() || node.isNull()) {
+            return false;
+        }
+        if (node.isBoolean()) {
+            return node.asBoolean();
+        }
+        // Jackson coerces numbers to booleans (0 = false, anything else = true) — see C-08
+        if (node.isIntegralNumber()) {
+            return node.asInt() != 0;
+        }
+        if (node.isTextual() && (node.asText().equals("true") || node.asText().equals("false"))) {
+            return Boolean.parseBoolean(node.asText());
+        }
+        throw new RejectedException(StubResponse.errors(400, List.of(failureMessage)));
+    }
+
+    private static LocalDate readDate(JsonNode node, String failureMessage) {
+        if (node.isMissingNode() || node.isNull()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(node.asText());
+        } catch (DateTimeParseException ex) {
+            throw new RejectedException(StubResponse.errors(400, List.of(failureMessage)));
+        }
+    }
+
+    private static JsonNode readJson(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            return mapper.readTree(body);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    /** The live API's booking representation: a flat object without email and phone (F-03). */
+    private static Map<String, Object> toJson(StoredBooking booking) {
+        Map<String, Object> dates = new LinkedHashMap<>();
+        dates.put("checkin", booking.checkin().toString());
+        dates.put("checkout", booking.checkout().toString());
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("bookingid", booking.bookingid());
+        json.put("roomid", booking.roomid());
+        json.put("firstname", booking.firstname());
+        json.put("lastname", booking.lastname());
+        json.put("depositpaid", booking.depositpaid());
+        json.put("bookingdates", dates);
+        return json;
+    }
+
+    /** Carries the error response out of the nested payload checks. */
+    private static final class RejectedException extends RuntimeException {
+
+        private final transient StubResponse response;
+
+        RejectedException(StubResponse response) {
+            super(null, null, false, false);
+            this.response = response;
+        }
+    }
+}
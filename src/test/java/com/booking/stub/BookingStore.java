@@ -0,0 +1,69 @@
+package com.booking.stub;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory booking table for the stub server.
+ *
+ * Like the live API, a room cannot be booked twice for overlapping nights. The overlap check
+ * and the insert must be one atomic step, so every method synchronises on the store; the
+ * critical sections are a map scan over a few dozen entries, far cheaper than the HTTP
+ * round trip around them.
+ */
+final class BookingStore {
+
+    /** A booking as stored by the stub. email and phone are kept but never returned (finding F-03). */
+    record StoredBooking(int bookingid, int roomid, String firstname, String lastname, boolean depositpaid,
+                         LocalDate checkin, LocalDate checkout, String email, String phone) {
+
+        StoredBooking withId(int id) {
+            return new StoredBooking(id, roomid, firstname, lastname, depositpaid, checkin, checkout, email, phone);
+        }
+
+        StoredBooking withRoom(int room) {
+            return new StoredBooking(bookingid, room, firstname, lastname, depositpaid, checkin, checkout, email, phone);
+        }
+
+        boolean overlaps(StoredBooking other) {
+            return roomid == other.roomid && checkin.isBefore(other.checkout) && other.checkin.isBefore(checkout);
+        }
+    }
+
+    private final Map<Integer, StoredBooking> bookings = new HashMap<>();
+    private int nextId = 1;
+
+    /** Stores the booking under a new ID, or returns empty if the room is already taken for those nights. */
+    synchronized Optional<StoredBooking> create(StoredBooking booking) {
+        if (conflicts(booking)) {
+            return Optional.empty();
+        }
+        StoredBooking stored = booking.withId(nextId++);
+        bookings.put(stored.bookingid(), stored);
+        return Optional.of(stored);
+    }
+
+    synchronized Optional<StoredBooking> get(int id) {
+        return Optional.ofNullable(bookings.get(id));
+    }
+
+    /** Replaces an existing booking. The caller has already checked that the ID exists. */
+    synchronized boolean replace(StoredBooking booking) {
+        if (conflicts(booking)) {
+            return false;
+        }
+        bookings.put(booking.bookingid(), booking);
+        return true;
+    }
+
+    synchronized boolean delete(int id) {
+        return bookings.remove(id) != null;
+    }
+
+    private boolean conflicts(StoredBooking candidate) {
+        return bookings.values().stream()
+                .anyMatch(existing -> existing.bookingid() != candidate.bookingid() && existing.overlaps(candidate));
+    }
+}
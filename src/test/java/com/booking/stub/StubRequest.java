@@ -0,0 +1,25 @@
+package com.booking.stub;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * One request as seen by a stub operation: the path parameter values in template order,
+ * the raw Cookie header (null when absent) and the raw body.
+ */
+record StubRequest(List<String> pathParameters, String cookieHeader, byte[] body) {
+
+    /** The value of the "token" cookie, if the request carries one. */
+    Optional<String> token() {
+        if (cookieHeader == null) {
+            return Optional.empty();
+        }
+        for (String cookie : cookieHeader.split(";")) {
+            String trimmed = cookie.trim();
+            if (trimmed.startsWith("token=")) {
+                return Optional.of(trimmed.substring("token=".length()));
+            }
+        }
+        return Optional.empty();
+    }
+}
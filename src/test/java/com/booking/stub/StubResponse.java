@@ -0,0 +1,19 @@
+package com.booking.stub;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Status code and JSON body (serialised by StubServer) of one stub response.
+ * A null body sends an empty response.
+ */
+record StubResponse(int status, Object body) {
+
+    static StubResponse error(int status, String message) {
+        return new StubResponse(status, Map.of("error", message));
+    }
+
+    static StubResponse errors(int status, List<String> messages) {
+        return new StubResponse(status, Map.of("errors", messages));
+    }
+}
@@ -0,0 +1,187 @@
+package com.booking.stub;
+
+import com.booking.config.ConfigManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * In-process implementation of the Booking API, selected with -Denv=local.
+ *
+ * Routes are read from spec/booking.yaml: a path that is not in the spec gets 404 and a method
+ * the spec does not declare for that path gets 405. Startup fails if the spec declares an
+ * operation the stub has no handler for, so the stub cannot silently drift from the contract.
+ * Responses follow the live API's observed behaviour — see BookingApi.
+ *
+ * The server binds to the loopback interface on stub.port (0 = any free port) and is started
+ * once per JVM on first use; all of its threads are daemons, so it never keeps a run alive.
+ * Hooks stops it after the last scenario with stopIfStarted().
+ * Requests are served concurrently and the booking state is thread-safe, so parallel
+ * scenarios behave exactly as they would against the shared live environment.
+ *
+ * Usage: StubServer.getInstance().getBaseUrl() — normally reached through ConfigManager.getBaseUrl().
+ */
+public final class StubServer {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static volatile StubServer instance;
+
+    private final HttpServer server;
+    private final String baseUrl;
+    private final List<ApiSpec.Route> routes;
+    private final Map<String, Function<StubRequest, StubResponse>> operations;
+
+    private StubServer(ApiSpec spec, BookingApi api, int port) throws IOException {
+        this.routes = spec.routes();
+        this.operations = Map.of(
+                "GET /booking/actuator/health", api::health,
+                "POST /auth/login", api::login,
+                "POST /booking", api::createBooking,
+                "GET /booking/{id}", api::getBooking,
+                "PUT /booking/{id}", api::updateBooking,
+                "PATCH /booking/{id}", api::partialUpdateBooking,
+                "DELETE /booking/{id}", api::deleteBooking);
+        for (ApiSpec.Route route : routes) {
+            for (String method : route.methods()) {
+                if (!operations.containsKey(method + " " + route.template())) {
+                    throw new IllegalStateException("Stub server has no handler for "
+                            + method + " " + route.template() + " declared in the OpenAPI spec");
+                }
+            }
+        }
+
+        AtomicInteger threadIds = new AtomicInteger();
+        ExecutorService workers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stub-server-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.server.createContext("/", exchange -> handle(exchange, spec.basePath()));
+        this.server.setExecutor(workers);
+        this.baseUrl = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort()
+                + spec.basePath();
+    }
+
+    public static StubServer getInstance() {
+        StubServer local = instance;
+        if (local == null) {
+            synchronized (StubServer.class) {
+                local = instance;
+                if (local == null) {
+                    local = start();
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Stops the server if one was started; later requests to its base URL are refused. The
+     * instance is released, so a later getInstance() in the same class loader starts a new
+     * server instead of returning the stopped one.
+     */
+    public static void stopIfStarted() {
+        StubServer local;
+        synchronized (StubServer.class) {
+            local = instance;
+            instance = null;
+        }
+        if (local != null) {
+            local.server.stop(0);
+        }
+    }
+
+    /** Base URL to send API requests to, including the spec's base path (e.g. http://127.0.0.1:40123/api). */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    private static StubServer start() {
+        // Without TCP_NODELAY the response body waits on the client's delayed ACK of the headers,
+        // adding ~40 ms to every request. Read once by the JDK when the first server is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        ConfigManager config = ConfigManager.getInstance();
+        ApiSpec spec = ApiSpec.load();
+        BookingApi api = new BookingApi(config.getAdminUsername(), config.getAdminPassword(),
+                spec.requiredBookingFields());
+        StubServer stub;
+        try {
+            stub = new StubServer(spec, api, config.getStubPort());
+        } catch (IOException ex) {
+            throw new RuntimeException("Failed to start the stub server on port " + config.getStubPort(), ex);
+        }
+        // HttpServer's dispatcher thread inherits the daemon flag of the thread that starts it,
+        // so start it from a daemon thread rather than whichever test thread got here first.
+        Thread starter = new Thread(stub.server::start, "stub-server-start");
+        starter.setDaemon(true);
+        starter.start();
+        try {
+            starter.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while starting the stub server", ex);
+        }
+        System.out.println("Stub server listening on " + stub.baseUrl);
+        return stub;
+    }
+
+    private void handle(HttpExchange exchange, String basePath) throws IOException {
+        try (exchange) {
+            StubResponse response;
+            try {
+                response = dispatch(exchange, basePath);
+            } catch (RuntimeException ex) {
+                // A bug in the stub must surface as a server error, not as a hung or reset connection
+                response = StubResponse.error(500, "Stub server error: " + ex);
+            }
+            byte[] body = response.body() == null ? new byte[0] : mapper.writeValueAsBytes(response.body());
+            if (body.length > 0) {
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+            }
+            exchange.sendResponseHeaders(response.status(), body.length == 0 ? -1 : body.length);
+            if (body.length > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        }
+    }
+
+    private StubResponse dispatch(HttpExchange exchange, String basePath) throws IOException {
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        String path = exchange.getRequestURI().getPath();
+        if (!path.startsWith(basePath)) {
+            return StubResponse.error(404, "Not Found");
+        }
+        path = path.substring(basePath.length());
+        String method = exchange.getRequestMethod();
+
+        for (ApiSpec.Route route : routes) {
+            List<String> parameters = route.match(path);
+            if (parameters == null) {
+                continue;
+            }
+            if (!route.methods().contains(method)) {
+                return StubResponse.error(405, "Method Not Allowed");
+            }
+            StubRequest request = new StubRequest(parameters, exchange.getRequestHeaders().getFirst("Cookie"), body);
+            return operations.get(method + " " + route.template()).apply(request);
+        }
+        return StubResponse.error(404, "Not Found");
+    }
+}
@@ -0,0 +1,140 @@
+package com.booking.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Process-wide registry of compiled JSON schemas.
+ *
+ * Rest-Assured's JsonSchemaValidator.matchesJsonSchemaInClasspath() reads and compiles the
+ * schema file on every call, and then parses the response body again to validate it. This
+ * registry loads and compiles every *.json file under schemas/ once per JVM, and validates an
+ * already-parsed JsonNode, so neither cost is paid per response.
+ *
+ * Validation uses the same validator library (java-json-tools) and default settings as
+ * JsonSchemaValidator, so results are identical. Compiled JsonSchema instances are immutable
+ * and thread-safe; the registry can be shared by parallel scenarios and load-test workers.
+ *
+ * Usage: SchemaRegistry.getInstance().validate("booking-response-schema.json", body)
+ */
+public final class SchemaRegistry {
+
+    private static final String SCHEMA_DIRECTORY = "schemas";
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static volatile SchemaRegistry instance;
+
+    private final Map<String, JsonSchema> schemas;
+
+    private SchemaRegistry() {
+        JsonSchemaFactory factory = JsonSchemaFactory.byDefault();
+        Map<String, JsonSchema> compiled = new TreeMap<>();
+        for (String name : listSchemaFiles()) {
+            compiled.put(name, compile(factory, name));
+        }
+        this.schemas = Collections.unmodifiableMap(compiled);
+    }
+
+    public static SchemaRegistry getInstance() {
+        SchemaRegistry local = instance;
+        if (local == null) {
+            synchronized (SchemaRegistry.class) {
+                local = instance;
+                if (local == null) {
+                    local = new SchemaRegistry();
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /** File names of every registered schema, e.g. "booking-response-schema.json". */
+    public Set<String> schemaNames() {
+        return schemas.keySet();
+    }
+
+    /**
+     * Validates a parsed JSON document against a registered schema.
+     *
+     * @param schemaName File name under schemas/, e.g. "booking-response-schema.json".
+     * @param document   The already-parsed JSON to validate.
+     * @return The validation report; isSuccess() is false if the document breaks the schema.
+     * @throws IllegalArgumentException if no schema with that name is registered.
+     */
+    public ProcessingReport validate(String schemaName, JsonNode document) {
+        JsonSchema schema = schemas.get(schemaName);
+        if (schema == null) {
+            throw new IllegalArgumentException("No JSON schema named '" + schemaName
+                    + "' under " + SCHEMA_DIRECTORY + "/ — registered: " + schemas.keySet());
+        }
+        try {
+            return schema.validate(document);
+        } catch (ProcessingException ex) {
+            throw new IllegalStateException("JSON schema " + schemaName + " could not be applied", ex);
+        }
+    }
+
+    private static JsonSchema compile(JsonSchemaFactory factory, String name) {
+        String resource = SCHEMA_DIRECTORY + "/" + name;
+        try (InputStream input = SchemaRegistry.class.getClassLoader().getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IllegalStateException("JSON schema not found on classpath: " + resource);
+            }
+            return factory.getJsonSchema(mapper.readTree(input));
+        } catch (IOException | ProcessingException ex) {
+            throw new IllegalStateException("Failed to load JSON schema: " + resource, ex);
+        }
+    }
+
+    /** Lists schemas/*.json whether the test resources are a directory or packed in a jar. */
+    private static List<String> listSchemaFiles() {
+        URL directory = SchemaRegistry.class.getClassLoader().getResource(SCHEMA_DIRECTORY);
+        if (directory == null) {
+            throw new IllegalStateException("Schema directory not found on classpath: " + SCHEMA_DIRECTORY);
+        }
+        try {
+            URI uri = directory.toURI();
+            if (!"jar".equals(uri.getScheme())) {
+                return listJsonFiles(Path.of(uri));
+            }
+            FileSystem jar;
+            try {
+                jar = FileSystems.getFileSystem(uri);
+            } catch (FileSystemNotFoundException ex) {
+                jar = FileSystems.newFileSystem(uri, Map.of());
+            }
+            return listJsonFiles(jar.provider().getPath(uri));
+        } catch (Exception ex) {
+            throw new IllegalStateException("Failed to list JSON schemas under " + directory, ex);
+        }
+    }
+
+    private static List<String> listJsonFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(".json"))
+                    .sorted()
+                    .toList();
+        }
+    }
+}
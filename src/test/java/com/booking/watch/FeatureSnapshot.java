@@ -0,0 +1,88 @@
+package com.booking.watch;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The scenarios of one feature file, as text, so that two versions of the file can be compared
+ * scenario by scenario.
+ *
+ * A scenario runs from its tag lines to the next scenario's tags; Examples tables belong to
+ * their Scenario Outline. Everything before the first scenario — feature tags, description,
+ * Background — is the header, which every scenario depends on. Line numbers are not part of a
+ * scenario's text, so inserting lines above a scenario does not count as changing it.
+ */
+final class FeatureSnapshot {
+
+    private static final List<String> SCENARIO_KEYWORDS =
+            List.of("Scenario:", "Scenario Outline:", "Scenario Template:", "Example:");
+
+    private final String header;
+    private final List<Scenario> scenarios;
+
+    /** @param line The line of the Scenario keyword — the line Cucumber identifies it by. */
+    record Scenario(int line, String text) {
+    }
+
+    private FeatureSnapshot(String header, List<Scenario> scenarios) {
+        this.header = header;
+        this.scenarios = scenarios;
+    }
+
+    static FeatureSnapshot read(Path featureFile) throws IOException {
+        List<String> lines = Files.readAllLines(featureFile, StandardCharsets.UTF_8);
+        // Rules have their own Background, so any change to a file with rules reruns all of it
+        boolean hasRules = lines.stream().anyMatch(line -> line.strip().startsWith("Rule:"));
+        List<Integer> starts = new ArrayList<>();
+        List<Integer> keywordLines = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).strip();
+            if (SCENARIO_KEYWORDS.stream().anyMatch(line::startsWith)) {
+                int start = i;
+                while (start > 0 && lines.get(start - 1).strip().startsWith("@")) {
+                    start--;
+                }
+                starts.add(start);
+                keywordLines.add(i + 1);
+            }
+        }
+        int headerEnd = starts.isEmpty() || hasRules ? lines.size() : starts.get(0);
+        String header = String.join("\n", lines.subList(0, headerEnd));
+        List<Scenario> scenarios = new ArrayList<>();
+        for (int i = 0; i < starts.size(); i++) {
+            int end = i + 1 < starts.size() ? starts.get(i + 1) : lines.size();
+            String text = hasRules ? "" : String.join("\n", lines.subList(starts.get(i), end)).strip();
+            scenarios.add(new Scenario(keywordLines.get(i), text));
+        }
+        return new FeatureSnapshot(header, List.copyOf(scenarios));
+    }
+
+    /**
+     * Lines of the scenarios that are new or different compared with the previous version —
+     * all of them if there is no previous version or the header changed.
+     */
+    List<Integer> changedSince(FeatureSnapshot previous) {
+        List<Integer> changed = new ArrayList<>();
+        boolean headerChanged = previous == null || !previous.header.equals(header);
+        Set<String> previousTexts = new HashSet<>();
+        if (!headerChanged) {
+            previous.scenarios.forEach(scenario -> previousTexts.add(scenario.text()));
+        }
+        for (Scenario scenario : scenarios) {
+            if (headerChanged || !previousTexts.contains(scenario.text())) {
+                changed.add(scenario.line());
+            }
+        }
+        return changed;
+    }
+
+    List<Integer> scenarioLines() {
+        return scenarios.stream().map(Scenario::line).toList();
+    }
+}
@@ -0,0 +1,40 @@
+package com.booking.watch;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Which glue classes each scenario bound to in its latest watch run, so that a recompiled class
+ * reruns only the scenarios that use it. Filled by GlueRecorder; loaded once per JVM (see
+ * RunClassLoader), so it outlives the runs. Public because GlueRecorder, defined by each run's
+ * class loader, is in a different runtime package.
+ */
+public final class GlueIndex {
+
+    private static final Map<String, Set<String>> glueOfScenario = new ConcurrentHashMap<>();
+
+    private GlueIndex() {
+        // Static state only — not instantiable
+    }
+
+    /** @param scenarioId e.g. "features/auth.feature:8" */
+    public static void record(String scenarioId, Set<String> glueClasses) {
+        glueOfScenario.put(scenarioId, Set.copyOf(glueClasses));
+    }
+
+    /** True if any scenario run so far bound to the class, i.e. it is glue rather than a helper. */
+    public static boolean isGlue(String className) {
+        return glueOfScenario.values().stream().anyMatch(classes -> classes.contains(className));
+    }
+
+    /** IDs of the scenarios that bound to any of the classes. */
+    public static Set<String> scenariosUsing(Set<String> classNames) {
+        return glueOfScenario.entrySet().stream()
+                .filter(entry -> entry.getValue().stream().anyMatch(classNames::contains))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+}
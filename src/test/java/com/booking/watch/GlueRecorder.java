@@ -0,0 +1,37 @@
+package com.booking.watch;
+
+import com.booking.cache.ResultCachePlugin;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestStep;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Cucumber plugin added to every WatchRunner run: records in GlueIndex which glue classes (step
+ * definitions and hooks) each finished scenario bound to.
+ */
+public class GlueRecorder implements ConcurrentEventListener {
+
+    private static final String CLASSPATH_PREFIX = "classpath:";
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseFinished.class, event -> {
+            TestCase testCase = event.getTestCase();
+            String uri = testCase.getUri().toString();
+            String feature = uri.startsWith(CLASSPATH_PREFIX) ? uri.substring(CLASSPATH_PREFIX.length()) : uri;
+            Set<String> glueClasses = new TreeSet<>();
+            for (TestStep step : testCase.getTestSteps()) {
+                String glueClass = ResultCachePlugin.glueClassOf(step.getCodeLocation());
+                if (glueClass != null) {
+                    glueClasses.add(glueClass);
+                }
+            }
+            GlueIndex.record(feature + ":" + testCase.getLocation().getLine(), glueClasses);
+        });
+    }
+}
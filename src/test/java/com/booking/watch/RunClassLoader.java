@@ -0,0 +1,94 @@
+package com.booking.watch;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Class loader for one watch run, over the JVM's own class path.
+ *
+ * It defines its own copy of the framework's classes (com.booking.*) and of Cucumber, so each
+ * run starts with fresh singletons (ConfigManager, HttpTransport, RetryPolicy's budget,
+ * SlotAllocator, the stub server...) and with classes recompiled since the last run. Cucumber
+ * must come along because it loads glue through its own class loader, not the context one.
+ * Everything else — JUnit, Rest-Assured, Groovy, Jackson, HttpClient, Allure — is shared with
+ * the parent, where it stays loaded and JIT-compiled between runs; the framework only reaches
+ * those libraries through their own types, so sharing them is safe.
+ *
+ * com.booking.watch is shared too, so GlueIndex outlives the run, except for GlueRecorder:
+ * it is a Cucumber plugin and must implement this run's Cucumber interfaces. Resources are
+ * looked up here first and listed once, although the parent sees the same class path.
+ */
+final class RunClassLoader extends URLClassLoader {
+
+    private static final List<String> PER_RUN_PACKAGES =
+            List.of("com.booking.", "io.cucumber.", "io.qameta.allure.cucumber7jvm.");
+    private static final String WATCH_PACKAGE = "com.booking.watch.";
+    private static final String GLUE_RECORDER = "com.booking.watch.GlueRecorder";
+
+    RunClassLoader(ClassLoader parent) {
+        super(classPath(), parent);
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (!isPerRun(name)) {
+            return super.loadClass(name, resolve);
+        }
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> loaded = findLoadedClass(name);
+            if (loaded == null) {
+                try {
+                    loaded = findClass(name);
+                } catch (ClassNotFoundException ex) {
+                    loaded = getParent().loadClass(name);
+                }
+            }
+            if (resolve) {
+                resolveClass(loaded);
+            }
+            return loaded;
+        }
+    }
+
+    @Override
+    public URL getResource(String name) {
+        URL own = findResource(name);
+        return own != null ? own : super.getResource(name);
+    }
+
+    @Override
+    public Enumeration<URL> getResources(String name) throws IOException {
+        Set<URL> resources = new LinkedHashSet<>(Collections.list(findResources(name)));
+        resources.addAll(Collections.list(getParent().getResources(name)));
+        return Collections.enumeration(resources);
+    }
+
+    private static boolean isPerRun(String name) {
+        if (name.startsWith(WATCH_PACKAGE)) {
+            return name.equals(GLUE_RECORDER);
+        }
+        return PER_RUN_PACKAGES.stream().anyMatch(name::startsWith);
+    }
+
+    private static URL[] classPath() {
+        List<URL> urls = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            try {
+                urls.add(Path.of(entry).toUri().toURL());
+            } catch (MalformedURLException ex) {
+                throw new IllegalStateException("Unusable class path entry: " + entry, ex);
+            }
+        }
+        return urls.toArray(URL[]::new);
+    }
+}
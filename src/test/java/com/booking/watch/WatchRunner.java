@@ -0,0 +1,277 @@
+package com.booking.watch;
+
+import com.booking.config.ConfigManager;
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.engine.discovery.FilePosition;
+import org.junit.platform.launcher.EngineFilter;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+import org.junit.platform.suite.api.ConfigurationParameter;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static io.cucumber.core.options.Constants.PLUGIN_PROPERTY_NAME;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClasspathResource;
+
+/**
+ * Watch mode: keeps one JVM running, with Cucumber, Rest-Assured, Groovy and Jackson loaded and
+ * warm, and reruns only the scenarios affected by each change.
+ *
+ * It runs the whole suite once, then watches src/test/resources/features and src/test/java:
+ *   feature file saved — the file is copied to target/test-classes and only its new or edited
+ *                        scenarios run (all of them if the Feature header or Background changed)
+ *   Java source saved  — the file is compiled into target/test-classes in-process; if it is a
+ *                        step-definition or hook class, the scenarios that bound to it run,
+ *                        otherwise (clients, factories, DTOs...) the whole suite does
+ * Saves within watch.debounce.ms of each other form one run.
+ *
+ * Each run uses the same engine configuration as TestRunner, read from its annotations, and a
+ * new RunClassLoader, so no state (singletons, pools, tokens, retry budget, stub server)
+ * carries over from the previous run. A compiler error is printed and nothing runs until the
+ * file compiles again. Only the saved file is compiled, so a change to a signature other
+ * classes use still needs mvn test-compile.
+ *
+ * Run with:  mvn -Pwatch test-compile exec:exec -Dwatch.args="-Denv=local"
+ */
+public final class WatchRunner {
+
+    private static final Path FEATURE_SOURCES = Path.of("src", "test", "resources", "features");
+    private static final Path JAVA_SOURCES = Path.of("src", "test", "java");
+    private static final Path TEST_CLASSES = Path.of("target", "test-classes");
+    private static final String FEATURES = "features";
+    private static final String SUITE_CLASS = "com.booking.TestRunner";
+
+    private final WatchService watcher;
+    private final long debounceMillis;
+    // By classpath resource name, e.g. "features/auth.feature"
+    private final Map<String, FeatureSnapshot> features = new HashMap<>();
+
+    private WatchRunner() throws IOException {
+        watcher = FileSystems.getDefault().newWatchService();
+        debounceMillis = ConfigManager.getInstance().getWatchDebounceMillis();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new WatchRunner().watch();
+    }
+
+    private void watch() throws IOException, InterruptedException {
+        try (Stream<Path> files = Files.walk(FEATURE_SOURCES)) {
+            for (Path file : files.filter(WatchRunner::isFeature).toList()) {
+                features.put(resourceName(file), FeatureSnapshot.read(file));
+            }
+        }
+        register(FEATURE_SOURCES);
+        register(JAVA_SOURCES);
+        run(List.of(selectClasspathResource(FEATURES)), "all scenarios");
+
+        while (true) {
+            Set<Path> changed = awaitChanges();
+            List<DiscoverySelector> selectors = new ArrayList<>();
+            List<Path> sources = changed.stream().filter(WatchRunner::isJavaSource).filter(Files::exists).toList();
+            if (!sources.isEmpty()) {
+                if (!compile(sources)) {
+                    System.out.println("Watch: not running until it compiles — waiting for changes");
+                    continue;
+                }
+                Set<String> classes = new TreeSet<>();
+                sources.forEach(source -> classes.add(className(source)));
+                if (classes.stream().allMatch(GlueIndex::isGlue)) {
+                    GlueIndex.scenariosUsing(classes).forEach(id -> selectors.add(selectorFor(id)));
+                } else {
+                    selectors.add(selectClasspathResource(FEATURES));
+                }
+            }
+            for (Path file : changed.stream().filter(WatchRunner::isFeature).toList()) {
+                selectors.addAll(featureChanged(file));
+            }
+            if (selectors.contains(selectClasspathResource(FEATURES))) {
+                run(List.of(selectClasspathResource(FEATURES)), "all scenarios");
+            } else if (selectors.isEmpty()) {
+                System.out.println("Watch: no scenario affected by " + changed.size() + " changed file(s) — waiting for changes");
+            } else {
+                List<DiscoverySelector> distinct = List.copyOf(new LinkedHashSet<>(selectors));
+                run(distinct, distinct.size() + " affected scenario(s)");
+            }
+        }
+    }
+
+    /** Copies a saved feature file into target/test-classes and returns selectors for its changed scenarios. */
+    private List<DiscoverySelector> featureChanged(Path file) throws IOException {
+        String resource = resourceName(file);
+        Path target = TEST_CLASSES.resolve(resource);
+        if (!Files.exists(file)) {
+            Files.deleteIfExists(target);
+            features.remove(resource);
+            return List.of();
+        }
+        Files.createDirectories(target.getParent());
+        Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+        FeatureSnapshot current = FeatureSnapshot.read(file);
+        List<Integer> lines = current.changedSince(features.put(resource, current));
+        List<DiscoverySelector> selectors = new ArrayList<>();
+        lines.forEach(line -> selectors.add(selectClasspathResource(resource, FilePosition.from(line))));
+        return selectors;
+    }
+
+    /** A scenario recorded in GlueIndex; its whole feature if the line no longer starts a scenario. */
+    private DiscoverySelector selectorFor(String scenarioId) {
+        int colon = scenarioId.lastIndexOf(':');
+        String resource = scenarioId.substring(0, colon);
+        int line = Integer.parseInt(scenarioId.substring(colon + 1));
+        FeatureSnapshot snapshot = features.get(resource);
+        if (snapshot != null && snapshot.scenarioLines().contains(line)) {
+            return selectClasspathResource(resource, FilePosition.from(line));
+        }
+        return selectClasspathResource(resource);
+    }
+
+    /** Blocks until files change, then collects further changes until none arrive for watch.debounce.ms. */
+    private Set<Path> awaitChanges() throws IOException, InterruptedException {
+        Set<Path> changed = new LinkedHashSet<>();
+        WatchKey key = watcher.take();
+        while (key != null) {
+            Path directory = (Path) key.watchable();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    continue;
+                }
+                Path path = directory.resolve((Path) event.context());
+                if (Files.isDirectory(path)) {
+                    register(path);
+                } else if (isFeature(path) || isJavaSource(path)) {
+                    changed.add(path);
+                }
+            }
+            key.reset();
+            key = watcher.poll(debounceMillis, TimeUnit.MILLISECONDS);
+        }
+        return changed;
+    }
+
+    /** Runs the selected scenarios with TestRunner's configuration in a fresh RunClassLoader. */
+    private void run(List<DiscoverySelector> selectors, String what) {
+        System.out.println("Watch: running " + what);
+        long started = System.nanoTime();
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        try (RunClassLoader loader = new RunClassLoader(WatchRunner.class.getClassLoader())) {
+            // The launcher finds the Cucumber engine through the context class loader
+            thread.setContextClassLoader(loader);
+            LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request()
+                    .selectors(selectors)
+                    .filters(EngineFilter.includeEngines("cucumber"))
+                    .configurationParameters(suiteParameters(loader))
+                    .build();
+            SummaryGeneratingListener listener = new SummaryGeneratingListener();
+            LauncherFactory.create().execute(request, listener);
+            TestExecutionSummary summary = listener.getSummary();
+            summary.getFailures().forEach(failure ->
+                    System.out.println("Watch: FAILED " + failure.getTestIdentifier().getDisplayName()
+                            + " — " + failure.getException().getMessage()));
+            System.out.printf("Watch: %d scenarios, %d passed, %d failed in %.1f s — waiting for changes%n",
+                    summary.getTestsStartedCount(), summary.getTestsSucceededCount(), summary.getTestsFailedCount(),
+                    (System.nanoTime() - started) / 1e9);
+        } catch (IOException | RuntimeException | LinkageError ex) {
+            // Whatever broke this run, the next change gets a fresh class loader
+            System.out.println("Watch: run aborted: " + ex + " — waiting for changes");
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    /** TestRunner's @ConfigurationParameter settings, plus GlueRecorder as an extra plugin. */
+    private static Map<String, String> suiteParameters(ClassLoader loader) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        try {
+            for (ConfigurationParameter parameter : loader.loadClass(SUITE_CLASS)
+                    .getAnnotationsByType(ConfigurationParameter.class)) {
+                parameters.put(parameter.key(), parameter.value());
+            }
+        } catch (ClassNotFoundException ex) {
+            throw new IllegalStateException(SUITE_CLASS + " is not in " + TEST_CLASSES + " — run mvn test-compile", ex);
+        }
+        parameters.merge(PLUGIN_PROPERTY_NAME, GlueRecorder.class.getName(), (plugins, own) -> plugins + ", " + own);
+        return parameters;
+    }
+
+    /** Compiles the saved sources into target/test-classes against the JVM's own class path. */
+    private static boolean compile(List<Path> sources) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            System.out.println("Watch: this JVM has no Java compiler (run it on a JDK), so " + sources + " cannot be compiled");
+            return false;
+        }
+        System.out.println("Watch: compiling " + sources);
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            List<String> options = List.of("--release", "17", "-implicit:none",
+                    "-d", TEST_CLASSES.toString(), "-classpath", System.getProperty("java.class.path"));
+            boolean compiled = compiler.getTask(null, fileManager, diagnostics, options, null,
+                    fileManager.getJavaFileObjectsFromPaths(sources)).call();
+            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                    System.out.println("Watch: " + diagnostic.getSource().getName() + ":" + diagnostic.getLineNumber()
+                            + ": " + diagnostic.getMessage(null));
+                }
+            }
+            return compiled;
+        }
+    }
+
+    private void register(Path root) throws IOException {
+        try (Stream<Path> directories = Files.walk(root)) {
+            for (Path directory : directories.filter(Files::isDirectory).toList()) {
+                directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            }
+        }
+    }
+
+    private static boolean isFeature(Path path) {
+        return path.startsWith(FEATURE_SOURCES) && path.getFileName().toString().endsWith(".feature");
+    }
+
+    private static boolean isJavaSource(Path path) {
+        return path.startsWith(JAVA_SOURCES) && path.getFileName().toString().endsWith(".java");
+    }
+
+    /** src/test/resources/features/auth.feature becomes "features/auth.feature". */
+    private static String resourceName(Path featureFile) {
+        return FEATURES + "/" + FEATURE_SOURCES.relativize(featureFile).toString().replace('\\', '/');
+    }
+
+    /** src/test/java/com/booking/hooks/Hooks.java becomes "com.booking.hooks.Hooks". */
+    private static String className(Path source) {
+        String relative = JAVA_SOURCES.relativize(source).toString();
+        return relative.substring(0, relative.length() - ".java".length()).replace('/', '.').replace('\\', '.');
+    }
+}
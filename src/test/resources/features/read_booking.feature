@@ -33,4 +33,14 @@ Feature: Read Booking - GET /booking/{id}
   @negative
   Scenario: R-03 Returns 404 when requesting a booking ID that does not exist
     When I request a booking with a non-existent ID
-    Then the response status code should be 404
\ No newline at end of file
+    Then the response status code should be 404
+
+  @performance
+  Scenario: R-04 Retrieve a booking within the latency contract
+    Given a booking exists in the system
+    When I retrieve the booking by its ID
+    Then the response status code should be 200
+    And the response time should be under 2000 ms
+    When I repeat this request 20 times with 4 concurrent callers
+    Then every repeated response status code should be 200
+    And the p95 response time should be under 3000 ms